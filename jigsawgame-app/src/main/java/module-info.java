@@ -0,0 +1,8 @@
+module ru.hse.edu.ershestakova.jigsawgame {
+    requires javafx.controls;
+    requires ru.hse.edu.ershestakova.jigsawgame.engine;
+
+    exports ru.hse.edu.ershestakova.jigsawgame;
+    exports ru.hse.edu.ershestakova.jigsawgame.view;
+    exports ru.hse.edu.ershestakova.jigsawgame.viewmodel;
+}
\ No newline at end of file
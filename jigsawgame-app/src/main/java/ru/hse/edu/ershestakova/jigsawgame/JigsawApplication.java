@@ -0,0 +1,93 @@
+package ru.hse.edu.ershestakova.jigsawgame;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.event.EventHandler;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
+import ru.hse.edu.ershestakova.jigsawgame.model.PlacementTable;
+import ru.hse.edu.ershestakova.jigsawgame.replay.Replay;
+import ru.hse.edu.ershestakova.jigsawgame.view.JigsawController;
+import ru.hse.edu.ershestakova.jigsawgame.view.JigsawViewBuilder;
+import ru.hse.edu.ershestakova.jigsawgame.viewmodel.JigsawViewModel;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * The main application class.
+ * With -Djigsawgame.exitAfterFirstFrame=true the application exits once the first frame has been shown,
+ * which is the training run of the class data sharing archive of the runtime image.
+ * With --replay=path the application shows the last position of the replay, or the one after --move=number moves.
+ */
+public class JigsawApplication extends Application {
+    private JigsawViewModel viewModel;
+
+    @Override
+    public void start(Stage stage) throws IOException {
+        StartupTimer.phase("toolkit init");
+        // Fills the tables of the tetrominoes and their placements
+        PlacementTable.isValid(0, 0);
+        StartupTimer.phase("engine tables");
+        JigsawViewBuilder builder = new JigsawViewBuilder();
+        Parent root = builder.build();
+        // Sets specific controller to the window and links it with the view model
+        JigsawController controller = builder.getController();
+        viewModel = new JigsawViewModel();
+        controller.setViewModel(viewModel);
+        Scene scene = new Scene(root, 520, 340);
+        stage.setTitle("Jigsaw");
+        stage.setScene(scene);
+        controller.setTimer();
+        Map<String, String> named = getParameters().getNamed();
+        if (named.containsKey("replay")) {
+            Replay replay = Replay.open(Paths.get(named.get("replay")));
+            int movesNum = named.containsKey("move") ? Integer.parseInt(named.get("move")) : replay.getMovesCount();
+            viewModel.showReplay(replay, movesNum);
+        }
+        stage.setOnCloseRequest(new EventHandler<WindowEvent>() {
+            public void handle(WindowEvent we) {
+                viewModel.close();
+                Platform.exit();
+                System.exit(0);
+            }
+        });
+        StartupTimer.phase("view build");
+        new AnimationTimer() {
+            // The first frame is rendered at the end of the first pulse after the window is shown
+            private boolean isRendered;
+
+            @Override
+            public void handle(long now) {
+                if (!isRendered) {
+                    isRendered = true;
+                    return;
+                }
+                stop();
+                StartupTimer.phase("first frame");
+                if (Boolean.getBoolean("jigsawgame.exitAfterFirstFrame")) {
+                    Platform.exit();
+                }
+            }
+        }.start();
+        stage.show();
+    }
+
+    /**
+     * Closes the files of the game whenever the toolkit exits, such as after the training run
+     */
+    @Override
+    public void stop() {
+        if (viewModel != null) {
+            viewModel.close();
+        }
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package ru.hse.edu.ershestakova.jigsawgame;
+
+import javafx.application.Application;
+
+/**
+ * The entry point of the application. The Java launcher starts the JavaFX toolkit itself before anything
+ * of a main class extending {@link Application} runs, so the main class is a plain one
+ * and the startup is timed from the moment the JVM has started.
+ */
+public class JigsawLauncher {
+    public static void main(String[] args) {
+        StartupTimer.phase("jvm start");
+        Application.launch(JigsawApplication.class, args);
+    }
+}
@@ -0,0 +1,31 @@
+package ru.hse.edu.ershestakova.jigsawgame;
+
+import java.time.Instant;
+
+/**
+ * Logs the phases of the application startup: the time every phase has taken and the time since the process
+ * has started, so the time to the first frame is broken down on the machines the game is started on
+ */
+final class StartupTimer {
+    private static final long processStartMillis = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli).orElse(System.currentTimeMillis());
+    // The end of the previous phase, none before the first one, which starts with the process
+    private static long phaseStartNanos = -1;
+
+    private StartupTimer() {
+    }
+
+    /**
+     * Logs the end of a phase, the next phase starting now
+     *
+     * @param name The name of the phase
+     */
+    static void phase(String name) {
+        long now = System.nanoTime();
+        long sinceStart = System.currentTimeMillis() - processStartMillis;
+        double phaseMillis = phaseStartNanos < 0 ? sinceStart : (now - phaseStartNanos) / 1e6;
+        System.out.printf("startup: %-14s %7.1f ms, %5d ms since the process start%n", name, phaseMillis,
+                sinceStart);
+        phaseStartNanos = now;
+    }
+}
@@ -0,0 +1,146 @@
+package ru.hse.edu.ershestakova.jigsawgame.view;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import ru.hse.edu.ershestakova.jigsawgame.model.Board;
+
+/**
+ * An instance of the BoardRenderer class paints the gameboard in two layers. The background layer with
+ * the separator lines and the shading of the empty cells is painted once. The cell layer above it is transparent
+ * except for the filled cells. The renderer compares the cells shown with the cells of the board and, at most
+ * once per JavaFX pulse, repaints only the cells which differ: the filled ones with a single fill color set,
+ * the emptied ones cleared so the background shows through. Nothing runs while the board does not change.
+ */
+public class BoardRenderer {
+    private final Canvas cells;
+    private final GridGeometry geometry;
+    private final Color blocksColor;
+
+    // The filled cells painted on the cell layer
+    private long shownLow;
+    private long shownHigh;
+    // The filled cells of the board to be painted
+    private long targetLow;
+    private long targetHigh;
+
+    // Flushes the differing cells on the next pulse and stops
+    private final AnimationTimer pulse = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            flush();
+            stop();
+        }
+    };
+
+    /**
+     * Creates the renderer and paints the background layer
+     *
+     * @param background  The canvas of the background layer
+     * @param cells       The canvas of the cell layer, lying over the background one
+     * @param geometry    The geometry of the grid
+     * @param backgrounds The background cells painted once
+     * @param lineColor   The color of the separator lines
+     * @param lineWidth   The width of the separator lines
+     * @param blocksColor The color of the filled cells
+     */
+    public BoardRenderer(Canvas background, Canvas cells, GridGeometry geometry, Cell[][] backgrounds,
+                         Color lineColor, double lineWidth, Color blocksColor) {
+        this.cells = cells;
+        this.geometry = geometry;
+        this.blocksColor = blocksColor;
+        double size = geometry.getCellOffset(Board.SIZE);
+        background.setWidth(size);
+        background.setHeight(size);
+        cells.setWidth(size);
+        cells.setHeight(size);
+        cells.setMouseTransparent(true);
+        paintBackground(background.getGraphicsContext2D(), backgrounds, lineColor, lineWidth);
+    }
+
+    /**
+     * Draws the grid separator lines and the empty cells
+     */
+    private void paintBackground(GraphicsContext gc, Cell[][] backgrounds, Color lineColor, double lineWidth) {
+        double size = geometry.getCellOffset(Board.SIZE);
+        gc.setStroke(lineColor);
+        gc.setLineWidth(lineWidth);
+        for (int i = 0; i <= Board.SIZE; ++i) {
+            double offset = geometry.getCellOffset(i) - geometry.getPadding();
+            // Horizontal
+            gc.strokeLine(0, offset, size, offset);
+            // Vertical
+            gc.strokeLine(offset, 0, offset, size);
+        }
+        for (Cell[] row : backgrounds) {
+            for (Cell cell : row) {
+                cell.draw();
+            }
+        }
+    }
+
+    /**
+     * Schedules the cells of the board to be shown on the next pulse
+     *
+     * @param board The board
+     */
+    public void show(Board board) {
+        targetLow = board.getLow();
+        targetHigh = board.getHigh();
+        if (targetLow != shownLow || targetHigh != shownHigh) {
+            pulse.start();
+        }
+    }
+
+    /**
+     * Repaints the cells which differ from the board: fills the new ones and clears the emptied ones
+     */
+    void flush() {
+        GraphicsContext gc = cells.getGraphicsContext2D();
+        gc.setFill(blocksColor);
+        fill(gc, targetLow & ~shownLow, 0);
+        fill(gc, targetHigh & ~shownHigh, Long.SIZE);
+        clear(gc, shownLow & ~targetLow, 0);
+        clear(gc, shownHigh & ~targetHigh, Long.SIZE);
+        shownLow = targetLow;
+        shownHigh = targetHigh;
+    }
+
+    /**
+     * Fills the cells of a mask word with the current fill
+     *
+     * @param cells  The mask word
+     * @param offset The index of the cell corresponding to the lowest bit of the word
+     */
+    private void fill(GraphicsContext gc, long cells, int offset) {
+        double size = geometry.getCellSize();
+        for (; cells != 0; cells &= cells - 1) {
+            int cell = offset + Long.numberOfTrailingZeros(cells);
+            gc.fillRect(geometry.getCellOffset(cell % Board.SIZE), geometry.getCellOffset(cell / Board.SIZE),
+                    size, size);
+        }
+    }
+
+    /**
+     * Clears the cells of a mask word
+     *
+     * @param cells  The mask word
+     * @param offset The index of the cell corresponding to the lowest bit of the word
+     */
+    private void clear(GraphicsContext gc, long cells, int offset) {
+        double size = geometry.getCellSize();
+        for (; cells != 0; cells &= cells - 1) {
+            int cell = offset + Long.numberOfTrailingZeros(cells);
+            gc.clearRect(geometry.getCellOffset(cell % Board.SIZE), geometry.getCellOffset(cell / Board.SIZE),
+                    size, size);
+        }
+    }
+
+    /**
+     * @return Returns if cells differing from the board are waiting for the next pulse
+     */
+    public boolean isDirty() {
+        return targetLow != shownLow || targetHigh != shownHigh;
+    }
+}
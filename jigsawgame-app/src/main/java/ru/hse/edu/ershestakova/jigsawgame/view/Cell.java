@@ -0,0 +1,30 @@
+package ru.hse.edu.ershestakova.jigsawgame.view;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * An instance of the Cell class represents a cell of the grid, which is the playing board, on the screen.
+ * The occupancy of the cells is kept by the {@link ru.hse.edu.ershestakova.jigsawgame.model.Board}.
+ */
+public class Cell extends Rectangle {
+    private final Canvas grid;
+    private final Color fillColor;
+
+    public Cell(Canvas grid, double x, double y, double size, Color fillColor) {
+        super(x, y, size, size);
+        this.grid = grid;
+        this.fillColor = fillColor;
+    }
+
+    /**
+     * Draws an empty cell on the grid by its coordinates with the default color.
+     */
+    public void draw() {
+        GraphicsContext gc = grid.getGraphicsContext2D();
+        gc.setFill(fillColor);
+        gc.fillRect(getX(), getY(), getWidth(), getHeight());
+    }
+}
@@ -0,0 +1,45 @@
+package ru.hse.edu.ershestakova.jigsawgame.view;
+
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+
+/**
+ * Builds the nodes of the FinishDialog window in code and wires them to a new controller
+ */
+public class FinishDialogBuilder {
+    private final FinishDialogController controller = new FinishDialogController();
+
+    /**
+     * Creates the nodes of the window
+     *
+     * @return The root node of the window
+     */
+    public Parent build() {
+        controller.turns = new Label();
+        controller.time = new Label();
+        controller.movesLeft = new Label();
+        controller.records = new Label();
+        VBox results = new VBox(controller.turns, controller.time, controller.movesLeft, controller.records);
+        results.setAlignment(Pos.CENTER);
+
+        Button reset = new Button("Reset");
+        reset.setOnMouseClicked(controller::onMouseClickedReset);
+        Button exit = new Button("Exit");
+        exit.setOnMouseClicked(controller::onMouseClickedExit);
+        HBox buttons = new HBox(80, reset, exit);
+        buttons.setAlignment(Pos.CENTER);
+
+        VBox root = new VBox(30, results, buttons);
+        root.setAlignment(Pos.CENTER);
+        root.setPrefSize(600.0, 400.0);
+        return root;
+    }
+
+    public FinishDialogController getController() {
+        return controller;
+    }
+}
@@ -1,31 +1,25 @@
 package ru.hse.edu.ershestakova.jigsawgame.view;
 
-import javafx.fxml.FXML;
-import javafx.fxml.Initializable;
 import javafx.scene.control.Label;
 import javafx.scene.input.MouseEvent;
 import ru.hse.edu.ershestakova.jigsawgame.viewmodel.FinishDialogViewModel;
 
-import java.net.URL;
-import java.util.ResourceBundle;
-
 /**
- * A controller controlling the FinishDialog window
+ * A controller controlling the FinishDialog window, its nodes are created by {@link FinishDialogBuilder}
  */
-public class FinishDialogController implements Initializable {
+public class FinishDialogController {
 
-    @FXML
     public Label turns;
 
-    @FXML
     public Label time;
 
+    public Label movesLeft;
+
+    public Label records;
+
     // The view model (demonstration logic)
     private FinishDialogViewModel viewModel;
 
-    @Override
-    public void initialize(URL url, ResourceBundle resourceBundle) { }
-
     /**
      * Sets the view model corresponding to the view and binds labels to its variables.
      * @param viewModel The view model
@@ -34,13 +28,14 @@ public class FinishDialogController implements Initializable {
         this.viewModel = viewModel;
         turns.textProperty().bind(this.viewModel.turnsProperty());
         time.textProperty().bind(this.viewModel.timingProperty());
+        movesLeft.textProperty().bind(this.viewModel.movesLeftProperty());
+        records.textProperty().bind(this.viewModel.recordsProperty());
     }
 
     /**
      * Defines the action happening when the Reset button is clicked
      * @param event the clicking event
      */
-    @FXML
     public void onMouseClickedReset(MouseEvent event) {
         viewModel.buttonMouseClickedResetEventHandler.handle(event);
     }
@@ -49,7 +44,6 @@ public class FinishDialogController implements Initializable {
      * Defines the action happening when the Exit button is clicked
      * @param event the clicking event
      */
-    @FXML
     public void onMouseClickedExit(MouseEvent event) {
         viewModel.buttonMouseClickedExitEventHandler.handle(event);
     }
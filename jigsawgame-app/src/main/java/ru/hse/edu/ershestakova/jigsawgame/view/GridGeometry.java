@@ -0,0 +1,53 @@
+package ru.hse.edu.ershestakova.jigsawgame.view;
+
+/**
+ * The geometry of the gameboard grid: the cells and the paddings between them and around them alternate
+ * along both axes, so the coordinates inside the grid are resolved to the rows and the columns the same way.
+ */
+public class GridGeometry {
+    private final double cellSize;
+    private final double padding;
+
+    /**
+     * Creates the geometry
+     *
+     * @param cellSize The size of a cell
+     * @param padding  The size of the padding between the cells
+     */
+    public GridGeometry(double cellSize, double padding) {
+        this.cellSize = cellSize;
+        this.padding = padding;
+    }
+
+    /**
+     * Gets the row|col of the cell corresponding to the first tetraminoe tile position by Y/X.
+     * A padding and the cell after it make a period, so the padding counts to the cell after it.
+     * @param currentTetrominoeGridOffset Offset of the grid and the first tile of the tetraminoe coordinates
+     * @return the index of the row|col of the cell corresponding to the first tetraminoe tile position,
+     * 0 before the grid and past the last row|col after it
+     */
+    public int getRowCol(double currentTetrominoeGridOffset) {
+        if (currentTetrominoeGridOffset < 0) {
+            return 0;
+        }
+        return (int) (currentTetrominoeGridOffset / (padding + cellSize));
+    }
+
+    /**
+     * Gets the offset of the cell from the grid edge along an axis
+     *
+     * @param rowCol The index of the row|col of the cell, the number of the rows|cols for the size of the grid
+     * @return The offset of the cell, the size of the grid for the index past the last cell
+     */
+    public double getCellOffset(int rowCol) {
+        return padding * (rowCol + 1) + cellSize * rowCol;
+    }
+
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    public double getPadding() {
+        return padding;
+    }
+}
@@ -1,8 +1,5 @@
 package ru.hse.edu.ershestakova.jigsawgame.view;
 
-import javafx.beans.binding.Bindings;
-import javafx.fxml.FXML;
-import javafx.fxml.Initializable;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Button;
@@ -10,16 +7,12 @@ import javafx.scene.control.Label;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.paint.Color;
 import ru.hse.edu.ershestakova.jigsawgame.viewmodel.JigsawViewModel;
-import ru.hse.edu.ershestakova.jigsawgame.model.Cell;
 import ru.hse.edu.ershestakova.jigsawgame.model.Tetrominoe;
 
-import java.net.URL;
-import java.util.ResourceBundle;
-
 /**
- * The main game window controller
+ * The main game window controller, its nodes are created by {@link JigsawViewBuilder}
  */
-public class JigsawController implements Initializable {
+public class JigsawController {
     // Constants defining specific interface features
     private final double cellSize = 30.0;
     private final double padding = 3.0;
@@ -30,25 +23,30 @@ public class JigsawController implements Initializable {
     private final Color primaryCellColor = Color.GRAY;
     private final Color secondaryCellColor = Color.LIGHTGRAY;
     private final Color blocksColor = Color.PEACHPUFF;
+    private final Color legalPreviewColor = Color.LIMEGREEN.deriveColor(0, 1, 1, 0.5);
+    private final Color illegalPreviewColor = Color.RED.deriveColor(0, 1, 1, 0.5);
 
     // The corresponding view model
     JigsawViewModel viewModel;
 
-    // The gameboard, a grid
-    @FXML
+    // The gameboard, a grid: the background layer, the filled cells layer and the snap preview layer over them
     public Canvas grid;
+    public Canvas gridCells;
+    public Canvas gridPreview;
     private Cell[][] cells;
+    private final GridGeometry gridGeometry = new GridGeometry(cellSize, padding);
+    private BoardRenderer boardRenderer;
+    private SnapPreview snapPreview;
 
     // The ticking game timer
-    @FXML
     public Label timer;
 
     // The current tetrominoe and its container
-    @FXML
     public Canvas tetrominoe;
-    public Tetrominoe currentTetrominoe;
+    private TetrominoePainter tetrominoePainter;
+
+    public Button autoplayButton;
 
-    @FXML
     public Button finishButton;
 
     /**
@@ -56,19 +54,28 @@ public class JigsawController implements Initializable {
      * Draws the gameboard
      * Initializes tetrominoes generation
      */
-    @Override
-    public void initialize(URL url, ResourceBundle resourceBundle) {
-        grid.setHeight(padding * 10 + cellSize * 9);
-        grid.setWidth(padding * 10 + cellSize * 9);
-        GraphicsContext gc = grid.getGraphicsContext2D();
-        drawLines(gc);
+    public void initialize() {
         cells = new Cell[rowsNum][colsNum];
         initializeCells();
-        Tetrominoe.init(cellSize + padding, blocksColor);
-        currentTetrominoe = Tetrominoe.randomTetrominoe();
+        boardRenderer = new BoardRenderer(grid, gridCells, gridGeometry, cells, backgroundColor,
+                backgroundLineWidth, blocksColor);
+        snapPreview = new SnapPreview(gridPreview, gridGeometry, legalPreviewColor, illegalPreviewColor);
+        tetrominoePainter = new TetrominoePainter(cellSize + padding, blocksColor);
         tetrominoe.setWidth((cellSize + padding) * 3);
         tetrominoe.setHeight((cellSize + padding) * 3);
-        currentTetrominoe.draw(tetrominoe.getGraphicsContext2D());
+    }
+
+    /**
+     * Draws the tetrominoe in its container, moved back to its place
+     *
+     * @param currentTetrominoe The tetrominoe
+     */
+    public void drawTetrominoe(Tetrominoe currentTetrominoe) {
+        tetrominoe.setTranslateX(0);
+        tetrominoe.setTranslateY(0);
+        GraphicsContext gc = tetrominoe.getGraphicsContext2D();
+        gc.clearRect(0, 0, tetrominoe.getWidth(), tetrominoe.getHeight());
+        tetrominoePainter.draw(currentTetrominoe, gc);
     }
 
     /**
@@ -76,7 +83,6 @@ public class JigsawController implements Initializable {
      *
      * @param mouseEvent the mouse pressing event
      */
-    @FXML
     public void onMousePressed(MouseEvent mouseEvent) {
         viewModel.canvasOnMousePressedEventHandler.handle(mouseEvent);
     }
@@ -86,7 +92,6 @@ public class JigsawController implements Initializable {
      *
      * @param event the dragging event
      */
-    @FXML
     public void onMouseDragged(MouseEvent event) {
         viewModel.canvasOnMouseDraggedEventHandler.handle(event);
     }
@@ -96,65 +101,48 @@ public class JigsawController implements Initializable {
      *
      * @param event the mouse pressing event
      */
-    @FXML
     public void onMouseReleased(MouseEvent event) {
         viewModel.canvasOnMouseReleasedEventHandler.handle(event);
     }
 
     /**
-     * Defines the action happening when the Finish button is pressed
+     * Defines the action happening when the Autoplay button is pressed
      *
      * @param event the mouse clicking event
      */
-    @FXML
-    public void onMouseClickedFinish(MouseEvent event) { viewModel.buttonMouseClickedFinishEventHandler.handle(event);}
+    public void onMouseClickedAutoplay(MouseEvent event) {
+        viewModel.buttonMouseClickedAutoplayEventHandler.handle(event);
+    }
 
     /**
-     * Binds the timer label to its generator. Starts the timer.
+     * Defines the action happening when the Finish button is pressed
+     *
+     * @param event the mouse clicking event
      */
-    public void setTimer() {
-        timer.textProperty().bind(Bindings.createStringBinding(() -> viewModel.makeStringFromTimer(),
-                viewModel.getTimerTask().valueProperty()));
-        viewModel.startTimer();
-    }
+    public void onMouseClickedFinish(MouseEvent event) { viewModel.buttonMouseClickedFinishEventHandler.handle(event);}
 
     /**
-     * Draws grid separator lines
-     *
-     * @param gc The grid graphic context
+     * Binds the timer label to the clock of the game. Starts the clock.
      */
-    private void drawLines(GraphicsContext gc) {
-        gc.setStroke(backgroundColor);
-        double lineWidth = gc.getLineWidth();
-        gc.setLineWidth(backgroundLineWidth);
-        // Horizontal
-        for (int i = 0; i <= rowsNum; ++i) {
-            gc.strokeLine(0, padding * i + cellSize * i,
-                    padding * (colsNum + 1) + cellSize * colsNum, padding * i + cellSize * i);
-        }
-        // Vertical
-        for (int j = 0; j <= colsNum; ++j) {
-            gc.strokeLine(padding * j + cellSize * j, 0,
-                    padding * j + cellSize * j, padding * (rowsNum + 1) + cellSize * rowsNum);
-        }
-        gc.setLineWidth(lineWidth);
+    public void setTimer() {
+        timer.textProperty().bind(viewModel.clockTextProperty());
+        viewModel.startClock();
     }
 
     /**
-     * Initialises grid cells and draws them on the board
+     * Initialises the background grid cells, the renderer draws them on the board
      */
     private void initializeCells() {
         for (int i = 0; i < rowsNum; ++i) {
             for (int j = 0; j < colsNum; ++j) {
-                double x = padding * (j + 1) + cellSize * j;
-                double y = padding * (i + 1) + cellSize * i;
+                double x = gridGeometry.getCellOffset(j);
+                double y = gridGeometry.getCellOffset(i);
                 if (((i >= rowsNum / 3 && i < 2 * rowsNum / 3) && (j < colsNum / 3 || j >= 2 * colsNum / 3)) ||
                         ((j >= colsNum / 3 && j < 2 * colsNum / 3) && (i < rowsNum / 3 || i >= 2 * rowsNum / 3))) {
                     cells[i][j] = new Cell(grid, x, y, cellSize, primaryCellColor);
                 } else {
                     cells[i][j] = new Cell(grid, x, y, cellSize, secondaryCellColor);
                 }
-                cells[i][j].draw();
             }
         }
     }
@@ -190,8 +178,25 @@ public class JigsawController implements Initializable {
         return cells;
     }
 
+    public TetrominoePainter getTetrominoePainter() {
+        return tetrominoePainter;
+    }
+
+    public BoardRenderer getBoardRenderer() {
+        return boardRenderer;
+    }
+
+    public SnapPreview getSnapPreview() {
+        return snapPreview;
+    }
+
+    public GridGeometry getGridGeometry() {
+        return gridGeometry;
+    }
+
     public void setViewModel(JigsawViewModel viewModel) {
         this.viewModel = viewModel;
         viewModel.setView(this);
+        drawTetrominoe(viewModel.getGame().getCurrent());
     }
 }
@@ -0,0 +1,55 @@
+package ru.hse.edu.ershestakova.jigsawgame.view;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+
+/**
+ * Builds the nodes of the main game window in code and wires them to a new controller,
+ * so the window is created without parsing markup and reflection
+ */
+public class JigsawViewBuilder {
+    private final JigsawController controller = new JigsawController();
+
+    /**
+     * Creates the nodes of the window and initializes the controller
+     *
+     * @return The root node of the window
+     */
+    public Parent build() {
+        // The gameboard layers
+        controller.grid = new Canvas();
+        controller.gridCells = new Canvas();
+        controller.gridPreview = new Canvas();
+        StackPane board = new StackPane(controller.grid, controller.gridCells, controller.gridPreview);
+
+        controller.timer = new Label();
+        controller.tetrominoe = new Canvas();
+        controller.tetrominoe.setOnMousePressed(controller::onMousePressed);
+        controller.tetrominoe.setOnMouseDragged(controller::onMouseDragged);
+        controller.tetrominoe.setOnMouseReleased(controller::onMouseReleased);
+        controller.autoplayButton = new Button("Autoplay");
+        controller.autoplayButton.setOnMouseClicked(controller::onMouseClickedAutoplay);
+        controller.finishButton = new Button("Finish game");
+        controller.finishButton.setOnMouseClicked(controller::onMouseClickedFinish);
+        VBox panel = new VBox(20.0, controller.timer, controller.tetrominoe, controller.autoplayButton,
+                controller.finishButton);
+        panel.setAlignment(Pos.CENTER);
+        panel.setPadding(new Insets(10.0));
+
+        HBox root = new HBox(20.0, board, panel);
+        root.setAlignment(Pos.CENTER);
+        controller.initialize();
+        return root;
+    }
+
+    public JigsawController getController() {
+        return controller;
+    }
+}
@@ -0,0 +1,84 @@
+package ru.hse.edu.ershestakova.jigsawgame.view;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.paint.Color;
+import ru.hse.edu.ershestakova.jigsawgame.model.Board;
+import ru.hse.edu.ershestakova.jigsawgame.model.PlacementTable;
+import ru.hse.edu.ershestakova.jigsawgame.model.Tetrominoe;
+
+/**
+ * An instance of the SnapPreview class highlights the cells the dragged tetrominoe would snap to on a layer
+ * over the gameboard, in one color if it can be placed there and in another one if it can not.
+ * It is updated as often as the tetrominoe moves, so it repaints only when the place or the color change,
+ * and the tetrominoe is drawn as a cached image laid out like the grid cells.
+ */
+public class SnapPreview {
+    private final Canvas layer;
+    private final GridGeometry geometry;
+    private final TetrominoePainter legalPainter;
+    private final TetrominoePainter illegalPainter;
+
+    // The tetrominoe highlighted, its place and its color, the index is -1 if the preview is hidden
+    private int shownIndex = -1;
+    private int shownAnchor;
+    private boolean isShownLegal;
+    private double shownX;
+    private double shownY;
+
+    /**
+     * Creates the preview
+     *
+     * @param layer        The canvas lying over the gameboard
+     * @param geometry     The geometry of the grid
+     * @param legalColor   The color of the cells the tetrominoe can be placed to
+     * @param illegalColor The color of the cells the tetrominoe can not be placed to
+     */
+    public SnapPreview(Canvas layer, GridGeometry geometry, Color legalColor, Color illegalColor) {
+        this.layer = layer;
+        this.geometry = geometry;
+        double cellsDistance = geometry.getCellSize() + geometry.getPadding();
+        this.legalPainter = new TetrominoePainter(cellsDistance, geometry.getCellSize(), legalColor);
+        this.illegalPainter = new TetrominoePainter(cellsDistance, geometry.getCellSize(), illegalColor);
+        double size = geometry.getCellOffset(Board.SIZE);
+        layer.setWidth(size);
+        layer.setHeight(size);
+        layer.setMouseTransparent(true);
+    }
+
+    /**
+     * Highlights the cells under the tetrominoe placed at the anchor, nothing if it does not lie on the board there
+     *
+     * @param index  Tetrominoe generation index
+     * @param anchor The cell under the first tile
+     * @param legal  If the tetrominoe can be placed there
+     */
+    public void show(int index, int anchor, boolean legal) {
+        if (!PlacementTable.isValid(index, anchor)) {
+            hide();
+            return;
+        }
+        if (index == shownIndex && anchor == shownAnchor && legal == isShownLegal) {
+            return;
+        }
+        hide();
+        Tetrominoe tetrominoe = Tetrominoe.fromIndex(index);
+        shownX = geometry.getCellOffset(anchor % Board.SIZE - tetrominoe.getFirstTileCol());
+        shownY = geometry.getCellOffset(anchor / Board.SIZE - tetrominoe.getFirstTileRow());
+        (legal ? legalPainter : illegalPainter).draw(tetrominoe, layer.getGraphicsContext2D(), shownX, shownY);
+        shownIndex = index;
+        shownAnchor = anchor;
+        isShownLegal = legal;
+    }
+
+    /**
+     * Removes the highlighting
+     */
+    public void hide() {
+        if (shownIndex < 0) {
+            return;
+        }
+        int frameSize = legalPainter.getFrameSize();
+        layer.getGraphicsContext2D().clearRect(shownX, shownY, frameSize, frameSize);
+        shownIndex = -1;
+    }
+}
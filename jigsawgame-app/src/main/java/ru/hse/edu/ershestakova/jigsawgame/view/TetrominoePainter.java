@@ -0,0 +1,155 @@
+package ru.hse.edu.ershestakova.jigsawgame.view;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import ru.hse.edu.ershestakova.jigsawgame.model.Tetrominoe;
+
+import java.util.Arrays;
+
+/**
+ * An instance of the TetrominoePainter class draws tetrominoes with the given tile size and color.
+ * Every generated tetrominoe is rasterized into an image once, when it is first drawn, and is then drawn
+ * by a single image blit. A painter with another tile size or color has images of its own.
+ */
+public class TetrominoePainter {
+    private final double rectangleSize;
+    private final double tileSize;
+    private final Color color;
+    // Images by tetrominoe generation index
+    private final Image[] sprites = new Image[Tetrominoe.TETROMINOE_NUM];
+
+    /**
+     * @param cellSize The size of one tetraminoe tile
+     * @param paint The color of tetraminoe tiles
+     */
+    public TetrominoePainter(double cellSize, Color paint) {
+        this(cellSize, cellSize - 2, paint);
+    }
+
+    /**
+     * @param cellSize The distance between the tiles of a tetraminoe
+     * @param tileSize The size of the painted part of a tile
+     * @param paint The color of tetraminoe tiles
+     */
+    public TetrominoePainter(double cellSize, double tileSize, Color paint) {
+        rectangleSize = cellSize;
+        this.tileSize = tileSize;
+        color = paint;
+    }
+
+    /**
+     * Draws a tetraminoe
+     *
+     * @param tetrominoe The tetrominoe
+     * @param gc graphicsContext on which a tetraminoe will be drawn
+     */
+    public void draw(Tetrominoe tetrominoe, GraphicsContext gc) {
+        draw(tetrominoe, gc, 0, 0);
+    }
+
+    /**
+     * Draws a tetraminoe with the top left corner of its 3x3 frame at the coordinates
+     *
+     * @param tetrominoe The tetrominoe
+     * @param gc graphicsContext on which a tetraminoe will be drawn
+     * @param x X coordinate of the frame
+     * @param y Y coordinate of the frame
+     */
+    public void draw(Tetrominoe tetrominoe, GraphicsContext gc, double x, double y) {
+        int index = tetrominoe.getIndex();
+        if (index < 0) {
+            // Turned tetrominoes which are never generated are drawn tile by tile
+            gc.setFill(color);
+            for (int tiles = tetrominoe.getShape(); tiles != 0; tiles &= tiles - 1) {
+                int tile = Integer.numberOfTrailingZeros(tiles);
+                gc.fillRect(x + tile % 3 * rectangleSize, y + tile / 3 * rectangleSize, tileSize, tileSize);
+            }
+            return;
+        }
+        gc.drawImage(getSprite(index), x, y);
+    }
+
+    /**
+     * @param index Tetrominoe generation index
+     * @return Returns the image of the tetrominoe, rasterizing it on the first call
+     */
+    Image getSprite(int index) {
+        if (sprites[index] == null) {
+            sprites[index] = rasterize(Tetrominoe.fromIndex(index));
+        }
+        return sprites[index];
+    }
+
+    /**
+     * Paints the tiles of the tetrominoe into an image of its 3x3 frame, transparent around the tiles
+     *
+     * @param tetrominoe The tetrominoe
+     * @return The image
+     */
+    private Image rasterize(Tetrominoe tetrominoe) {
+        int size = getFrameSize();
+        int tilePixels = (int) Math.round(tileSize);
+        int[] pixels = new int[size * size];
+        int argb = (int) Math.round(color.getOpacity() * 255) << 24 | (int) Math.round(color.getRed() * 255) << 16
+                | (int) Math.round(color.getGreen() * 255) << 8 | (int) Math.round(color.getBlue() * 255);
+        for (int tiles = tetrominoe.getShape(); tiles != 0; tiles &= tiles - 1) {
+            int tile = Integer.numberOfTrailingZeros(tiles);
+            int left = (int) Math.round(tile % 3 * rectangleSize);
+            int top = (int) Math.round(tile / 3 * rectangleSize);
+            for (int row = top; row < Math.min(top + tilePixels, size); ++row) {
+                Arrays.fill(pixels, row * size + left, row * size + Math.min(left + tilePixels, size), argb);
+            }
+        }
+        WritableImage image = new WritableImage(size, size);
+        image.getPixelWriter().setPixels(0, 0, size, size, PixelFormat.getIntArgbInstance(), pixels, 0, size);
+        return image;
+    }
+
+    /**
+     * @return Returns the size in pixels of the 3x3 frame of a tetrominoe
+     */
+    public int getFrameSize() {
+        return (int) Math.ceil(rectangleSize * 3);
+    }
+
+    /**
+     * Gets the X coordinate of the first tile in translation to the node containing the tetrominoe
+     *
+     * @param tetrominoe The tetrominoe
+     * @return Translated X coordinate
+     */
+    public double getFirstBlockX(Tetrominoe tetrominoe) {
+        return tetrominoe.getFirstTileCol() * rectangleSize;
+    }
+
+    /**
+     * Gets the Y coordinate of the first tile in translation to the node containing the tetrominoe
+     *
+     * @param tetrominoe The tetrominoe
+     * @return Translated Y coordinate
+     */
+    public double getFirstBlockY(Tetrominoe tetrominoe) {
+        return tetrominoe.getFirstTileRow() * rectangleSize;
+    }
+
+    /**
+     * Gets width of the tetraminoe
+     * @param tetrominoe The tetrominoe
+     * @return Width
+     */
+    public double getWidth(Tetrominoe tetrominoe) {
+        return tetrominoe.getColsNum() * rectangleSize;
+    }
+
+    /**
+     * Gets height of the tetraminoe
+     * @param tetrominoe The tetrominoe
+     * @return Height
+     */
+    public double getHeight(Tetrominoe tetrominoe) {
+        return tetrominoe.getRowsNum() * rectangleSize;
+    }
+}
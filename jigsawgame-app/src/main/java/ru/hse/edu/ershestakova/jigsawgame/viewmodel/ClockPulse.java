@@ -0,0 +1,71 @@
+package ru.hse.edu.ershestakova.jigsawgame.viewmodel;
+
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.StringProperty;
+import ru.hse.edu.ershestakova.jigsawgame.model.GameClock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The single driver of the clock labels of all the game sessions of the application. On every JavaFX pulse
+ * it reads the registered clocks and sets the text of a label only when the second shown changes,
+ * so the sessions share one animation timer instead of a sleeping thread each. Used in the application thread.
+ */
+public final class ClockPulse {
+    private static final List<Entry> entries = new ArrayList<>();
+
+    private static final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            for (Entry entry : entries) {
+                long seconds = entry.clock.getElapsedMillis() / 1000;
+                if (seconds != entry.shownSeconds) {
+                    entry.shownSeconds = seconds;
+                    entry.text.set(GameClock.format(entry.clock.getElapsedMillis()));
+                }
+            }
+        }
+    };
+
+    private ClockPulse() {
+    }
+
+    /**
+     * Starts showing the time of the clock in the text, the timer starting with the first clock
+     *
+     * @param clock The clock
+     * @param text  The text of the label
+     */
+    public static void register(GameClock clock, StringProperty text) {
+        unregister(text);
+        entries.add(new Entry(clock, text));
+        timer.start();
+    }
+
+    /**
+     * Stops updating the text, the timer stopping with the last clock
+     *
+     * @param text The text of the label
+     */
+    public static void unregister(StringProperty text) {
+        entries.removeIf(entry -> entry.text == text);
+        if (entries.isEmpty()) {
+            timer.stop();
+        }
+    }
+
+    /**
+     * A clock, the text showing it and the second shown
+     */
+    private static class Entry {
+        final GameClock clock;
+        final StringProperty text;
+        long shownSeconds = -1;
+
+        Entry(GameClock clock, StringProperty text) {
+            this.clock = clock;
+            this.text = text;
+        }
+    }
+}
@@ -16,30 +16,55 @@ public class FinishDialogViewModel {
     // Constant patterns of labels
     private final String timePattern = "You played for ";
     private final String turnsPattern = "Number of turns: ";
+    private final String movesLeftPattern = "Possible moves left: ";
+    private final String recordsPattern = "Best turns today / of all / of this deal: ";
 
     // The labels' bindings
     private StringProperty timing;
     private StringProperty turns;
+    private StringProperty movesLeft;
+    private StringProperty records;
 
     // The game windows controllers
     private FinishDialogController view;
     private JigsawController otherView;
 
     /**
-     * Creates an instance of view model
-     * @param timerStr The amount of the time passed
-     * @param tetraminoesCount The number of tetraminoes dropped
+     * Creates an instance of view model, the window being created once and shown with the results of every game
      * @param view The controller of the FinishDialog window
      * @param otherView The controller of the main window
      */
-    public FinishDialogViewModel(String timerStr, int tetraminoesCount,
-                                 FinishDialogController view, JigsawController otherView) {
-        timing = new SimpleStringProperty(timePattern + timerStr);
-        turns = new SimpleStringProperty(turnsPattern + tetraminoesCount);
+    public FinishDialogViewModel(FinishDialogController view, JigsawController otherView) {
+        timing = new SimpleStringProperty();
+        turns = new SimpleStringProperty();
+        movesLeft = new SimpleStringProperty();
+        records = new SimpleStringProperty();
         this.view = view;
         this.otherView = otherView;
     }
 
+    /**
+     * Sets the results of the game shown
+     * @param timerStr The amount of the time passed
+     * @param tetraminoesCount The number of tetraminoes dropped
+     * @param movesLeftCount The number of places where the current tetraminoe can be dropped
+     */
+    public void setResults(String timerStr, int tetraminoesCount, int movesLeftCount) {
+        timing.set(timePattern + timerStr);
+        turns.set(turnsPattern + tetraminoesCount);
+        movesLeft.set(movesLeftPattern + movesLeftCount);
+    }
+
+    /**
+     * Sets the best results of the leaderboard shown
+     * @param todayTurns The number of turns of the best game today
+     * @param bestTurns The number of turns of the best game of all
+     * @param seedTurns The number of turns of the best game of the tetraminoes sequence played
+     */
+    public void setRecords(int todayTurns, int bestTurns, int seedTurns) {
+        records.set(recordsPattern + todayTurns + " / " + bestTurns + " / " + seedTurns);
+    }
+
     /**
      * @return The timer label binding
      */
@@ -54,6 +79,20 @@ public class FinishDialogViewModel {
         return turns;
     }
 
+    /**
+     * @return The moves left label binding
+     */
+    public StringProperty movesLeftProperty() {
+        return movesLeft;
+    }
+
+    /**
+     * @return The best results label binding
+     */
+    public StringProperty recordsProperty() {
+        return records;
+    }
+
     /**
      * The handler of the event of the Reset button click.
      * Resets the condition of the main window, closes itself
@@ -75,6 +114,7 @@ public class FinishDialogViewModel {
     public EventHandler<MouseEvent> buttonMouseClickedExitEventHandler = new EventHandler<MouseEvent>() {
         @Override
         public void handle(MouseEvent actionEvent) {
+            otherView.getViewModel().close();
             Platform.exit();
             System.exit(0);
         }
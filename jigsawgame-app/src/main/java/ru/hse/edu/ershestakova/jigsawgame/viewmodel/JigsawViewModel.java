@@ -0,0 +1,572 @@
+package ru.hse.edu.ershestakova.jigsawgame.viewmodel;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.event.EventHandler;
+import javafx.geometry.Bounds;
+import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.input.MouseEvent;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import ru.hse.edu.ershestakova.jigsawgame.ai.ExpectimaxPlayer;
+import ru.hse.edu.ershestakova.jigsawgame.leaderboard.GameResult;
+import ru.hse.edu.ershestakova.jigsawgame.leaderboard.Leaderboard;
+import ru.hse.edu.ershestakova.jigsawgame.model.Board;
+import ru.hse.edu.ershestakova.jigsawgame.model.Game;
+import ru.hse.edu.ershestakova.jigsawgame.model.GameClock;
+import ru.hse.edu.ershestakova.jigsawgame.model.Tetrominoe;
+import ru.hse.edu.ershestakova.jigsawgame.replay.Replay;
+import ru.hse.edu.ershestakova.jigsawgame.replay.ReplayWriter;
+import ru.hse.edu.ershestakova.jigsawgame.save.SaveSlots;
+import ru.hse.edu.ershestakova.jigsawgame.view.FinishDialogBuilder;
+import ru.hse.edu.ershestakova.jigsawgame.view.FinishDialogController;
+import ru.hse.edu.ershestakova.jigsawgame.view.GridGeometry;
+import ru.hse.edu.ershestakova.jigsawgame.view.JigsawController;
+import ru.hse.edu.ershestakova.jigsawgame.view.TetrominoePainter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class JigsawViewModel {
+    // The game state: the board, the current tetraminoe and the number of tetraminoes already put on the grid
+    private final Game game;
+    // The controller of the main window
+    private JigsawController view;
+    // The time the computer player thinks over one tetrominoe
+    private static final long autoplayTurnMillis = 300;
+    // The computer player and the thread it searches in, so that the interface does not freeze
+    private final ExpectimaxPlayer player = new ExpectimaxPlayer(autoplayTurnMillis);
+    private final ExecutorService autoplayExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "autoplay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private boolean isAutoplaying;
+    // The playing time and its text shown by the shared clock pulse
+    private final GameClock clock = new GameClock();
+    private final StringProperty clockText = new SimpleStringProperty(GameClock.format(0));
+    // The directory every game is recorded to and the replay of the current game, null if it is not recorded,
+    // with the identifier of the replay, which is the time it was started at, and its path
+    private static final Path replaysDir = Paths.get(System.getProperty("jigsawgame.replays",
+            Paths.get(System.getProperty("user.home"), ".jigsawgame", "replays").toString()));
+    private ReplayWriter recorder;
+    private long replayId;
+    private Path replayPath;
+    // The file the game is saved to after every move, the slots being null if it can not be opened,
+    // and the playing time of the game resumed from it until the clock starts, -1 if the game is a new one
+    private static final Path savePath = Paths.get(System.getProperty("jigsawgame.save",
+            Paths.get(System.getProperty("user.home"), ".jigsawgame", "autosave.slots").toString()));
+    private SaveSlots saveSlots;
+    private long resumedMillis = -1;
+    // If the game is played on from a shown replay, which is not saved so the saved game is kept for the next start
+    private boolean isFromReplay;
+    // The results of the finished games, null if they can not be kept, and if the current game is ranked,
+    // which it is not once a replay has been shown in it, nor when it is resumed without a replay of all its moves
+    private static final Path leaderboardDir = Paths.get(System.getProperty("jigsawgame.leaderboard",
+            Paths.get(System.getProperty("user.home"), ".jigsawgame", "leaderboard").toString()));
+    private Leaderboard leaderboard;
+    private boolean isRanked = true;
+    // The dialog window with the game results and its view model, rebound to the results of every game
+    private Stage finishStage;
+    private FinishDialogViewModel finishViewModel;
+    // If the files of the game have been closed, which is done once whichever way the application exits
+    private boolean isClosed;
+
+    public JigsawViewModel() {
+        game = new Game();
+        resume();
+        try {
+            leaderboard = Leaderboard.open(leaderboardDir);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("The results can not be kept: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Resumes the game saved when the application was last closed or crashed unless it was over
+     */
+    private void resume() {
+        try {
+            Files.createDirectories(savePath.getParent());
+            saveSlots = SaveSlots.open(savePath);
+        } catch (IOException e) {
+            System.err.println("The game can not be saved: " + e.getMessage());
+            return;
+        }
+        resumedMillis = saveSlots.restore(game);
+        if (resumedMillis >= 0 && game.isOver()) {
+            resumedMillis = -1;
+            game.reset();
+        }
+        if (resumedMillis >= 0 && saveSlots.getReplayId() >= 0) {
+            resumeRecording(saveSlots.getReplayId());
+        }
+    }
+
+    /**
+     * Saves the game over the older save slot, which takes a few stores into the mapped file.
+     * The moves of the replay are written out first, so the replay of the save has all its moves
+     * whenever the application crashes. A game played on from a shown replay is not saved.
+     */
+    private void autosave() {
+        if (isFromReplay) {
+            return;
+        }
+        if (recorder != null) {
+            try {
+                recorder.flush();
+            } catch (IOException e) {
+                System.err.println("The game can not be recorded: " + e.getMessage());
+                stopRecording();
+            }
+        }
+        if (saveSlots != null) {
+            saveSlots.save(game, clock.getElapsedMillis(), recorder != null ? replayId : -1);
+        }
+    }
+
+    // Auxiliary coordinates for the dragging
+    double originalAbsoluteX, originalAbsoluteY;
+    double originalTranslationX, originalTranslationY;
+    // The offset of the untranslated tetraminoe canvas from the grid, resolved once the drag starts
+    double tetrominoeGridX, tetrominoeGridY;
+    // The latest mouse position of the drag, applied on the next pulse
+    double draggedAbsoluteX, draggedAbsoluteY;
+    private boolean isDragPending;
+    private Canvas dragged;
+
+    /**
+     * Moves the dragged tetraminoe to the latest mouse position once per pulse however many events have come
+     */
+    private final AnimationTimer dragPulse = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            flushDrag();
+        }
+    };
+
+    /**
+     * The handler of the event of the mouse press on the tetraminoe
+     * Saves its initial coordinates
+     */
+    public EventHandler<MouseEvent> canvasOnMousePressedEventHandler = new EventHandler<>() {
+        @Override
+        public void handle(MouseEvent mouseEvent) {
+            dragged = (Canvas) mouseEvent.getSource();
+            originalAbsoluteX = mouseEvent.getSceneX();
+            originalAbsoluteY = mouseEvent.getSceneY();
+            originalTranslationX = dragged.getTranslateX();
+            originalTranslationY = dragged.getTranslateY();
+            Bounds gridBounds = view.grid.localToScene(view.grid.getBoundsInLocal());
+            Bounds tetrominoeBounds = dragged.localToScene(dragged.getBoundsInLocal());
+            tetrominoeGridX = tetrominoeBounds.getMinX() - originalTranslationX - gridBounds.getMinX();
+            tetrominoeGridY = tetrominoeBounds.getMinY() - originalTranslationY - gridBounds.getMinY();
+            dragPulse.start();
+        }
+    };
+
+    /**
+     * The handler of the event of the mouse drag of the tetraminoe
+     * Keeps the mouse position until the next pulse
+     */
+    public EventHandler<MouseEvent> canvasOnMouseDraggedEventHandler = new EventHandler<>() {
+        @Override
+        public void handle(MouseEvent mouseEvent) {
+            draggedAbsoluteX = mouseEvent.getSceneX();
+            draggedAbsoluteY = mouseEvent.getSceneY();
+            isDragPending = true;
+        }
+    };
+
+    /**
+     * Resets tetraminoe coordinates to the latest mouse position and highlights the cells it would snap to
+     */
+    private void flushDrag() {
+        if (!isDragPending) {
+            return;
+        }
+        isDragPending = false;
+        dragged.setTranslateX(originalTranslationX + draggedAbsoluteX - originalAbsoluteX);
+        dragged.setTranslateY(originalTranslationY + draggedAbsoluteY - originalAbsoluteY);
+        int anchor = findAnchor();
+        if (anchor < 0) {
+            view.getSnapPreview().hide();
+        } else {
+            view.getSnapPreview().show(game.getCurrent().getIndex(), anchor, game.canPlace(anchor));
+        }
+    }
+
+    /**
+     * The handler of the event of the Finish button click.
+     * Opens a new dialog window
+     */
+    public EventHandler<MouseEvent> buttonMouseClickedFinishEventHandler = new EventHandler<>() {
+        @Override
+        public void handle(MouseEvent actionEvent) {
+            showFinishDialog();
+        }
+    };
+
+    /**
+     * The handler of the event of the mouse click on the Autoplay button
+     * Starts or stops the computer player
+     */
+    public EventHandler<MouseEvent> buttonMouseClickedAutoplayEventHandler = new EventHandler<>() {
+        @Override
+        public void handle(MouseEvent mouseEvent) {
+            isAutoplaying = !isAutoplaying;
+            if (isAutoplaying) {
+                makeAutoplayTurn();
+            }
+        }
+    };
+
+    /**
+     * Lets the computer player choose the anchor of the current tetraminoe on a copy of the board
+     * and places the tetraminoe back in the application thread unless the game has changed meanwhile
+     */
+    private void makeAutoplayTurn() {
+        Board board = new Board(game.getBoard());
+        Tetrominoe current = game.getCurrent();
+        int turn = game.getTurnsCount();
+        long seed = game.getSeed();
+        autoplayExecutor.execute(() -> {
+            int anchor = player.chooseAnchor(board, current);
+            Platform.runLater(() -> {
+                if (!isAutoplaying || anchor < 0 || game.getTurnsCount() != turn || game.getSeed() != seed) {
+                    return;
+                }
+                placeTetrominoe(anchor);
+                if (isAutoplaying) {
+                    makeAutoplayTurn();
+                }
+            });
+        });
+    }
+
+    /**
+     * Opens the dialog window with the game results
+     */
+    private void showFinishDialog() {
+        if (finishStage.isShowing()) {
+            return;
+        }
+        finishViewModel.setResults(GameClock.formatMillis(getElapsedMillis()), getTetraminoesCount(),
+                game.getMovesLeft());
+        if (leaderboard != null) {
+            finishViewModel.setRecords(getBestTurns(leaderboard.getBestToday(1)),
+                    getBestTurns(leaderboard.getBest(1)), getBestTurns(leaderboard.getBestOfSeed(game.getSeed(), 1)));
+        }
+        finishStage.showAndWait();
+    }
+
+    /**
+     * @param best The best results
+     * @return Returns the number of the turns of the best result, 0 if there are no results
+     */
+    private static int getBestTurns(List<GameResult> best) {
+        return best.isEmpty() ? 0 : best.get(0).getTurnsCount();
+    }
+
+    /**
+     * Appends the result of the finished game to the leaderboard unless a replay has been shown in the game
+     */
+    private void rank() {
+        if (leaderboard == null || !isRanked) {
+            return;
+        }
+        try {
+            leaderboard.append(new GameResult(game.getTurnsCount(), clock.getElapsedMillis(), game.getSeed(),
+                    System.currentTimeMillis()));
+        } catch (IOException e) {
+            System.err.println("The result can not be kept: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Creates the dialog window with the game results once, before it is first shown
+     */
+    private void createFinishDialog() {
+        FinishDialogBuilder builder = new FinishDialogBuilder();
+        Scene scene = new Scene(builder.build(), 360, 220);
+        // Adds corresponding controllers and the model view
+        FinishDialogController controller = builder.getController();
+        finishViewModel = new FinishDialogViewModel(controller, view);
+        controller.setViewModel(finishViewModel);
+        finishStage = new Stage();
+        finishStage.initModality(Modality.APPLICATION_MODAL);
+        finishStage.setScene(scene);
+    }
+
+
+    /**
+     * The handler of the event of the mouse release of the tetraminoe
+     * Checks if the tetraminoe can be placed on the board and places it if possible.
+     * Finishes the game if the new tetraminoe can not be placed anywhere
+     */
+    public EventHandler<MouseEvent> canvasOnMouseReleasedEventHandler = new EventHandler<>() {
+        @Override
+        public void handle(MouseEvent mouseEvent) {
+            // The drop counts where the mouse is released even if no pulse has come since the last drag
+            draggedAbsoluteX = mouseEvent.getSceneX();
+            draggedAbsoluteY = mouseEvent.getSceneY();
+            isDragPending = true;
+            flushDrag();
+            dragPulse.stop();
+            view.getSnapPreview().hide();
+            int anchor = findAnchor();
+            if (game.canPlace(anchor)) {
+                placeTetrominoe(anchor);
+            }
+            mouseEvent.consume();
+        }
+    };
+
+    /**
+     * Gets the anchor of the dragged tetraminoe, which is the cell corresponding to the first tetraminoe tile
+     * position, by the arithmetic on the offsets only, as it is done for every pulse of the drag
+     * @return The index of the cell, -1 if the tetraminoe is not over the grid or the cell is out of the grid
+     */
+    private int findAnchor() {
+        Tetrominoe current = game.getCurrent();
+        TetrominoePainter painter = view.getTetrominoePainter();
+        // Offset coordinates of the tetraminoe in the grid
+        double x = tetrominoeGridX + dragged.getTranslateX();
+        double y = tetrominoeGridY + dragged.getTranslateY();
+        // The tetraminoe must lie within the grid enriched by a cell
+        if (x < 0 || y < 0 || x + painter.getWidth(current) > view.grid.getWidth() + view.getCellSize()
+                || y + painter.getHeight(current) > view.grid.getHeight() + view.getCellSize()) {
+            return -1;
+        }
+        // Row and column of the cell corresponding to the first tetraminoe tile position
+        GridGeometry gridGeometry = view.getGridGeometry();
+        int row = gridGeometry.getRowCol(y + painter.getFirstBlockY(current));
+        int col = gridGeometry.getRowCol(x + painter.getFirstBlockX(current));
+        if (!Board.contains(row, col)) {
+            return -1;
+        }
+        return Board.cellIndex(row, col);
+    }
+
+    /**
+     * Places the tetraminoe, makes new and adds to the count.
+     * Finishes the game if the new tetraminoe can not be placed anywhere
+     * @param anchor The cell corresponding to the first tetraminoe tile position
+     */
+    private void placeTetrominoe(int anchor) {
+        int index = game.getCurrent().getIndex();
+        game.place(anchor);
+        record(index, anchor);
+        autosave();
+        view.getBoardRenderer().show(game.getBoard());
+        makeNewTetrominoe();
+        if (game.isOver()) {
+            isAutoplaying = false;
+            clock.stop();
+            stopRecording();
+            rank();
+            showFinishDialog();
+        }
+    }
+
+    /**
+     * Shows the new random tetraminoe.
+     */
+    private void makeNewTetrominoe() {
+        view.drawTetrominoe(game.getCurrent());
+    }
+
+    /**
+     * Resets the game state, practically starts a new game:
+     * Clears the grid-game-board cells
+     * Sets the zero number of placed tetraminoes
+     * Resets the timer
+     */
+    public void reset() {
+        isAutoplaying = false;
+        isFromReplay = false;
+        dragPulse.stop();
+        view.getSnapPreview().hide();
+        game.reset();
+        makeNewTetrominoe();
+        view.getBoardRenderer().show(game.getBoard());
+        startClock();
+        autosave();
+    }
+
+    /**
+     * Starts the clock from zero, or from the time of the resumed game, and shows its time by the shared
+     * clock pulse. Starts recording the game unless it is resumed, its replay being appended to.
+     * A resumed game is ranked only if its replay goes on, which it does not after a replay has been shown
+     * in the game, so the score of every ranked game can be checked by its replay.
+     */
+    public void startClock() {
+        clock.start(Math.max(resumedMillis, 0));
+        ClockPulse.register(clock, clockText);
+        if (resumedMillis < 0) {
+            isRanked = true;
+            startRecording();
+        } else {
+            isRanked = recorder != null;
+        }
+        resumedMillis = -1;
+    }
+
+    /**
+     * Starts the replay file of the current game, the game being played unrecorded if it can not be created
+     */
+    private void startRecording() {
+        stopRecording();
+        try {
+            Files.createDirectories(replaysDir);
+            replayId = System.currentTimeMillis();
+            replayPath = getReplayPath(replayId);
+            recorder = new ReplayWriter(replayPath, game.getSeed());
+        } catch (IOException e) {
+            System.err.println("The game can not be recorded: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Goes on recording the resumed game into its replay, the game being played unrecorded if the replay
+     * is missing or does not lead to the game
+     *
+     * @param id The identifier of the replay
+     */
+    private void resumeRecording(long id) {
+        try {
+            replayPath = getReplayPath(id);
+            recorder = ReplayWriter.resume(replayPath, game);
+            replayId = id;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("The game can not be recorded: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param id The identifier of the replay
+     * @return Returns the path of the replay of the current game
+     */
+    private Path getReplayPath(long id) {
+        return replaysDir.resolve(id + "-" + Long.toHexString(game.getSeed()) + ".replay");
+    }
+
+    /**
+     * Appends the move just made to the replay of the game
+     *
+     * @param index  The generation index of the tetraminoe placed
+     * @param anchor The cell corresponding to the first tetraminoe tile position
+     */
+    private void record(int index, int anchor) {
+        if (recorder == null) {
+            return;
+        }
+        try {
+            recorder.append(index, anchor, clock.getElapsedMillis());
+        } catch (IOException e) {
+            System.err.println("The game can not be recorded: " + e.getMessage());
+            stopRecording();
+        }
+    }
+
+    /**
+     * Writes the replay of the game out and stops recording. The replay of a game without moves,
+     * such as the one started before a replay is shown, is deleted rather than left in the archive.
+     */
+    private void stopRecording() {
+        if (recorder == null) {
+            return;
+        }
+        try {
+            recorder.close();
+            if (recorder.getMovesCount() == 0) {
+                Files.deleteIfExists(replayPath);
+            }
+        } catch (IOException e) {
+            System.err.println("The replay can not be written: " + e.getMessage());
+        }
+        recorder = null;
+    }
+
+    /**
+     * Saves the game with its playing time to be resumed on the next start, writes its replay out
+     * and closes the leaderboard, only the first call doing anything
+     */
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        autosave();
+        stopRecording();
+        if (saveSlots != null) {
+            saveSlots.close();
+        }
+        if (leaderboard != null) {
+            try {
+                leaderboard.close();
+            } catch (IOException e) {
+                System.err.println("The leaderboard can not be closed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Shows the position of a replay: the moves are placed on the game without anything being drawn
+     * and the board is repainted once. The game may be played on from there unrecorded, unranked and unsaved,
+     * the saved game being kept until a new game is started.
+     *
+     * @param replay   The replay
+     * @param movesNum The number of the moves from the start of the replayed game
+     */
+    public void showReplay(Replay replay, int movesNum) {
+        isAutoplaying = false;
+        dragPulse.stop();
+        view.getSnapPreview().hide();
+        stopRecording();
+        isRanked = false;
+        isFromReplay = true;
+        clock.stop();
+        ClockPulse.unregister(clockText);
+        replay.seek(game, movesNum);
+        makeNewTetrominoe();
+        view.getBoardRenderer().show(game.getBoard());
+        clockText.set(GameClock.format(replay.getTimeMillis(movesNum)));
+    }
+
+    /**
+     * @return The text of the ticking clock label
+     */
+    public StringProperty clockTextProperty() {
+        return clockText;
+    }
+
+    /**
+     * @return Returns the playing time of the game in milliseconds
+     */
+    public long getElapsedMillis() {
+        return clock.getElapsedMillis();
+    }
+
+    public int getTetraminoesCount() {
+        return game.getTurnsCount();
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    public void setView(JigsawController view) {
+        this.view = view;
+        createFinishDialog();
+        view.getBoardRenderer().show(game.getBoard());
+    }
+}
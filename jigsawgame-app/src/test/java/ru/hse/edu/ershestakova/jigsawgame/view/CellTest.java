@@ -0,0 +1,21 @@
+package ru.hse.edu.ershestakova.jigsawgame.view;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CellTest {
+
+    @Test
+    void coversItsSquare() {
+        Cell cell = new Cell(new Canvas(300, 300), 66, 99, 33, Color.WHITE);
+        assertEquals(66, cell.getX());
+        assertEquals(99, cell.getY());
+        assertEquals(33, cell.getWidth());
+        assertEquals(33, cell.getHeight());
+        assertTrue(cell.contains(66 + 16, 99 + 16));
+        assertFalse(cell.contains(66 + 34, 99 + 16));
+    }
+}
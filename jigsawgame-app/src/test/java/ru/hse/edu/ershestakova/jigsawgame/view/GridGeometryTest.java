@@ -0,0 +1,57 @@
+package ru.hse.edu.ershestakova.jigsawgame.view;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GridGeometryTest {
+
+    @Test
+    void getRowCol() {
+        GridGeometry geometry = new GridGeometry(30, 3);
+        // The leading padding and the first cell
+        assertEquals(0, geometry.getRowCol(-1));
+        assertEquals(0, geometry.getRowCol(0));
+        assertEquals(0, geometry.getRowCol(2.9));
+        assertEquals(0, geometry.getRowCol(20));
+        // The second cell starts after two paddings and a cell
+        assertEquals(1, geometry.getRowCol(36));
+        assertEquals(8, geometry.getRowCol(3 * 9 + 30 * 8 + 1));
+    }
+
+    @Test
+    void getRowColMatchesWalk() {
+        GridGeometry geometry = new GridGeometry(30, 3);
+        for (double offset = -5; offset < 320; offset += 0.25) {
+            assertEquals(walk(offset, 30, 3), geometry.getRowCol(offset), "offset " + offset);
+        }
+    }
+
+    /**
+     * Resolves the offset by walking the paddings and the cells one by one
+     */
+    private static int walk(double offset, double cellSize, double padding) {
+        int paddingsNum = 0;
+        int colsNum = 0;
+        while (offset >= paddingsNum * padding + colsNum * cellSize) {
+            if (paddingsNum == colsNum) {
+                ++paddingsNum;
+            } else {
+                ++colsNum;
+            }
+        }
+        return paddingsNum == colsNum ? Math.max(colsNum - 1, 0) : colsNum;
+    }
+
+    @Test
+    void getCellOffset() {
+        GridGeometry geometry = new GridGeometry(30, 3);
+        assertEquals(3, geometry.getCellOffset(0));
+        assertEquals(36, geometry.getCellOffset(1));
+        // Past the last cell the offset is the size of the grid
+        assertEquals(3 * 10 + 30 * 9, geometry.getCellOffset(9));
+        for (int rowCol = 0; rowCol < 9; ++rowCol) {
+            assertEquals(rowCol, geometry.getRowCol(geometry.getCellOffset(rowCol) + 1));
+        }
+    }
+}
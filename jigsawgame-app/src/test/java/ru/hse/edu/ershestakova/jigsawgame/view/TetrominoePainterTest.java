@@ -0,0 +1,31 @@
+package ru.hse.edu.ershestakova.jigsawgame.view;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Test;
+import ru.hse.edu.ershestakova.jigsawgame.model.Tetrominoe;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TetrominoePainterTest {
+
+    @Test
+    void rasterizesOnce() {
+        TetrominoePainter painter = new TetrominoePainter(33, Color.PEACHPUFF);
+        // The short angle with tiles (0,0), (0,1) and (1,0)
+        Image sprite = painter.getSprite(23);
+        assertSame(sprite, painter.getSprite(23));
+        assertEquals(painter.getFrameSize(), (int) sprite.getWidth());
+        PixelReader reader = sprite.getPixelReader();
+        int color = 0xFF000000 | (255 << 16) | (218 << 8) | 185;
+        assertEquals(color, reader.getArgb(0, 0));
+        assertEquals(color, reader.getArgb(30, 30));
+        assertEquals(color, reader.getArgb(33 + 5, 5));
+        assertEquals(color, reader.getArgb(5, 33 + 5));
+        // The gaps between the tiles and the empty tiles are transparent
+        assertEquals(0, reader.getArgb(31, 5));
+        assertEquals(0, reader.getArgb(33 + 5, 33 + 5));
+        assertNotSame(sprite, new TetrominoePainter(33, Color.RED).getSprite(Tetrominoe.fromIndex(23).getIndex()));
+    }
+}
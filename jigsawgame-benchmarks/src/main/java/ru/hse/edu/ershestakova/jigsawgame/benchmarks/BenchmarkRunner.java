@@ -0,0 +1,22 @@
+package ru.hse.edu.ershestakova.jigsawgame.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+
+/**
+ * Runs the benchmarks with the allocation rate profiling always on.
+ * Takes the usual JMH command line, for example a regexp of the benchmarks and -rf json -rff result.json
+ * to keep the numbers a regression is checked against.
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,89 @@
+package ru.hse.edu.ershestakova.jigsawgame.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.hse.edu.ershestakova.jigsawgame.ai.RandomStrategy;
+import ru.hse.edu.ershestakova.jigsawgame.model.Board;
+import ru.hse.edu.ershestakova.jigsawgame.model.BoardBatch;
+import ru.hse.edu.ershestakova.jigsawgame.model.Game;
+import ru.hse.edu.ershestakova.jigsawgame.model.PlacementTable;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The legal anchors of a tetrominoe on many boards of games stopped at random turns:
+ * the batch with and without the Vector API, and the placement table checked board by board
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBatchBenchmark {
+    @Param({"4096"})
+    private int boardsNum;
+    // The tetrominoes with the most and the fewest valid anchors: the square, the line,
+    // the asymmetric angle and the long angle
+    @Param({"22", "20", "0", "12"})
+    private int index;
+
+    private BoardBatch batch;
+    private long[] lows;
+    private long[] highs;
+    // The same boards for the checks board by board
+    private Board[] boards;
+    private final int[] anchors = new int[PlacementTable.ANCHORS_NUM];
+
+    @Setup
+    public void setUp() {
+        batch = new BoardBatch(boardsNum);
+        lows = new long[boardsNum];
+        highs = new long[boardsNum];
+        boards = new Board[boardsNum];
+        SplittableRandom random = new SplittableRandom(42);
+        RandomStrategy strategy = new RandomStrategy(42);
+        Game game = new Game(0);
+        for (int i = 0; i < boardsNum; ++i) {
+            game.reset(i);
+            int turns = random.nextInt(25);
+            while (!game.isOver() && game.getTurnsCount() < turns) {
+                game.step(strategy);
+            }
+            boards[i] = new Board(game.getBoard());
+            batch.add(boards[i]);
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+    public long[] vector() {
+        batch.legalAnchors(index, lows, highs);
+        return lows;
+    }
+
+    @Benchmark
+    public long[] scalar() {
+        batch.legalAnchors(index, lows, highs);
+        return lows;
+    }
+
+    @Benchmark
+    public int perBoard() {
+        int count = 0;
+        for (Board board : boards) {
+            count += PlacementTable.legalAnchors(board, index, anchors);
+        }
+        return count;
+    }
+}
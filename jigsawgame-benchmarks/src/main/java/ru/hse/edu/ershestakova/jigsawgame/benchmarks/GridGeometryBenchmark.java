@@ -0,0 +1,49 @@
+package ru.hse.edu.ershestakova.jigsawgame.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.hse.edu.ershestakova.jigsawgame.view.GridGeometry;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving the coordinates of a dropped tetrominoe to the row and the column of the grid
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GridGeometryBenchmark {
+    private static final int OFFSETS_NUM = 1024;
+
+    // The sizes of the application window
+    private final GridGeometry geometry = new GridGeometry(30.0, 3.0);
+    private final double[] offsets = new double[OFFSETS_NUM];
+    private int offset;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        double gridSize = geometry.getPadding() * 10 + geometry.getCellSize() * 9;
+        for (int i = 0; i < OFFSETS_NUM; ++i) {
+            offsets[i] = random.nextDouble(-geometry.getCellSize(), gridSize + geometry.getCellSize());
+        }
+    }
+
+    @Benchmark
+    public int getRowCol() {
+        offset = (offset + 1) & (OFFSETS_NUM - 1);
+        return geometry.getRowCol(offsets[offset]);
+    }
+}
@@ -0,0 +1,114 @@
+package ru.hse.edu.ershestakova.jigsawgame.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.hse.edu.ershestakova.jigsawgame.ai.RandomStrategy;
+import ru.hse.edu.ershestakova.jigsawgame.model.Board;
+import ru.hse.edu.ershestakova.jigsawgame.model.Game;
+import ru.hse.edu.ershestakova.jigsawgame.model.PlacementTable;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The placement check and the placement itself on a board in the middle of a game,
+ * the paths the view model takes on every drop of a tetrominoe
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlacementBenchmark {
+    private static final int MOVES_NUM = 1024;
+
+    private Board board;
+    // Random tetrominoe indices and anchors, legal or not
+    private final int[] indices = new int[MOVES_NUM];
+    private final int[] anchors = new int[MOVES_NUM];
+    // Legal ones of them
+    private final int[] legalIndices = new int[MOVES_NUM];
+    private final int[] legalAnchors = new int[MOVES_NUM];
+    private final int[] anchorsBuffer = new int[PlacementTable.ANCHORS_NUM];
+    private int move;
+
+    @Setup
+    public void setUp() {
+        Game game = new Game(42);
+        RandomStrategy strategy = new RandomStrategy(42);
+        for (int turn = 0; turn < 6; ++turn) {
+            game.step(strategy);
+        }
+        board = game.getBoard();
+        SplittableRandom random = new SplittableRandom(42);
+        int legalCount = 0;
+        for (int i = 0; i < MOVES_NUM; ++i) {
+            indices[i] = random.nextInt(PlacementTable.TETROMINOE_NUM);
+            anchors[i] = random.nextInt(PlacementTable.ANCHORS_NUM);
+        }
+        while (legalCount < MOVES_NUM) {
+            int index = random.nextInt(PlacementTable.TETROMINOE_NUM);
+            int anchor = random.nextInt(PlacementTable.ANCHORS_NUM);
+            if (board.getLegalMoves().isLegal(index, anchor)) {
+                legalIndices[legalCount] = index;
+                legalAnchors[legalCount++] = anchor;
+            }
+        }
+    }
+
+    private int nextMove() {
+        move = (move + 1) & (MOVES_NUM - 1);
+        return move;
+    }
+
+    /**
+     * The check of the game, an incremental legal moves lookup
+     */
+    @Benchmark
+    public boolean isLegal() {
+        int i = nextMove();
+        return board.getLegalMoves().isLegal(indices[i], anchors[i]);
+    }
+
+    /**
+     * The check against the filled cells by the placement masks
+     */
+    @Benchmark
+    public boolean fits() {
+        int i = nextMove();
+        return PlacementTable.fits(board, indices[i], anchors[i]);
+    }
+
+    /**
+     * A placement on a copy of the board, the legal moves and the empty regions being updated
+     */
+    @Benchmark
+    public Board apply() {
+        int i = nextMove();
+        Board copy = new Board(board);
+        PlacementTable.apply(copy, legalIndices[i], legalAnchors[i]);
+        return copy;
+    }
+
+    /**
+     * The copy alone, subtracted from the apply benchmark
+     */
+    @Benchmark
+    public Board copy() {
+        return new Board(board);
+    }
+
+    @Benchmark
+    public int legalAnchors() {
+        return PlacementTable.legalAnchors(board, indices[nextMove()], anchorsBuffer);
+    }
+}
@@ -0,0 +1,39 @@
+package ru.hse.edu.ershestakova.jigsawgame.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.hse.edu.ershestakova.jigsawgame.ai.RandomStrategy;
+import ru.hse.edu.ershestakova.jigsawgame.model.Game;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole games played by the random strategy, a new tetrominoes sequence every game
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayoutBenchmark {
+    private final Game game = new Game(0);
+    private final RandomStrategy strategy = new RandomStrategy(0);
+    private long seed;
+
+    /**
+     * @return The number of the turns of the game
+     */
+    @Benchmark
+    public int randomGame() {
+        game.reset(++seed);
+        return game.play(strategy);
+    }
+}
@@ -0,0 +1,77 @@
+package ru.hse.edu.ershestakova.jigsawgame.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.hse.edu.ershestakova.jigsawgame.ai.RandomStrategy;
+import ru.hse.edu.ershestakova.jigsawgame.model.Game;
+import ru.hse.edu.ershestakova.jigsawgame.replay.Replay;
+import ru.hse.edu.ershestakova.jigsawgame.replay.ReplayWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays of a recorded game: the mapped file opened and indexed, and the last position restored
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReplayBenchmark {
+    private final Game game = new Game(0);
+    private Path path;
+    private Replay replay;
+
+    @Setup(Level.Trial)
+    public void record() throws IOException {
+        path = Files.createTempFile("jigsaw", ".replay");
+        Files.delete(path);
+        RandomStrategy strategy = new RandomStrategy(0);
+        game.reset(1);
+        try (ReplayWriter writer = new ReplayWriter(path, game.getSeed())) {
+            while (!game.isOver()) {
+                int index = game.getCurrent().getIndex();
+                int anchor = strategy.chooseAnchor(game.getBoard(), game.getCurrent());
+                game.place(anchor);
+                writer.append(index, anchor, 1500L * game.getTurnsCount());
+            }
+        }
+        replay = Replay.open(path);
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * @return The replay
+     */
+    @Benchmark
+    public Replay open() throws IOException {
+        return Replay.open(path);
+    }
+
+    /**
+     * @return The number of the turns of the last position
+     */
+    @Benchmark
+    public int fastForward() {
+        replay.fastForward(game);
+        return game.getTurnsCount();
+    }
+}
@@ -0,0 +1,65 @@
+package ru.hse.edu.ershestakova.jigsawgame.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.hse.edu.ershestakova.jigsawgame.model.Tetrominoe;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Getting the tetrominoes by the generation index, turning and mirroring them and getting their models
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TetrominoeBenchmark {
+    private int index;
+    // Turned round its orientations as the benchmark goes
+    private Tetrominoe tetrominoe = Tetrominoe.fromIndex(0);
+    // The orientations mirrored in turn, so a benchmark call is a single mirroring
+    private final Tetrominoe[] orientations = new Tetrominoe[Tetrominoe.TETROMINOE_NUM];
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < orientations.length; ++i) {
+            orientations[i] = Tetrominoe.fromIndex(i);
+        }
+    }
+
+    private int nextIndex() {
+        index = index == Tetrominoe.TETROMINOE_NUM - 1 ? 0 : index + 1;
+        return index;
+    }
+
+    @Benchmark
+    public Tetrominoe fromIndex() {
+        return Tetrominoe.fromIndex(nextIndex());
+    }
+
+    @Benchmark
+    public Tetrominoe turnRight() {
+        tetrominoe = tetrominoe.turnRight();
+        return tetrominoe;
+    }
+
+    @Benchmark
+    public Tetrominoe mirrored() {
+        return orientations[nextIndex()].mirrored();
+    }
+
+    @Benchmark
+    public boolean[][] getModel() {
+        return Tetrominoe.fromIndex(nextIndex()).getModel();
+    }
+}
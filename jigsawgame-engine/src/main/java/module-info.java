@@ -0,0 +1,14 @@
+module ru.hse.edu.ershestakova.jigsawgame.engine {
+    // The batch legality checks are vectorized only if the module is added at run time
+    requires static jdk.incubator.vector;
+
+    exports ru.hse.edu.ershestakova.jigsawgame.model;
+    exports ru.hse.edu.ershestakova.jigsawgame.ai;
+    exports ru.hse.edu.ershestakova.jigsawgame.solver;
+    exports ru.hse.edu.ershestakova.jigsawgame.simulation;
+    exports ru.hse.edu.ershestakova.jigsawgame.tournament;
+    exports ru.hse.edu.ershestakova.jigsawgame.replay;
+    exports ru.hse.edu.ershestakova.jigsawgame.save;
+    exports ru.hse.edu.ershestakova.jigsawgame.leaderboard;
+    exports ru.hse.edu.ershestakova.jigsawgame.server;
+}
@@ -0,0 +1,177 @@
+package ru.hse.edu.ershestakova.jigsawgame.ai;
+
+import ru.hse.edu.ershestakova.jigsawgame.model.Board;
+import ru.hse.edu.ershestakova.jigsawgame.model.PlacementTable;
+import ru.hse.edu.ershestakova.jigsawgame.model.Tetrominoe;
+
+import java.util.Arrays;
+
+/**
+ * Keys of the near-full boards of the endgame tablebase. The key of a board is its empty cells sorted ascending,
+ * every cell index plus one packed into 7 bits starting from the lowest ones, so up to 9 empty cells fit a long.
+ * Boards turned or mirrored into each other are worth the same if the symmetry maps the dealt shapes
+ * onto the same shapes equally often, and such boards share the least of their keys.
+ */
+final class EndgameKeys {
+    private static final int SIZE = Board.SIZE;
+    private static final int CELL_BITS = 7;
+    private static final long CELL_MASK = (1L << CELL_BITS) - 1;
+    // The largest number of the empty cells a key holds
+    static final int MAX_EMPTY_NUM = Long.SIZE / CELL_BITS;
+    // Cells mapped by the symmetries which keep the dealt shapes, the identity being the first
+    private static final int[][] symmetries;
+
+    static {
+        int[][] found = new int[8][];
+        int count = 0;
+        for (int symmetry = 0; symmetry < 8; ++symmetry) {
+            if (keepsShapes(symmetry)) {
+                found[count] = new int[Board.CELLS_NUM];
+                for (int cell = 0; cell < Board.CELLS_NUM; ++cell) {
+                    found[count][cell] = transform(symmetry, cell / SIZE, cell % SIZE);
+                }
+                ++count;
+            }
+        }
+        symmetries = Arrays.copyOf(found, count);
+    }
+
+    private EndgameKeys() {
+    }
+
+    /**
+     * Maps a cell by one of the eight symmetries of the square board
+     *
+     * @param symmetry Bit 2 transposes the board, bits 0 and 1 flip its rows and columns
+     * @param row      The row of the cell
+     * @param col      The column of the cell
+     * @return The index of the mapped cell
+     */
+    private static int transform(int symmetry, int row, int col) {
+        if ((symmetry & 4) != 0) {
+            int swap = row;
+            row = col;
+            col = swap;
+        }
+        if ((symmetry & 1) != 0) {
+            row = SIZE - 1 - row;
+        }
+        if ((symmetry & 2) != 0) {
+            col = SIZE - 1 - col;
+        }
+        return Board.cellIndex(row, col);
+    }
+
+    /**
+     * Checks if the symmetry maps every dealt shape onto a shape dealt equally often
+     *
+     * @param symmetry The symmetry
+     * @return If the values of the boards are kept by the symmetry
+     */
+    private static boolean keepsShapes(int symmetry) {
+        int[] counts = new int[1 << 9];
+        int[] mappedCounts = new int[1 << 9];
+        for (int index = 0; index < PlacementTable.TETROMINOE_NUM; ++index) {
+            int shape = Tetrominoe.fromIndex(index).getShape();
+            ++counts[shape];
+            int minRow = SIZE;
+            int minCol = SIZE;
+            int[] cells = new int[Integer.bitCount(shape)];
+            int count = 0;
+            for (int tiles = shape; tiles != 0; tiles &= tiles - 1) {
+                int tile = Integer.numberOfTrailingZeros(tiles);
+                int cell = transform(symmetry, tile / 3, tile % 3);
+                cells[count++] = cell;
+                minRow = Math.min(minRow, cell / SIZE);
+                minCol = Math.min(minCol, cell % SIZE);
+            }
+            int mapped = 0;
+            for (int cell : cells) {
+                mapped |= 1 << ((cell / SIZE - minRow) * 3 + cell % SIZE - minCol);
+            }
+            ++mappedCounts[mapped];
+        }
+        return Arrays.equals(counts, mappedCounts);
+    }
+
+    /**
+     * Packs the sorted cells
+     *
+     * @param cells The cells sorted ascending
+     * @param count The number of the cells
+     * @return The key
+     */
+    static long pack(int[] cells, int count) {
+        long key = 0;
+        for (int i = count - 1; i >= 0; --i) {
+            key = key << CELL_BITS | (cells[i] + 1);
+        }
+        return key;
+    }
+
+    /**
+     * Unpacks the cells of a key
+     *
+     * @param key   The key
+     * @param cells The array for the cells sorted ascending
+     * @return The number of the cells
+     */
+    static int unpack(long key, int[] cells) {
+        int count = 0;
+        for (; key != 0; key >>>= CELL_BITS) {
+            cells[count++] = (int) (key & CELL_MASK) - 1;
+        }
+        return count;
+    }
+
+    /**
+     * Gets the least key of the symmetric boards
+     *
+     * @param emptyLow  Low word of the empty cells mask
+     * @param emptyHigh High word of the empty cells mask
+     * @return The canonical key of the board
+     */
+    static long canonicalKey(long emptyLow, long emptyHigh) {
+        int[] cells = new int[MAX_EMPTY_NUM];
+        int count = 0;
+        for (long rest = emptyLow; rest != 0; rest &= rest - 1) {
+            cells[count++] = Long.numberOfTrailingZeros(rest);
+        }
+        for (long rest = emptyHigh; rest != 0; rest &= rest - 1) {
+            cells[count++] = Long.SIZE + Long.numberOfTrailingZeros(rest);
+        }
+        return canonicalKey(cells, count);
+    }
+
+    /**
+     * Gets the least key of the symmetric boards
+     *
+     * @param cells The empty cells sorted ascending, the array is left unchanged
+     * @param count The number of the empty cells
+     * @return The canonical key of the board
+     */
+    static long canonicalKey(int[] cells, int count) {
+        long key = pack(cells, count);
+        int[] mapped = new int[count];
+        for (int symmetry = 1; symmetry < symmetries.length; ++symmetry) {
+            for (int i = 0; i < count; ++i) {
+                // Insertion keeps the mapped cells sorted
+                int cell = symmetries[symmetry][cells[i]];
+                int j = i;
+                for (; j > 0 && mapped[j - 1] > cell; --j) {
+                    mapped[j] = mapped[j - 1];
+                }
+                mapped[j] = cell;
+            }
+            key = Math.min(key, pack(mapped, count));
+        }
+        return key;
+    }
+
+    /**
+     * @return Returns the number of the symmetries keeping the values of the boards, the identity included
+     */
+    static int getSymmetriesNum() {
+        return symmetries.length;
+    }
+}
@@ -0,0 +1,108 @@
+package ru.hse.edu.ershestakova.jigsawgame.ai;
+
+import ru.hse.edu.ershestakova.jigsawgame.model.Board;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The exact expected numbers of the turns left on the boards with a few empty cells,
+ * read from a file made by {@link EndgameTablebaseGenerator}. The file is memory-mapped and searched
+ * in place, so the table takes no heap and its pages are shared by all the players of the process.
+ * The file is a header of the magic, the version, the largest number of the empty cells and the number
+ * of the records, followed by the records of a canonical key and a float value sorted by the key.
+ */
+public class EndgameTablebase {
+    static final int MAGIC = 0x4A474542;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 4 * Integer.BYTES;
+    static final int RECORD_SIZE = Long.BYTES + Float.BYTES;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private final MappedByteBuffer buffer;
+    private final int maxEmptyNum;
+    private final int count;
+
+    private EndgameTablebase(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        buffer.order(ORDER);
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IllegalArgumentException("Not an endgame tablebase file");
+        }
+        this.maxEmptyNum = buffer.getInt(2 * Integer.BYTES);
+        this.count = buffer.getInt(3 * Integer.BYTES);
+        if (buffer.capacity() != HEADER_SIZE + (long) count * RECORD_SIZE) {
+            throw new IllegalArgumentException("Truncated endgame tablebase file");
+        }
+    }
+
+    /**
+     * Maps a tablebase file
+     *
+     * @param path The path of the file
+     * @return The tablebase
+     * @throws IOException If the file can not be read
+     */
+    public static EndgameTablebase open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new EndgameTablebase(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * @param board The board
+     * @return Returns the expected number of the turns left on the board, NaN if it has too many empty cells
+     */
+    public double getValue(Board board) {
+        return getValue(board.getLow(), board.getHigh());
+    }
+
+    /**
+     * Gets the expected number of the turns left, the next tetrominoe being unknown
+     *
+     * @param low  Low word of the filled cells mask
+     * @param high High word of the filled cells mask
+     * @return The expected number of the turns left, NaN if the board has too many empty cells
+     */
+    public double getValue(long low, long high) {
+        long emptyLow = ~low;
+        long emptyHigh = ~high & ((1L << (Board.CELLS_NUM - Long.SIZE)) - 1);
+        if (Long.bitCount(emptyLow) + Long.bitCount(emptyHigh) > maxEmptyNum) {
+            return Double.NaN;
+        }
+        long key = EndgameKeys.canonicalKey(emptyLow, emptyHigh);
+        int first = 0;
+        int last = count - 1;
+        while (first <= last) {
+            int middle = (first + last) >>> 1;
+            long offset = HEADER_SIZE + (long) middle * RECORD_SIZE;
+            long middleKey = buffer.getLong((int) offset);
+            if (middleKey < key) {
+                first = middle + 1;
+            } else if (middleKey > key) {
+                last = middle - 1;
+            } else {
+                return buffer.getFloat((int) offset + Long.BYTES);
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * @return Returns the largest number of the empty cells of the boards in the table
+     */
+    public int getMaxEmptyNum() {
+        return maxEmptyNum;
+    }
+
+    /**
+     * @return Returns the number of the boards in the table, the symmetric ones counted once
+     */
+    public int getCount() {
+        return count;
+    }
+}
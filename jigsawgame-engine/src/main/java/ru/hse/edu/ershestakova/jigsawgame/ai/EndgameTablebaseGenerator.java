@@ -0,0 +1,238 @@
+package ru.hse.edu.ershestakova.jigsawgame.ai;
+
+import ru.hse.edu.ershestakova.jigsawgame.model.Board;
+import ru.hse.edu.ershestakova.jigsawgame.model.PlacementTable;
+import ru.hse.edu.ershestakova.jigsawgame.model.Tetrominoe;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * The offline generator of the endgame tablebase. The boards are enumerated by the number of their empty cells,
+ * every symmetric class once, and the values of a level are computed in parallel from the values of the levels
+ * with fewer empty cells, a placement filling at least one cell.
+ * Usage: EndgameTablebaseGenerator path [maxEmptyNum]
+ */
+public class EndgameTablebaseGenerator {
+    private static final int CELLS_NUM = Board.CELLS_NUM;
+    private static final int TETROMINOE_NUM = PlacementTable.TETROMINOE_NUM;
+    // The records written at once
+    private static final int WRITE_BATCH = 1 << 16;
+    // Distinct shapes of the generated tetrominoes: the lowest index of the shape and the number of its indices
+    private static final int[] shapeIndices;
+    private static final int[] shapeWeights;
+
+    static {
+        int[] indices = new int[TETROMINOE_NUM];
+        int[] weights = new int[TETROMINOE_NUM];
+        int shapesNum = 0;
+        for (int index = 0; index < TETROMINOE_NUM; ++index) {
+            int shape = 0;
+            while (shape < shapesNum
+                    && Tetrominoe.fromIndex(indices[shape]).getShape() != Tetrominoe.fromIndex(index).getShape()) {
+                ++shape;
+            }
+            if (shape == shapesNum) {
+                indices[shapesNum++] = index;
+            }
+            ++weights[shape];
+        }
+        shapeIndices = Arrays.copyOf(indices, shapesNum);
+        shapeWeights = Arrays.copyOf(weights, shapesNum);
+    }
+
+    // Sorted canonical keys and values by the number of the empty cells
+    private final long[][] keys;
+    private final double[][] values;
+
+    /**
+     * Computes the values of all the boards with few empty cells
+     *
+     * @param maxEmptyNum The largest number of the empty cells
+     */
+    public EndgameTablebaseGenerator(int maxEmptyNum) {
+        if (maxEmptyNum < 0 || maxEmptyNum > EndgameKeys.MAX_EMPTY_NUM) {
+            throw new IllegalArgumentException("The number of the empty cells must be between 0 and "
+                    + EndgameKeys.MAX_EMPTY_NUM);
+        }
+        keys = new long[maxEmptyNum + 1][];
+        values = new double[maxEmptyNum + 1][];
+        for (int emptyNum = 0; emptyNum <= maxEmptyNum; ++emptyNum) {
+            long[] levelKeys = enumerate(emptyNum);
+            double[] levelValues = new double[levelKeys.length];
+            IntStream.range(0, levelKeys.length).parallel()
+                    .forEach(i -> levelValues[i] = evaluate(levelKeys[i]));
+            keys[emptyNum] = levelKeys;
+            values[emptyNum] = levelValues;
+        }
+    }
+
+    /**
+     * Enumerates the canonical keys of the boards with the number of empty cells, the first cells in parallel
+     *
+     * @param emptyNum The number of the empty cells
+     * @return The sorted keys
+     */
+    private static long[] enumerate(int emptyNum) {
+        if (emptyNum == 0) {
+            return new long[]{0};
+        }
+        return IntStream.range(0, CELLS_NUM).parallel()
+                .mapToObj(first -> {
+                    LongStream.Builder builder = LongStream.builder();
+                    int[] cells = new int[emptyNum];
+                    cells[0] = first;
+                    enumerate(cells, 1, builder);
+                    return builder.build();
+                })
+                .flatMapToLong(stream -> stream)
+                .sorted()
+                .toArray();
+    }
+
+    /**
+     * Adds the canonical keys of all the ascending completions of the cells
+     *
+     * @param cells   The cells, the first ones chosen
+     * @param count   The number of the cells chosen
+     * @param builder The keys
+     */
+    private static void enumerate(int[] cells, int count, LongStream.Builder builder) {
+        if (count == cells.length) {
+            long key = EndgameKeys.pack(cells, count);
+            if (EndgameKeys.canonicalKey(cells, count) == key) {
+                builder.add(key);
+            }
+            return;
+        }
+        for (int cell = cells[count - 1] + 1; cell <= CELLS_NUM - (cells.length - count); ++cell) {
+            cells[count] = cell;
+            enumerate(cells, count + 1, builder);
+        }
+    }
+
+    /**
+     * Counts the expected number of the turns left on the board before the next tetrominoe is known
+     *
+     * @param key The canonical key of the board
+     * @return The expected number of the turns left
+     */
+    private double evaluate(long key) {
+        int[] cells = new int[EndgameKeys.MAX_EMPTY_NUM];
+        int emptyNum = EndgameKeys.unpack(key, cells);
+        long emptyLow = 0;
+        long emptyHigh = 0;
+        for (int i = 0; i < emptyNum; ++i) {
+            emptyLow |= Board.lowBit(cells[i]);
+            emptyHigh |= Board.highBit(cells[i]);
+        }
+        double sum = 0;
+        for (int shape = 0; shape < shapeIndices.length; ++shape) {
+            int index = shapeIndices[shape];
+            double best = 0;
+            // The anchor lies under a tile, so only the empty cells are tried
+            for (int i = 0; i < emptyNum; ++i) {
+                int anchor = cells[i];
+                long maskLow = PlacementTable.getLow(index, anchor);
+                long maskHigh = PlacementTable.getHigh(index, anchor);
+                if (PlacementTable.isValid(index, anchor) && (maskLow & ~emptyLow) == 0 && (maskHigh & ~emptyHigh) == 0) {
+                    best = Math.max(best, 1 + getValue(emptyLow & ~maskLow, emptyHigh & ~maskHigh));
+                }
+            }
+            sum += shapeWeights[shape] * best;
+        }
+        return sum / TETROMINOE_NUM;
+    }
+
+    /**
+     * @param emptyLow  Low word of the empty cells mask
+     * @param emptyHigh High word of the empty cells mask
+     * @return Returns the value of a board of the levels already computed
+     */
+    private double getValue(long emptyLow, long emptyHigh) {
+        int emptyNum = Long.bitCount(emptyLow) + Long.bitCount(emptyHigh);
+        return values[emptyNum][Arrays.binarySearch(keys[emptyNum], EndgameKeys.canonicalKey(emptyLow, emptyHigh))];
+    }
+
+    /**
+     * Writes the table sorted by the key
+     *
+     * @param path The path of the file
+     * @throws IOException If the file can not be written
+     */
+    public void write(Path path) throws IOException {
+        int count = 0;
+        for (long[] levelKeys : keys) {
+            count += levelKeys.length;
+        }
+        if (EndgameTablebase.HEADER_SIZE + (long) count * EndgameTablebase.RECORD_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalStateException("The table is too large to be mapped");
+        }
+        long[] allKeys = new long[count];
+        int offset = 0;
+        for (long[] levelKeys : keys) {
+            System.arraycopy(levelKeys, 0, allKeys, offset, levelKeys.length);
+            offset += levelKeys.length;
+        }
+        // The keys of different levels differ, and the level of a key is the number of its cells
+        Arrays.parallelSort(allKeys);
+        int[] cells = new int[EndgameKeys.MAX_EMPTY_NUM];
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BATCH * EndgameTablebase.RECORD_SIZE)
+                    .order(EndgameTablebase.ORDER);
+            buffer.putInt(EndgameTablebase.MAGIC).putInt(EndgameTablebase.VERSION)
+                    .putInt(keys.length - 1).putInt(count);
+            for (long key : allKeys) {
+                if (buffer.remaining() < EndgameTablebase.RECORD_SIZE) {
+                    flush(channel, buffer);
+                }
+                int emptyNum = EndgameKeys.unpack(key, cells);
+                buffer.putLong(key).putFloat((float) values[emptyNum][Arrays.binarySearch(keys[emptyNum], key)]);
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Writes the buffer out and clears it
+     *
+     * @param channel The file channel
+     * @param buffer  The buffer
+     * @throws IOException If the file can not be written
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * @return Returns the number of the boards computed, the symmetric ones counted once
+     */
+    public int getCount() {
+        return Arrays.stream(keys).mapToInt(levelKeys -> levelKeys.length).sum();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: EndgameTablebaseGenerator path [maxEmptyNum]");
+            return;
+        }
+        int maxEmptyNum = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long start = System.nanoTime();
+        EndgameTablebaseGenerator generator = new EndgameTablebaseGenerator(maxEmptyNum);
+        generator.write(Paths.get(args[0]));
+        System.out.printf("%d boards with up to %d empty cells in %d ms%n", generator.getCount(), maxEmptyNum,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
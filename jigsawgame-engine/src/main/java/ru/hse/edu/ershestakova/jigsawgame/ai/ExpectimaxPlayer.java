@@ -0,0 +1,350 @@
+package ru.hse.edu.ershestakova.jigsawgame.ai;
+
+import ru.hse.edu.ershestakova.jigsawgame.model.Board;
+import ru.hse.edu.ershestakova.jigsawgame.model.PlacementTable;
+import ru.hse.edu.ershestakova.jigsawgame.model.Strategy;
+import ru.hse.edu.ershestakova.jigsawgame.model.Tetrominoe;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The computer player choosing the anchor of the current tetrominoe by the expectimax search.
+ * The value of a board is the expected number of the turns left, every one of the 31 generation indices
+ * being equally likely to come next. The search deepens iteratively until the time budget runs out,
+ * the anchors of the root being searched in parallel, and the values of the searched boards are shared
+ * through the transposition table. The boards found in the endgame tablebase, if any, are not searched at all.
+ * A player created with a pool of its own shuts the pool down when it is closed.
+ */
+public class ExpectimaxPlayer implements Strategy, Closeable {
+    private static final int TETROMINOE_NUM = PlacementTable.TETROMINOE_NUM;
+    // The average number of tiles of a generated tetrominoe
+    private static final double AVERAGE_TILES_NUM;
+    // Distinct shapes of the generated tetrominoes: the lowest index of the shape and the number of its indices
+    private static final int[] shapeIndices;
+    private static final int[] shapeWeights;
+    // Anchors at which the tetrominoes lie on the board by tetrominoe index
+    private static final int[][] validAnchors = new int[TETROMINOE_NUM][];
+    // The number of nodes between the time checks, a leaf evaluation taking microseconds
+    private static final int TIME_CHECK_PERIOD = 64;
+
+    static {
+        int tilesNum = 0;
+        int[] indices = new int[TETROMINOE_NUM];
+        int[] weights = new int[TETROMINOE_NUM];
+        int shapesNum = 0;
+        for (int index = 0; index < TETROMINOE_NUM; ++index) {
+            Tetrominoe tetrominoe = Tetrominoe.fromIndex(index);
+            tilesNum += Integer.bitCount(tetrominoe.getShape());
+            int shape = 0;
+            while (shape < shapesNum && Tetrominoe.fromIndex(indices[shape]).getShape() != tetrominoe.getShape()) {
+                ++shape;
+            }
+            if (shape == shapesNum) {
+                indices[shapesNum++] = index;
+            }
+            ++weights[shape];
+            int[] anchors = new int[PlacementTable.ANCHORS_NUM];
+            int count = 0;
+            for (int anchor = 0; anchor < PlacementTable.ANCHORS_NUM; ++anchor) {
+                if (PlacementTable.isValid(index, anchor)) {
+                    anchors[count++] = anchor;
+                }
+            }
+            validAnchors[index] = Arrays.copyOf(anchors, count);
+        }
+        AVERAGE_TILES_NUM = (double) tilesNum / TETROMINOE_NUM;
+        shapeIndices = Arrays.copyOf(indices, shapesNum);
+        shapeWeights = Arrays.copyOf(weights, shapesNum);
+    }
+
+    private final long timeBudgetNanos;
+    private final int maxDepth;
+    private final TranspositionTable table;
+    private final ForkJoinPool pool;
+    private final boolean isOwningPool;
+    private final EndgameTablebase tablebase;
+    private final LongAdder nodesCount = new LongAdder();
+
+    /**
+     * Creates a player searching in the common pool with a table of 2^20 entries
+     *
+     * @param timeBudgetMillis The time of choosing one anchor
+     */
+    public ExpectimaxPlayer(long timeBudgetMillis) {
+        this(timeBudgetMillis, 3, 20, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a player searching in a pool of its own, which is shut down by {@link #close()}
+     *
+     * @param timeBudgetMillis The time of choosing one anchor
+     * @param maxDepth         The maximal number of the chance layers searched
+     * @param tableSizeLog2    Binary logarithm of the number of the transposition table entries
+     * @param parallelism      The number of the threads of the pool
+     */
+    public ExpectimaxPlayer(long timeBudgetMillis, int maxDepth, int tableSizeLog2, int parallelism) {
+        this(timeBudgetMillis, maxDepth, tableSizeLog2, new ForkJoinPool(parallelism), null, true);
+    }
+
+    /**
+     * Creates a player
+     *
+     * @param timeBudgetMillis The time of choosing one anchor
+     * @param maxDepth         The maximal number of the chance layers searched
+     * @param tableSizeLog2    Binary logarithm of the number of the transposition table entries
+     * @param pool             The pool the search runs in
+     */
+    public ExpectimaxPlayer(long timeBudgetMillis, int maxDepth, int tableSizeLog2, ForkJoinPool pool) {
+        this(timeBudgetMillis, maxDepth, tableSizeLog2, pool, null);
+    }
+
+    /**
+     * Creates a player playing the endgame by the tablebase
+     *
+     * @param timeBudgetMillis The time of choosing one anchor
+     * @param maxDepth         The maximal number of the chance layers searched
+     * @param tableSizeLog2    Binary logarithm of the number of the transposition table entries
+     * @param pool             The pool the search runs in
+     * @param tablebase        The exact values of the boards with few empty cells, null if there are none
+     */
+    public ExpectimaxPlayer(long timeBudgetMillis, int maxDepth, int tableSizeLog2, ForkJoinPool pool,
+                            EndgameTablebase tablebase) {
+        this(timeBudgetMillis, maxDepth, tableSizeLog2, pool, tablebase, false);
+    }
+
+    private ExpectimaxPlayer(long timeBudgetMillis, int maxDepth, int tableSizeLog2, ForkJoinPool pool,
+                             EndgameTablebase tablebase, boolean isOwningPool) {
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000;
+        this.maxDepth = maxDepth;
+        this.table = new TranspositionTable(tableSizeLog2);
+        this.pool = pool;
+        this.tablebase = tablebase;
+        this.isOwningPool = isOwningPool;
+    }
+
+    /**
+     * Chooses the anchor of the tetrominoe on the board
+     *
+     * @param board      The board
+     * @param tetrominoe The current tetrominoe
+     * @return The anchor of the best placement, -1 if the tetrominoe fits nowhere
+     */
+    @Override
+    public int chooseAnchor(Board board, Tetrominoe tetrominoe) {
+        long deadline = System.nanoTime() + timeBudgetNanos;
+        int index = tetrominoe.getIndex();
+        long low = board.getLow();
+        long high = board.getHigh();
+        int[] anchors = new int[PlacementTable.ANCHORS_NUM];
+        int count = PlacementTable.legalAnchors(board, index, anchors);
+        if (count <= 1) {
+            return count == 0 ? -1 : anchors[0];
+        }
+        table.nextGeneration();
+        long key = Zobrist.hash(low, high);
+        int best = anchors[0];
+        for (int depth = 0; depth <= maxDepth; ++depth) {
+            List<Future<Double>> values = new ArrayList<>(count);
+            for (int i = 0; i < count; ++i) {
+                int anchor = anchors[i];
+                int childDepth = depth;
+                values.add(pool.submit(() -> new Search(deadline).search(
+                        low | PlacementTable.getLow(index, anchor), high | PlacementTable.getHigh(index, anchor),
+                        key ^ Zobrist.placementKey(index, anchor), childDepth)));
+            }
+            try {
+                double bestValue = Double.NEGATIVE_INFINITY;
+                int depthBest = best;
+                for (int i = 0; i < count; ++i) {
+                    double value = values.get(i).get();
+                    if (value > bestValue) {
+                        bestValue = value;
+                        depthBest = anchors[i];
+                    }
+                }
+                best = depthBest;
+            } catch (ExecutionException e) {
+                if (!(e.getCause() instanceof TimeoutException)) {
+                    throw new IllegalStateException(e.getCause());
+                }
+                // The deeper search has not been finished in time, the previous depth result stands
+                for (Future<Double> value : values) {
+                    value.cancel(false);
+                }
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Forgets the values of the boards searched, so the next game is played as by a new player
+     */
+    public void clear() {
+        table.clear();
+    }
+
+    /**
+     * Shuts the pool down if the player has created it, a pool given to the player being left as it is
+     */
+    @Override
+    public void close() {
+        if (isOwningPool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @return Returns the number of the board states evaluated since the player creation
+     */
+    public long getNodesCount() {
+        return nodesCount.sum();
+    }
+
+    /**
+     * Estimates the number of the turns left without searching:
+     * if the share p of the tetrominoes fits and the next ones fit independently,
+     * the game lasts p / (1 - p) turns more, but no longer than the empty cells suffice for.
+     *
+     * @param low  Low word of the filled cells mask
+     * @param high High word of the filled cells mask
+     * @return The estimated number of the turns left
+     */
+    static double evaluate(long low, long high) {
+        int fitting = 0;
+        for (int shape = 0; shape < shapeIndices.length; ++shape) {
+            int index = shapeIndices[shape];
+            for (int anchor : validAnchors[index]) {
+                if ((low & PlacementTable.getLow(index, anchor)) == 0
+                        && (high & PlacementTable.getHigh(index, anchor)) == 0) {
+                    fitting += shapeWeights[shape];
+                    break;
+                }
+            }
+        }
+        double limit = (Board.CELLS_NUM - Long.bitCount(low) - Long.bitCount(high)) / AVERAGE_TILES_NUM;
+        if (fitting == TETROMINOE_NUM) {
+            return limit;
+        }
+        double share = (double) fitting / TETROMINOE_NUM;
+        return Math.min(share / (1 - share), limit);
+    }
+
+    /**
+     * Thrown when the search runs out of time
+     */
+    private static class TimeoutException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        TimeoutException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * The search of one root anchor
+     */
+    private class Search {
+        private final long deadline;
+        private int nodes;
+
+        Search(long deadline) {
+            this.deadline = deadline;
+        }
+
+        /**
+         * Counts the expected number of the turns left after a root placement
+         *
+         * @param low   Low word of the filled cells mask
+         * @param high  High word of the filled cells mask
+         * @param key   Zobrist key of the board
+         * @param depth The number of the chance layers left
+         * @return The expected number of the turns left
+         */
+        double search(long low, long high, long key, int depth) {
+            // The root anchors queued behind the others may start after the deadline
+            if (System.nanoTime() >= deadline) {
+                throw new TimeoutException();
+            }
+            try {
+                return chance(low, high, key, depth);
+            } finally {
+                nodesCount.add(nodes % TIME_CHECK_PERIOD);
+            }
+        }
+
+        /**
+         * Counts the expected number of the turns left before the next tetrominoe is known
+         *
+         * @param low   Low word of the filled cells mask
+         * @param high  High word of the filled cells mask
+         * @param key   Zobrist key of the board
+         * @param depth The number of the chance layers left
+         * @return The expected number of the turns left
+         */
+        double chance(long low, long high, long key, int depth) {
+            if (++nodes % TIME_CHECK_PERIOD == 0) {
+                nodesCount.add(TIME_CHECK_PERIOD);
+                if (System.nanoTime() >= deadline) {
+                    throw new TimeoutException();
+                }
+            }
+            if (tablebase != null) {
+                double exact = tablebase.getValue(low, high);
+                if (!Double.isNaN(exact)) {
+                    return exact;
+                }
+            }
+            if (depth == 0) {
+                return evaluate(low, high);
+            }
+            double stored = table.probe(key, depth);
+            if (!Double.isNaN(stored)) {
+                return stored;
+            }
+            double sum = 0;
+            for (int shape = 0; shape < shapeIndices.length; ++shape) {
+                sum += shapeWeights[shape] * decide(low, high, key, shapeIndices[shape], depth);
+            }
+            double value = sum / TETROMINOE_NUM;
+            table.store(key, depth, value);
+            return value;
+        }
+
+        /**
+         * Counts the number of the turns left after the best placement of the known tetrominoe
+         *
+         * @param low   Low word of the filled cells mask
+         * @param high  High word of the filled cells mask
+         * @param key   Zobrist key of the board
+         * @param index Tetrominoe generation index
+         * @param depth The number of the chance layers left
+         * @return The number of the turns left, 0 if the tetrominoe fits nowhere
+         */
+        private double decide(long low, long high, long key, int index, int depth) {
+            double best = 0;
+            for (int anchor : validAnchors[index]) {
+                long maskLow = PlacementTable.getLow(index, anchor);
+                long maskHigh = PlacementTable.getHigh(index, anchor);
+                if ((low & maskLow) == 0 && (high & maskHigh) == 0) {
+                    best = Math.max(best, 1 + chance(low | maskLow, high | maskHigh,
+                            key ^ Zobrist.placementKey(index, anchor), depth - 1));
+                }
+            }
+            return best;
+        }
+    }
+}
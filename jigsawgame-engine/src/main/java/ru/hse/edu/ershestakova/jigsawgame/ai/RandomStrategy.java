@@ -0,0 +1,55 @@
+package ru.hse.edu.ershestakova.jigsawgame.ai;
+
+import ru.hse.edu.ershestakova.jigsawgame.model.Board;
+import ru.hse.edu.ershestakova.jigsawgame.model.LegalMoves;
+import ru.hse.edu.ershestakova.jigsawgame.model.Strategy;
+import ru.hse.edu.ershestakova.jigsawgame.model.Tetrominoe;
+
+import java.util.SplittableRandom;
+
+/**
+ * The player placing the tetrominoe at a uniformly random legal anchor.
+ * The anchor is picked straight from the legal anchors masks of the board, so a turn takes no search at all.
+ * An instance is not thread-safe and must be used by one thread.
+ */
+public class RandomStrategy implements Strategy {
+    private final SplittableRandom random;
+
+    /**
+     * Creates a player
+     *
+     * @param seed The seed of the choices
+     */
+    public RandomStrategy(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int chooseAnchor(Board board, Tetrominoe tetrominoe) {
+        LegalMoves legalMoves = board.getLegalMoves();
+        int index = tetrominoe.getIndex();
+        int count = legalMoves.getCount(index);
+        if (count == 0) {
+            return -1;
+        }
+        int chosen = random.nextInt(count);
+        long low = legalMoves.getLow(index);
+        int lowCount = Long.bitCount(low);
+        if (chosen < lowCount) {
+            return selectBit(low, chosen);
+        }
+        return Long.SIZE + selectBit(legalMoves.getHigh(index), chosen - lowCount);
+    }
+
+    /**
+     * @param word The word
+     * @param rank The number of the set bits to skip
+     * @return Returns the position of the set bit of the rank
+     */
+    private static int selectBit(long word, int rank) {
+        for (; rank > 0; --rank) {
+            word &= word - 1;
+        }
+        return Long.numberOfTrailingZeros(word);
+    }
+}
@@ -0,0 +1,108 @@
+package ru.hse.edu.ershestakova.jigsawgame.ai;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size transposition table of the values of the board states searched to some depth.
+ * The table is split into buckets of two entries: the first one keeps the deepest entry of the current search
+ * and the second one always takes the newest entry, so the table never grows and old entries are evicted.
+ * The table is shared by the search threads without locks: every entry is stored as the key xor the data
+ * and the data, and an entry whose words come from different writes simply does not match its key.
+ */
+public class TranspositionTable {
+    // Bits of the data word
+    private static final int DEPTH_SHIFT = 32;
+    private static final int GENERATION_SHIFT = 40;
+    // Tells the stored entries from the empty ones
+    private static final long USED = 1L << 48;
+    private static final long BYTE_MASK = 0xFF;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+    // The number of the current search, entries of the previous ones are replaced first
+    private volatile int generation;
+
+    /**
+     * Creates an empty table
+     *
+     * @param sizeLog2 Binary logarithm of the number of entries
+     */
+    public TranspositionTable(int sizeLog2) {
+        keys = new long[1 << sizeLog2];
+        data = new long[1 << sizeLog2];
+        mask = (1 << sizeLog2) - 2;
+    }
+
+    /**
+     * Starts a new search, making the entries of the previous ones the first to be replaced
+     */
+    public void nextGeneration() {
+        generation = (generation + 1) & (int) BYTE_MASK;
+    }
+
+    /**
+     * Looks up the value of the board state
+     *
+     * @param key   Zobrist key of the board state
+     * @param depth The depth of the search needed
+     * @return The value searched to the depth or deeper, NaN if there is no such entry
+     */
+    public double probe(long key, int depth) {
+        int bucket = (int) key & mask;
+        for (int slot = bucket; slot < bucket + 2; ++slot) {
+            long entry = data[slot];
+            if (entry != 0 && (keys[slot] ^ entry) == key && depthOf(entry) >= depth) {
+                return Float.intBitsToFloat((int) entry);
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Stores the value of the board state
+     *
+     * @param key   Zobrist key of the board state
+     * @param depth The depth of the search
+     * @param value The value
+     */
+    public void store(long key, int depth, double value) {
+        int bucket = (int) key & mask;
+        long entry = (Float.floatToIntBits((float) value) & 0xFFFFFFFFL)
+                | ((long) depth << DEPTH_SHIFT) | ((long) generation << GENERATION_SHIFT) | USED;
+        long first = data[bucket];
+        boolean firstMatches = first != 0 && (keys[bucket] ^ first) == key;
+        int slot = bucket + 1;
+        if (firstMatches ? depth >= depthOf(first)
+                : generationOf(first) != generation || depth >= depthOf(first)) {
+            slot = bucket;
+        } else if (firstMatches) {
+            return;
+        }
+        data[slot] = entry;
+        keys[slot] = key ^ entry;
+    }
+
+    /**
+     * Removes all the entries
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(data, 0);
+    }
+
+    /**
+     * @return Returns the number of entries
+     */
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    private static int depthOf(long entry) {
+        return (int) ((entry >>> DEPTH_SHIFT) & BYTE_MASK);
+    }
+
+    private static int generationOf(long entry) {
+        return (int) ((entry >>> GENERATION_SHIFT) & BYTE_MASK);
+    }
+}
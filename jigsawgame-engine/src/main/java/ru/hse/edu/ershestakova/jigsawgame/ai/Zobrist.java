@@ -0,0 +1,67 @@
+package ru.hse.edu.ershestakova.jigsawgame.ai;
+
+import ru.hse.edu.ershestakova.jigsawgame.model.Board;
+import ru.hse.edu.ershestakova.jigsawgame.model.PlacementTable;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist hashing of the board states: the key of a board is the xor of the random keys of its filled cells,
+ * so the key of the board after a placement is the key before it xor the key of the placement.
+ */
+public final class Zobrist {
+    // The seed is fixed, so the keys are the same in every run
+    private static final long SEED = 0x6A09E667F3BCC909L;
+    private static final long[] cellKeys = new long[Board.CELLS_NUM];
+    // Keys of the placements by tetrominoe index * ANCHORS_NUM + anchor
+    private static final long[] placementKeys = new long[PlacementTable.TETROMINOE_NUM * PlacementTable.ANCHORS_NUM];
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int cell = 0; cell < Board.CELLS_NUM; ++cell) {
+            cellKeys[cell] = random.nextLong();
+        }
+        for (int index = 0; index < PlacementTable.TETROMINOE_NUM; ++index) {
+            for (int anchor = 0; anchor < PlacementTable.ANCHORS_NUM; ++anchor) {
+                placementKeys[index * PlacementTable.ANCHORS_NUM + anchor] =
+                        hash(PlacementTable.getLow(index, anchor), PlacementTable.getHigh(index, anchor));
+            }
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * @param low  Low word of the filled cells mask
+     * @param high High word of the filled cells mask
+     * @return Returns the key of the cells
+     */
+    public static long hash(long low, long high) {
+        long key = 0;
+        for (; low != 0; low &= low - 1) {
+            key ^= cellKeys[Long.numberOfTrailingZeros(low)];
+        }
+        for (; high != 0; high &= high - 1) {
+            key ^= cellKeys[Long.SIZE + Long.numberOfTrailingZeros(high)];
+        }
+        return key;
+    }
+
+    /**
+     * @param board The board
+     * @return Returns the key of the filled cells of the board
+     */
+    public static long hash(Board board) {
+        return hash(board.getLow(), board.getHigh());
+    }
+
+    /**
+     * @param index  Tetrominoe generation index
+     * @param anchor The cell under the first tile
+     * @return Returns the key of the cells covered by the tetrominoe placed at the anchor
+     */
+    public static long placementKey(int index, int anchor) {
+        return placementKeys[index * PlacementTable.ANCHORS_NUM + anchor];
+    }
+}
@@ -0,0 +1,74 @@
+package ru.hse.edu.ershestakova.jigsawgame.leaderboard;
+
+import java.util.Comparator;
+
+/**
+ * The result of a finished game. Results are ranked by the number of the turns, the most first,
+ * then by the playing time, the shortest first, and then by the date, the earliest first.
+ */
+public final class GameResult {
+    /**
+     * The order of the results from the best one
+     */
+    public static final Comparator<GameResult> RANKING = Comparator
+            .comparingInt((GameResult result) -> -result.turnsCount)
+            .thenComparingLong(result -> result.elapsedMillis)
+            .thenComparingLong(result -> result.epochMillis)
+            .thenComparingLong(result -> result.seed);
+
+    private final int turnsCount;
+    private final long elapsedMillis;
+    private final long seed;
+    private final long epochMillis;
+
+    /**
+     * Creates a result
+     *
+     * @param turnsCount    The number of the tetrominoes placed
+     * @param elapsedMillis The playing time in milliseconds
+     * @param seed          The seed of the tetrominoes sequence
+     * @param epochMillis   The time the game was finished at in milliseconds since the epoch
+     */
+    public GameResult(int turnsCount, long elapsedMillis, long seed, long epochMillis) {
+        this.turnsCount = turnsCount;
+        this.elapsedMillis = elapsedMillis;
+        this.seed = seed;
+        this.epochMillis = epochMillis;
+    }
+
+    public int getTurnsCount() {
+        return turnsCount;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getEpochMillis() {
+        return epochMillis;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof GameResult)) {
+            return false;
+        }
+        GameResult result = (GameResult) other;
+        return turnsCount == result.turnsCount && elapsedMillis == result.elapsedMillis && seed == result.seed
+                && epochMillis == result.epochMillis;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(((31L * turnsCount + elapsedMillis) * 31 + seed) * 31 + epochMillis);
+    }
+
+    @Override
+    public String toString() {
+        return turnsCount + " turns in " + elapsedMillis + " ms, seed " + seed + ", at " + epochMillis;
+    }
+}
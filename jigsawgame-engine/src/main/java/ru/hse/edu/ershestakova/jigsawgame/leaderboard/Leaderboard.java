@@ -0,0 +1,486 @@
+package ru.hse.edu.ershestakova.jigsawgame.leaderboard;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The leaderboard of the finished games kept in a directory. Every result is appended to a log of fixed-size
+ * records and indexed in memory: the best results overall and of every day are kept whole, while the best results
+ * of every seed, which are about as many as the games, are kept in the index snapshot sorted by the seed
+ * and searched in place in its mapped file, only the seeds of the results appended since the snapshot
+ * being held in memory. The snapshot is written again every so many results, so a start reads the groups
+ * of the snapshot and the fewer results of the log after it rather than the whole log, and the snapshot,
+ * which is about as large as the log, is not rewritten for every few results.
+ * A new snapshot replaces the old one by a rename. A snapshot covering more than the log holds is ignored
+ * and the index is built from the whole log, and a record cut off by a crash is dropped from the log.
+ * An instance is not thread-safe.
+ */
+public class Leaderboard implements Closeable {
+    static final int LOG_MAGIC = 0x4A474C47;
+    static final int INDEX_MAGIC = 0x4A474C49;
+    static final int VERSION = 1;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    static final int LOG_HEADER_SIZE = 2 * Integer.BYTES;
+    // A record of the number of the turns, the playing time, the seed and the date
+    static final int RECORD_SIZE = Integer.BYTES + 3 * Long.BYTES;
+    private static final int SEED_OFFSET = Integer.BYTES + Long.BYTES;
+    // The index header of the magic, the version, the capacity of the groups, the length of the log covered
+    // and the numbers of the records of the overall, the daily and the seed groups, which follow in this order
+    static final int INDEX_HEADER_SIZE = 3 * Integer.BYTES + Long.BYTES + 3 * Integer.BYTES;
+    static final String LOG_NAME = "results.log";
+    static final String INDEX_NAME = "results.index";
+    // The number of the best results kept in a group and the number of the results appended between the snapshots
+    public static final int DEFAULT_CAPACITY = 10;
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 10_000;
+    // The records read or written at once
+    private static final int BATCH = 1 << 12;
+
+    private final Path dir;
+    private final int capacity;
+    private final int snapshotInterval;
+    private final ZoneId zone;
+    private final FileChannel log;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE).order(ORDER);
+    private long logLength;
+    private final TopResults overall;
+    private final Map<Long, TopResults> days = new HashMap<>();
+    // The seed groups of the snapshot sorted by the seed and the rank, and the ones of the results after it
+    private ByteBuffer seedIndex = ByteBuffer.allocate(0);
+    private int seedIndexCount;
+    private final Map<Long, TopResults> recentSeeds = new HashMap<>();
+    private int recentCount;
+
+    private Leaderboard(Path dir, FileChannel log, int capacity, int snapshotInterval, ZoneId zone)
+            throws IOException {
+        if (capacity < 1 || snapshotInterval < 1) {
+            throw new IllegalArgumentException("The capacity and the snapshot interval must be positive");
+        }
+        this.dir = dir;
+        this.log = log;
+        this.capacity = capacity;
+        this.snapshotInterval = snapshotInterval;
+        this.zone = zone;
+        this.overall = new TopResults(capacity);
+        long size = log.size();
+        ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_SIZE).order(ORDER);
+        if (size == 0) {
+            writeFully(log, header.putInt(LOG_MAGIC).putInt(VERSION).flip(), 0);
+            size = LOG_HEADER_SIZE;
+        } else if (size < LOG_HEADER_SIZE || readFully(log, header, 0).getInt(0) != LOG_MAGIC
+                || header.getInt(Integer.BYTES) != VERSION) {
+            throw new IllegalArgumentException("Not a leaderboard log");
+        }
+        logLength = LOG_HEADER_SIZE + (size - LOG_HEADER_SIZE) / RECORD_SIZE * RECORD_SIZE;
+        if (logLength < size) {
+            log.truncate(logLength);
+        }
+        replay(mapIndex(true));
+        if (recentCount >= snapshotInterval) {
+            snapshot();
+        }
+    }
+
+    /**
+     * Opens the leaderboard of the directory with the default capacity and snapshot interval
+     * and the days of the system time zone, creating it empty if it does not exist
+     *
+     * @param dir The directory
+     * @return The leaderboard
+     * @throws IOException If the files can not be read or written
+     */
+    public static Leaderboard open(Path dir) throws IOException {
+        return open(dir, DEFAULT_CAPACITY, DEFAULT_SNAPSHOT_INTERVAL, ZoneId.systemDefault());
+    }
+
+    /**
+     * Opens the leaderboard of the directory, creating it empty if it does not exist
+     *
+     * @param dir              The directory
+     * @param capacity         The number of the best results kept in a group
+     * @param snapshotInterval The number of the results appended between the snapshots
+     * @param zone             The time zone of the days
+     * @return The leaderboard
+     * @throws IOException If the files can not be read or written
+     */
+    public static Leaderboard open(Path dir, int capacity, int snapshotInterval, ZoneId zone) throws IOException {
+        Files.createDirectories(dir);
+        FileChannel log = FileChannel.open(dir.resolve(LOG_NAME), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            return new Leaderboard(dir, log, capacity, snapshotInterval, zone);
+        } catch (IOException | RuntimeException e) {
+            log.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Maps the index snapshot, its seed groups being searched in place
+     *
+     * @param isLoaded If the overall and the daily groups are loaded too
+     * @return The length of the log covered by the snapshot, the length of the header if there is no valid one
+     * @throws IOException If the snapshot can not be read
+     */
+    private long mapIndex(boolean isLoaded) throws IOException {
+        Path path = dir.resolve(INDEX_NAME);
+        if (!Files.exists(path)) {
+            return LOG_HEADER_SIZE;
+        }
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ORDER);
+        if (buffer.capacity() < INDEX_HEADER_SIZE || buffer.getInt(0) != INDEX_MAGIC
+                || buffer.getInt(Integer.BYTES) != VERSION || buffer.getInt(2 * Integer.BYTES) != capacity) {
+            return LOG_HEADER_SIZE;
+        }
+        long covered = buffer.getLong(3 * Integer.BYTES);
+        int overallCount = buffer.getInt(INDEX_HEADER_SIZE - 3 * Integer.BYTES);
+        int daysCount = buffer.getInt(INDEX_HEADER_SIZE - 2 * Integer.BYTES);
+        int seedsCount = buffer.getInt(INDEX_HEADER_SIZE - Integer.BYTES);
+        if (covered > logLength || buffer.capacity() != INDEX_HEADER_SIZE
+                + ((long) overallCount + daysCount + seedsCount) * RECORD_SIZE) {
+            return LOG_HEADER_SIZE;
+        }
+        for (int i = 0; isLoaded && i < overallCount + daysCount; ++i) {
+            GameResult result = read(buffer, INDEX_HEADER_SIZE + i * RECORD_SIZE);
+            if (i < overallCount) {
+                overall.add(result);
+            } else {
+                days.computeIfAbsent(getDay(result), day -> new TopResults(capacity)).add(result);
+            }
+        }
+        int offset = INDEX_HEADER_SIZE + (overallCount + daysCount) * RECORD_SIZE;
+        seedIndex = buffer.slice(offset, seedsCount * RECORD_SIZE).order(ORDER);
+        seedIndexCount = seedsCount;
+        return covered;
+    }
+
+    /**
+     * Indexes the results of the log from the position on
+     *
+     * @param position The position of the first record
+     * @throws IOException If the log can not be read
+     */
+    private void replay(long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BATCH * RECORD_SIZE).order(ORDER);
+        while (position < logLength) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), logLength - position));
+            readFully(log, buffer, position).flip();
+            for (int offset = 0; offset < buffer.limit(); offset += RECORD_SIZE) {
+                index(read(buffer, offset));
+            }
+            position += buffer.limit();
+        }
+    }
+
+    /**
+     * Appends the result to the log and to the index, writing the snapshot if enough results have been appended
+     *
+     * @param result The result
+     * @throws IOException If the log or the snapshot can not be written
+     */
+    public void append(GameResult result) throws IOException {
+        record.clear();
+        put(record, result);
+        writeFully(log, record.flip(), logLength);
+        logLength += RECORD_SIZE;
+        index(result);
+        if (recentCount >= snapshotInterval) {
+            snapshot();
+        }
+    }
+
+    /**
+     * Adds the result to its groups
+     *
+     * @param result The result
+     */
+    private void index(GameResult result) {
+        overall.add(result);
+        days.computeIfAbsent(getDay(result), day -> new TopResults(capacity)).add(result);
+        recentSeeds.computeIfAbsent(result.getSeed(), seed -> new TopResults(capacity)).add(result);
+        ++recentCount;
+    }
+
+    /**
+     * @param count The number of the results, at most the capacity
+     * @return Returns the best results of all, from the best one
+     */
+    public List<GameResult> getBest(int count) {
+        return overall.best(count);
+    }
+
+    /**
+     * @param date  The day
+     * @param count The number of the results, at most the capacity
+     * @return Returns the best results of the games finished in the day, from the best one
+     */
+    public List<GameResult> getBestOfDay(LocalDate date, int count) {
+        TopResults group = days.get(date.toEpochDay());
+        return group == null ? Collections.emptyList() : group.best(count);
+    }
+
+    /**
+     * @param count The number of the results, at most the capacity
+     * @return Returns the best results of the games finished today, from the best one
+     */
+    public List<GameResult> getBestToday(int count) {
+        return getBestOfDay(LocalDate.now(zone), count);
+    }
+
+    /**
+     * Gets the best results of the games of a seed, the ones of the snapshot being found by the binary search
+     *
+     * @param seed  The seed of the tetrominoes sequence
+     * @param count The number of the results, at most the capacity
+     * @return The best results of the seed, from the best one
+     */
+    public List<GameResult> getBestOfSeed(long seed, int count) {
+        TopResults group = new TopResults(capacity);
+        for (int i = findSeed(seed); i < seedIndexCount && getSeed(i) == seed; ++i) {
+            group.add(read(seedIndex, i * RECORD_SIZE));
+        }
+        TopResults recent = recentSeeds.get(seed);
+        for (int rank = 0; recent != null && rank < recent.size(); ++rank) {
+            group.add(recent.get(rank));
+        }
+        return group.best(count);
+    }
+
+    /**
+     * @param seed The seed
+     * @return Returns the first record of the seed index whose seed is not less than the seed
+     */
+    private int findSeed(long seed) {
+        int first = 0;
+        int last = seedIndexCount;
+        while (first < last) {
+            int middle = (first + last) >>> 1;
+            if (getSeed(middle) < seed) {
+                first = middle + 1;
+            } else {
+                last = middle;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * @param i The number of the record of the seed index
+     * @return Returns the seed of the record
+     */
+    private long getSeed(int i) {
+        return seedIndex.getLong(i * RECORD_SIZE + SEED_OFFSET);
+    }
+
+    /**
+     * @return Returns the number of the results in the log
+     */
+    public long getCount() {
+        return (logLength - LOG_HEADER_SIZE) / RECORD_SIZE;
+    }
+
+    /**
+     * Writes the index snapshot: the overall and the daily groups and the seed groups of the old snapshot merged
+     * with the ones of the results appended after it, and maps it in place of the old one
+     *
+     * @throws IOException If the snapshot can not be written
+     */
+    public void snapshot() throws IOException {
+        log.force(false);
+        int daysCount = 0;
+        for (TopResults group : days.values()) {
+            daysCount += group.size();
+        }
+        long[] seeds = new long[recentSeeds.size()];
+        int seedsNum = 0;
+        for (long seed : recentSeeds.keySet()) {
+            seeds[seedsNum++] = seed;
+        }
+        Arrays.sort(seeds);
+        Path temporary = dir.resolve(INDEX_NAME + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BATCH * RECORD_SIZE).order(ORDER);
+            buffer.putInt(INDEX_MAGIC).putInt(VERSION).putInt(capacity).putLong(logLength)
+                    .putInt(overall.size()).putInt(daysCount).putInt(0);
+            put(channel, buffer, overall);
+            for (TopResults group : days.values()) {
+                put(channel, buffer, group);
+            }
+            int seedsCount = 0;
+            int i = 0;
+            for (long seed : seeds) {
+                // The older seeds before it are copied as they are
+                for (; i < seedIndexCount && getSeed(i) < seed; ++i, ++seedsCount) {
+                    copy(channel, buffer, i);
+                }
+                TopResults group = recentSeeds.get(seed);
+                if (i < seedIndexCount && getSeed(i) == seed) {
+                    TopResults merged = new TopResults(capacity);
+                    for (; i < seedIndexCount && getSeed(i) == seed; ++i) {
+                        merged.add(read(seedIndex, i * RECORD_SIZE));
+                    }
+                    for (int rank = 0; rank < group.size(); ++rank) {
+                        merged.add(group.get(rank));
+                    }
+                    group = merged;
+                }
+                put(channel, buffer, group);
+                seedsCount += group.size();
+            }
+            for (; i < seedIndexCount; ++i, ++seedsCount) {
+                copy(channel, buffer, i);
+            }
+            flush(channel, buffer);
+            buffer.putInt(seedsCount);
+            writeFully(channel, buffer.flip(), INDEX_HEADER_SIZE - Integer.BYTES);
+            channel.force(false);
+        }
+        Files.move(temporary, dir.resolve(INDEX_NAME), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        recentSeeds.clear();
+        recentCount = 0;
+        mapIndex(false);
+    }
+
+    /**
+     * Copies a record of the seed index as it is, writing the buffer out if it is full
+     *
+     * @param channel The file channel
+     * @param buffer  The buffer
+     * @param i       The number of the record of the seed index
+     * @throws IOException If the file can not be written
+     */
+    private void copy(FileChannel channel, ByteBuffer buffer, int i) throws IOException {
+        if (buffer.remaining() < RECORD_SIZE) {
+            flush(channel, buffer);
+        }
+        int offset = i * RECORD_SIZE;
+        buffer.putInt(seedIndex.getInt(offset)).putLong(seedIndex.getLong(offset + Integer.BYTES))
+                .putLong(seedIndex.getLong(offset + SEED_OFFSET))
+                .putLong(seedIndex.getLong(offset + SEED_OFFSET + Long.BYTES));
+    }
+
+    /**
+     * Closes the log, the results appended since the last snapshot being indexed from it on the next start
+     */
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+
+    /**
+     * @param result The result
+     * @return Returns the day the game was finished in as the number of the days since the epoch
+     */
+    private long getDay(GameResult result) {
+        return Instant.ofEpochMilli(result.getEpochMillis()).atZone(zone).toLocalDate().toEpochDay();
+    }
+
+    /**
+     * Reads a record
+     *
+     * @param buffer The buffer
+     * @param offset The offset of the record in the buffer
+     * @return The result
+     */
+    private static GameResult read(ByteBuffer buffer, int offset) {
+        return new GameResult(buffer.getInt(offset), buffer.getLong(offset + Integer.BYTES),
+                buffer.getLong(offset + SEED_OFFSET), buffer.getLong(offset + SEED_OFFSET + Long.BYTES));
+    }
+
+    /**
+     * Puts a record at the position of the buffer
+     *
+     * @param buffer The buffer
+     * @param result The result
+     */
+    private static void put(ByteBuffer buffer, GameResult result) {
+        buffer.putInt(result.getTurnsCount()).putLong(result.getElapsedMillis()).putLong(result.getSeed())
+                .putLong(result.getEpochMillis());
+    }
+
+    /**
+     * Puts the records of the group, writing the buffer out whenever it is full
+     *
+     * @param channel The file channel
+     * @param buffer  The buffer
+     * @param group   The group
+     * @throws IOException If the file can not be written
+     */
+    private static void put(FileChannel channel, ByteBuffer buffer, TopResults group) throws IOException {
+        for (int rank = 0; rank < group.size(); ++rank) {
+            if (buffer.remaining() < RECORD_SIZE) {
+                flush(channel, buffer);
+            }
+            put(buffer, group.get(rank));
+        }
+    }
+
+    /**
+     * Writes the buffer out at the position of the channel and clears it
+     *
+     * @param channel The file channel
+     * @param buffer  The buffer
+     * @throws IOException If the file can not be written
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Writes the buffer out at the position of the file
+     *
+     * @param channel  The file channel
+     * @param buffer   The buffer
+     * @param position The position in the file
+     * @throws IOException If the file can not be written
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    /**
+     * Fills the buffer from the position of the file
+     *
+     * @param channel  The file channel
+     * @param buffer   The buffer
+     * @param position The position in the file
+     * @return The buffer
+     * @throws IOException If the file can not be read or ends before the buffer is full
+     */
+    private static ByteBuffer readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,70 @@
+package ru.hse.edu.ershestakova.jigsawgame.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The best results of a group, kept sorted by the rank in an array which grows up to the capacity,
+ * as most groups, such as the games of a seed, have a single result
+ */
+final class TopResults {
+    private final int capacity;
+    private GameResult[] results = new GameResult[1];
+    private int size;
+
+    /**
+     * Creates an empty group
+     *
+     * @param capacity The number of the best results kept
+     */
+    TopResults(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds the result unless the group is full of better ones
+     *
+     * @param result The result
+     */
+    void add(GameResult result) {
+        if (size == capacity && GameResult.RANKING.compare(result, results[size - 1]) >= 0) {
+            return;
+        }
+        int position = Arrays.binarySearch(results, 0, size, result, GameResult.RANKING);
+        if (position < 0) {
+            position = -position - 1;
+        }
+        if (size == results.length && size < capacity) {
+            results = Arrays.copyOf(results, Math.min(capacity, 2 * size));
+        }
+        int moved = Math.min(size, capacity - 1) - position;
+        System.arraycopy(results, position, results, position + 1, moved);
+        results[position] = result;
+        size = Math.min(size + 1, capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param rank The rank from 0
+     * @return Returns the result of the rank
+     */
+    GameResult get(int rank) {
+        return results[rank];
+    }
+
+    /**
+     * @param count The number of the results
+     * @return Returns the best results from the best one
+     */
+    List<GameResult> best(int count) {
+        if (size == 0) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(Arrays.asList(results).subList(0, Math.min(count, size)));
+    }
+}
@@ -0,0 +1,165 @@
+package ru.hse.edu.ershestakova.jigsawgame.model;
+
+/**
+ * An instance of the Board class represents the occupancy of the 9x9 playing board.
+ * Cells are numbered row by row, the cells 0..63 are kept as bits of the low word
+ * and the cells 64..80 as bits of the high word, so every check is a couple of mask operations.
+ */
+public class Board {
+    // Variables defining the board dimensions
+    public static final int SIZE = 9;
+    public static final int CELLS_NUM = SIZE * SIZE;
+    private static final int WORD_SIZE = Long.SIZE;
+
+    // Filled cells bits
+    private long low;
+    private long high;
+    // The anchors at which the tetrominoes still fit
+    private final LegalMoves legalMoves;
+    // The connected regions of empty cells
+    private final EmptyRegions emptyRegions;
+
+    /**
+     * Creates an empty board
+     */
+    public Board() {
+        legalMoves = new LegalMoves();
+        emptyRegions = new EmptyRegions();
+    }
+
+    /**
+     * Copies an existing board
+     *
+     * @param other The board being copied
+     */
+    public Board(Board other) {
+        this.low = other.low;
+        this.high = other.high;
+        this.legalMoves = new LegalMoves(other.legalMoves);
+        this.emptyRegions = new EmptyRegions(other.emptyRegions);
+    }
+
+    /**
+     * Gets the index of the cell by its row and column
+     *
+     * @param row Row of the cell
+     * @param col Column of the cell
+     * @return The index of the cell in the row by row numbering
+     */
+    public static int cellIndex(int row, int col) {
+        return row * SIZE + col;
+    }
+
+    /**
+     * @param cell The index of the cell
+     * @return Returns the low word mask with only the given cell set
+     */
+    public static long lowBit(int cell) {
+        return cell < WORD_SIZE ? 1L << cell : 0L;
+    }
+
+    /**
+     * @param cell The index of the cell
+     * @return Returns the high word mask with only the given cell set
+     */
+    public static long highBit(int cell) {
+        return cell < WORD_SIZE ? 0L : 1L << (cell - WORD_SIZE);
+    }
+
+    /**
+     * @param row Row of the cell
+     * @param col Column of the cell
+     * @return Returns if the cell already has a tetrominoe tile in it.
+     */
+    public boolean isFilled(int row, int col) {
+        return isFilled(cellIndex(row, col));
+    }
+
+    /**
+     * @param cell The index of the cell
+     * @return Returns if the cell already has a tetrominoe tile in it.
+     */
+    public boolean isFilled(int cell) {
+        return ((low & lowBit(cell)) | (high & highBit(cell))) != 0;
+    }
+
+    /**
+     * Checks if all the cells of the mask are empty
+     *
+     * @param maskLow  Low word of the cells mask
+     * @param maskHigh High word of the cells mask
+     * @return If the mask can be placed on the board
+     */
+    public boolean canPlace(long maskLow, long maskHigh) {
+        return (low & maskLow) == 0 && (high & maskHigh) == 0;
+    }
+
+    /**
+     * Fills all the cells of the mask
+     *
+     * @param maskLow  Low word of the cells mask
+     * @param maskHigh High word of the cells mask
+     */
+    public void place(long maskLow, long maskHigh) {
+        long filledLow = maskLow & ~low;
+        long filledHigh = maskHigh & ~high;
+        low |= maskLow;
+        high |= maskHigh;
+        legalMoves.fill(filledLow, filledHigh);
+        emptyRegions.fill(filledLow, filledHigh, legalMoves);
+    }
+
+    /**
+     * Clears all the cells
+     */
+    public void reset() {
+        low = 0;
+        high = 0;
+        legalMoves.reset();
+        emptyRegions.reset();
+    }
+
+    /**
+     * @param row Row of the cell
+     * @param col Column of the cell
+     * @return Returns if the cell lies on the board
+     */
+    public static boolean contains(int row, int col) {
+        return row >= 0 && row < SIZE && col >= 0 && col < SIZE;
+    }
+
+    /**
+     * @return Returns the number of filled cells
+     */
+    public int getFilledCount() {
+        return Long.bitCount(low) + Long.bitCount(high);
+    }
+
+    /**
+     * @return Returns the anchors at which the tetrominoes can be placed on the board
+     */
+    public LegalMoves getLegalMoves() {
+        return legalMoves;
+    }
+
+    /**
+     * @return Returns the connected regions of empty cells of the board
+     */
+    public EmptyRegions getEmptyRegions() {
+        return emptyRegions;
+    }
+
+    /**
+     * @return Returns the low word of the filled cells mask
+     */
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * @return Returns the high word of the filled cells mask
+     */
+    public long getHigh() {
+        return high;
+    }
+}
@@ -0,0 +1,158 @@
+package ru.hse.edu.ershestakova.jigsawgame.model;
+
+/**
+ * A batch of boards kept as the structure of arrays of their filled cells words, for the bulk analytics
+ * checking the same tetrominoe against many sessions or simulated games. The legal anchors of a tetrominoe
+ * are found on all the boards at once: every anchor mask is compared with several boards by a single vector
+ * instruction when the incubating Vector API is available (--add-modules jdk.incubator.vector),
+ * and board by board otherwise. A single board keeps its legal anchors incrementally in {@link LegalMoves}.
+ */
+public class BoardBatch {
+    // If the boards are compared several at a time
+    private static final boolean VECTORIZED =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent() && VectorLegality.isSupported();
+
+    // Filled cells words by the slot of the board
+    private final long[] lows;
+    private final long[] highs;
+    private int size;
+
+    /**
+     * Creates an empty batch
+     *
+     * @param capacity The largest number of the boards
+     */
+    public BoardBatch(int capacity) {
+        lows = new long[capacity];
+        highs = new long[capacity];
+    }
+
+    /**
+     * Adds the board to the batch
+     *
+     * @param board The board
+     * @return The slot of the board
+     */
+    public int add(Board board) {
+        return add(board.getLow(), board.getHigh());
+    }
+
+    /**
+     * Adds the board given by its filled cells to the batch
+     *
+     * @param low  Low word of the filled cells mask
+     * @param high High word of the filled cells mask
+     * @return The slot of the board
+     */
+    public int add(long low, long high) {
+        if (size == lows.length) {
+            throw new IllegalStateException("The batch is full");
+        }
+        set(size, low, high);
+        return size++;
+    }
+
+    /**
+     * Replaces the board of a slot
+     *
+     * @param slot The slot of the board
+     * @param low  Low word of the filled cells mask
+     * @param high High word of the filled cells mask
+     */
+    public void set(int slot, long low, long high) {
+        lows[slot] = low;
+        highs[slot] = high;
+    }
+
+    /**
+     * Removes all the boards
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return lows.length;
+    }
+
+    /**
+     * @param slot The slot of the board
+     * @return Returns the low word of the filled cells mask of the board
+     */
+    public long getLow(int slot) {
+        return lows[slot];
+    }
+
+    /**
+     * @param slot The slot of the board
+     * @return Returns the high word of the filled cells mask of the board
+     */
+    public long getHigh(int slot) {
+        return highs[slot];
+    }
+
+    /**
+     * Finds the anchors at which the tetrominoe can be placed on every board of the batch
+     *
+     * @param index        Tetrominoe generation index
+     * @param anchorsLows  Receives the low words of the legal anchors masks by the slot, at least getSize() long
+     * @param anchorsHighs Receives the high words of the legal anchors masks by the slot, at least getSize() long
+     */
+    public void legalAnchors(int index, long[] anchorsLows, long[] anchorsHighs) {
+        if (anchorsLows.length < size || anchorsHighs.length < size) {
+            throw new IllegalArgumentException("The anchors arrays are shorter than the batch");
+        }
+        int done = VECTORIZED ? VectorLegality.legalAnchors(lows, highs, size, index, anchorsLows, anchorsHighs) : 0;
+        legalAnchors(lows, highs, done, size, index, anchorsLows, anchorsHighs);
+    }
+
+    /**
+     * Finds the legal anchors of the tetrominoe board by board
+     *
+     * @param lows         Low words of the filled cells masks
+     * @param highs        High words of the filled cells masks
+     * @param from         The first board
+     * @param to           The board after the last one
+     * @param index        Tetrominoe generation index
+     * @param anchorsLows  Receives the low words of the legal anchors masks
+     * @param anchorsHighs Receives the high words of the legal anchors masks
+     */
+    static void legalAnchors(long[] lows, long[] highs, int from, int to, int index,
+                             long[] anchorsLows, long[] anchorsHighs) {
+        long validLow = PlacementTable.getValidLow(index);
+        long validHigh = PlacementTable.getValidHigh(index);
+        for (int slot = from; slot < to; ++slot) {
+            long filledLow = lows[slot];
+            long filledHigh = highs[slot];
+            long resultLow = 0;
+            long resultHigh = 0;
+            for (long anchors = validLow; anchors != 0; anchors &= anchors - 1) {
+                int anchor = Long.numberOfTrailingZeros(anchors);
+                if (((PlacementTable.getLow(index, anchor) & filledLow)
+                        | (PlacementTable.getHigh(index, anchor) & filledHigh)) == 0) {
+                    resultLow |= anchors & -anchors;
+                }
+            }
+            for (long anchors = validHigh; anchors != 0; anchors &= anchors - 1) {
+                int anchor = Long.SIZE + Long.numberOfTrailingZeros(anchors);
+                if (((PlacementTable.getLow(index, anchor) & filledLow)
+                        | (PlacementTable.getHigh(index, anchor) & filledHigh)) == 0) {
+                    resultHigh |= anchors & -anchors;
+                }
+            }
+            anchorsLows[slot] = resultLow;
+            anchorsHighs[slot] = resultHigh;
+        }
+    }
+
+    /**
+     * @return Returns if the boards are compared several at a time
+     */
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+}
@@ -0,0 +1,71 @@
+package ru.hse.edu.ershestakova.jigsawgame.model;
+
+import java.util.Random;
+
+/**
+ * An instance of the Dealer class deals random tetrominoes to a game.
+ * Dealers with the same seed deal the same sequence of tetrominoes.
+ */
+public class Dealer {
+    // The source of seeds for the dealers created without one
+    private static final Random seeds = new Random();
+
+    private final Random random = new Random();
+    private long seed;
+    private int dealtCount;
+
+    /**
+     * Creates a dealer with a random seed
+     */
+    public Dealer() {
+        this(randomSeed());
+    }
+
+    /**
+     * Creates a dealer
+     *
+     * @param seed The seed of the tetrominoes sequence
+     */
+    public Dealer(long seed) {
+        reset(seed);
+    }
+
+    /**
+     * @return Returns a new random seed
+     */
+    public static long randomSeed() {
+        synchronized (seeds) {
+            return seeds.nextLong();
+        }
+    }
+
+    /**
+     * Starts the tetrominoes sequence over
+     *
+     * @param seed The seed of the new tetrominoes sequence
+     */
+    public void reset(long seed) {
+        this.seed = seed;
+        random.setSeed(seed);
+        dealtCount = 0;
+    }
+
+    /**
+     * @return Returns the next tetrominoe of the sequence
+     */
+    public Tetrominoe next() {
+        ++dealtCount;
+        return Tetrominoe.fromIndex(random.nextInt(Tetrominoe.TETROMINOE_NUM));
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return Returns the number of tetrominoes dealt since the sequence start
+     */
+    public int getDealtCount() {
+        return dealtCount;
+    }
+}
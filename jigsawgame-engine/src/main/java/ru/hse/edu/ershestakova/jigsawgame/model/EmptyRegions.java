@@ -0,0 +1,291 @@
+package ru.hse.edu.ershestakova.jigsawgame.model;
+
+import java.util.Arrays;
+
+/**
+ * An instance of the EmptyRegions class keeps the labeling of the connected regions of empty cells of a board.
+ * The board updates it on every placement: only the regions containing the filled cells are labeled again,
+ * so the number and the sizes of the regions are known without flood filling the board on every query.
+ * The square tetrominoe fits into every region, so the regions are judged by every tetrominoe type separately.
+ */
+public class EmptyRegions {
+    private static final int CELLS_NUM = Board.CELLS_NUM;
+    private static final int SIZE = Board.SIZE;
+    private static final int TYPES_NUM = Tetrominoe.TetrominoeType.values().length;
+    private static final int NO_REGION = -1;
+    // Types of the tetrominoes by generation index
+    private static final int[] types = new int[PlacementTable.TETROMINOE_NUM];
+
+    static {
+        for (int index = 0; index < PlacementTable.TETROMINOE_NUM; ++index) {
+            types[index] = Tetrominoe.fromIndex(index).getType().ordinal();
+        }
+    }
+
+    // Region labels of the cells, NO_REGION for the filled ones
+    private final byte[] labels = new byte[CELLS_NUM];
+    // Cells masks words, sizes and masks of the fitting tetrominoe types by region label
+    private final long[] lows = new long[CELLS_NUM];
+    private final long[] highs = new long[CELLS_NUM];
+    private final int[] sizes = new int[CELLS_NUM];
+    private final int[] fittingTypes = new int[CELLS_NUM];
+    // Free labels stack
+    private final byte[] freeLabels = new byte[CELLS_NUM];
+    private int freeLabelsCount;
+    // Aggregates of the regions
+    private int count;
+    private final int[] countsBySize = new int[CELLS_NUM + 1];
+    private final int[] unfitCountsByType = new int[TYPES_NUM];
+    // Auxiliary queue of the labeling
+    private final int[] queue = new int[CELLS_NUM];
+
+    /**
+     * Creates the regions of an empty board
+     */
+    EmptyRegions() {
+        reset();
+    }
+
+    /**
+     * Copies existing regions
+     *
+     * @param other The regions being copied
+     */
+    EmptyRegions(EmptyRegions other) {
+        System.arraycopy(other.labels, 0, labels, 0, CELLS_NUM);
+        System.arraycopy(other.lows, 0, lows, 0, CELLS_NUM);
+        System.arraycopy(other.highs, 0, highs, 0, CELLS_NUM);
+        System.arraycopy(other.sizes, 0, sizes, 0, CELLS_NUM);
+        System.arraycopy(other.fittingTypes, 0, fittingTypes, 0, CELLS_NUM);
+        System.arraycopy(other.freeLabels, 0, freeLabels, 0, CELLS_NUM);
+        System.arraycopy(other.countsBySize, 0, countsBySize, 0, CELLS_NUM + 1);
+        System.arraycopy(other.unfitCountsByType, 0, unfitCountsByType, 0, TYPES_NUM);
+        freeLabelsCount = other.freeLabelsCount;
+        count = other.count;
+    }
+
+    /**
+     * Makes the whole board a single region
+     */
+    void reset() {
+        freeLabelsCount = 0;
+        for (int label = CELLS_NUM - 1; label >= 0; --label) {
+            freeLabels[freeLabelsCount++] = (byte) label;
+        }
+        count = 0;
+        Arrays.fill(countsBySize, 0);
+        Arrays.fill(unfitCountsByType, 0);
+        int label = freeLabels[--freeLabelsCount];
+        Arrays.fill(labels, (byte) label);
+        lows[label] = -1L;
+        highs[label] = (1L << (CELLS_NUM - Long.SIZE)) - 1;
+        add(label, (1 << TYPES_NUM) - 1);
+    }
+
+    /**
+     * Splits the regions containing the newly filled cells
+     *
+     * @param maskLow    Low word of the newly filled cells mask
+     * @param maskHigh   High word of the newly filled cells mask
+     * @param legalMoves The legal moves of the board after the filling
+     */
+    void fill(long maskLow, long maskHigh, LegalMoves legalMoves) {
+        for (long cells = maskLow; cells != 0; cells &= cells - 1) {
+            fill(Long.numberOfTrailingZeros(cells), maskLow, maskHigh, legalMoves);
+        }
+        for (long cells = maskHigh; cells != 0; cells &= cells - 1) {
+            fill(Long.SIZE + Long.numberOfTrailingZeros(cells), maskLow, maskHigh, legalMoves);
+        }
+    }
+
+    /**
+     * Labels again the region of the filled cell unless it has already been done
+     *
+     * @param cell       The index of the filled cell
+     * @param maskLow    Low word of the newly filled cells mask
+     * @param maskHigh   High word of the newly filled cells mask
+     * @param legalMoves The legal moves of the board after the filling
+     */
+    private void fill(int cell, long maskLow, long maskHigh, LegalMoves legalMoves) {
+        int label = labels[cell];
+        if (label == NO_REGION) {
+            return;
+        }
+        remove(label);
+        long restLow = lows[label] & ~maskLow;
+        long restHigh = highs[label] & ~maskHigh;
+        for (long cells = lows[label] & maskLow; cells != 0; cells &= cells - 1) {
+            labels[Long.numberOfTrailingZeros(cells)] = NO_REGION;
+        }
+        for (long cells = highs[label] & maskHigh; cells != 0; cells &= cells - 1) {
+            labels[Long.SIZE + Long.numberOfTrailingZeros(cells)] = NO_REGION;
+        }
+        // Every cell left in the old region starts a new region unless it has been reached already
+        while ((restLow | restHigh) != 0) {
+            int start = restLow != 0 ? Long.numberOfTrailingZeros(restLow)
+                    : Long.SIZE + Long.numberOfTrailingZeros(restHigh);
+            int newLabel = label(start, legalMoves);
+            restLow &= ~lows[newLabel];
+            restHigh &= ~highs[newLabel];
+        }
+        // The old label is freed only now, so that the cells still carrying it are told apart from the new ones
+        freeLabels[freeLabelsCount++] = (byte) label;
+    }
+
+    /**
+     * Labels the region of empty cells reachable from the start cell with a free label
+     *
+     * @param start      The index of the empty cell
+     * @param legalMoves The legal moves of the board
+     * @return The new label
+     */
+    private int label(int start, LegalMoves legalMoves) {
+        int label = freeLabels[--freeLabelsCount];
+        long low = 0;
+        long high = 0;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        labels[start] = (byte) label;
+        while (head < tail) {
+            int cell = queue[head++];
+            low |= Board.lowBit(cell);
+            high |= Board.highBit(cell);
+            int row = cell / SIZE;
+            int col = cell % SIZE;
+            if (row > 0) {
+                tail = visit(cell - SIZE, label, tail);
+            }
+            if (row < SIZE - 1) {
+                tail = visit(cell + SIZE, label, tail);
+            }
+            if (col > 0) {
+                tail = visit(cell - 1, label, tail);
+            }
+            if (col < SIZE - 1) {
+                tail = visit(cell + 1, label, tail);
+            }
+        }
+        lows[label] = low;
+        highs[label] = high;
+        // A legal anchor lies under a tile, and all the tiles of a legal placement lie in one region
+        int fitting = 0;
+        for (int index = 0; index < PlacementTable.TETROMINOE_NUM; ++index) {
+            if (((legalMoves.getLow(index) & low) | (legalMoves.getHigh(index) & high)) != 0) {
+                fitting |= 1 << types[index];
+            }
+        }
+        add(label, fitting);
+        return label;
+    }
+
+    /**
+     * Puts the neighbour cell into the labeling queue if it is empty and has not been labeled yet
+     *
+     * @param cell  The index of the neighbour cell
+     * @param label The label being given
+     * @param tail  The tail of the queue
+     * @return The new tail of the queue
+     */
+    private int visit(int cell, int label, int tail) {
+        int current = labels[cell];
+        if (current != NO_REGION && current != label) {
+            labels[cell] = (byte) label;
+            queue[tail++] = cell;
+        }
+        return tail;
+    }
+
+    /**
+     * Adds the labeled region to the aggregates
+     *
+     * @param label   The region label
+     * @param fitting The mask of the tetrominoe types fitting into the region
+     */
+    private void add(int label, int fitting) {
+        sizes[label] = Long.bitCount(lows[label]) + Long.bitCount(highs[label]);
+        fittingTypes[label] = fitting;
+        ++count;
+        ++countsBySize[sizes[label]];
+        for (int type = 0; type < TYPES_NUM; ++type) {
+            if ((fitting & (1 << type)) == 0) {
+                ++unfitCountsByType[type];
+            }
+        }
+    }
+
+    /**
+     * Removes the region from the aggregates
+     *
+     * @param label The region label
+     */
+    private void remove(int label) {
+        --count;
+        --countsBySize[sizes[label]];
+        for (int type = 0; type < TYPES_NUM; ++type) {
+            if ((fittingTypes[label] & (1 << type)) == 0) {
+                --unfitCountsByType[type];
+            }
+        }
+    }
+
+    /**
+     * @return Returns the number of connected regions of empty cells
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @param cell The index of the cell
+     * @return Returns the label of the region containing the cell, -1 if the cell is filled
+     */
+    public int getLabel(int cell) {
+        return labels[cell];
+    }
+
+    /**
+     * @param cell The index of the cell
+     * @return Returns the size of the region containing the cell, 0 if the cell is filled
+     */
+    public int getRegionSize(int cell) {
+        return labels[cell] == NO_REGION ? 0 : sizes[labels[cell]];
+    }
+
+    /**
+     * @param size The size of a region in cells
+     * @return Returns the number of regions of exactly this size
+     */
+    public int getCountBySize(int size) {
+        return countsBySize[size];
+    }
+
+    /**
+     * @param size The size of a region in cells
+     * @return Returns the number of regions smaller than the size
+     */
+    public int getCountSmallerThan(int size) {
+        int smaller = 0;
+        for (int i = 1; i < size && i <= CELLS_NUM; ++i) {
+            smaller += countsBySize[i];
+        }
+        return smaller;
+    }
+
+    /**
+     * @param type Tetrominoe type
+     * @return Returns the number of regions into which no generated tetrominoe of the type fits
+     */
+    public int getUnfitCount(Tetrominoe.TetrominoeType type) {
+        return unfitCountsByType[type.ordinal()];
+    }
+
+    /**
+     * @param cell The index of the cell
+     * @param type Tetrominoe type
+     * @return Returns if a generated tetrominoe of the type fits into the region containing the cell
+     */
+    public boolean isFitting(int cell, Tetrominoe.TetrominoeType type) {
+        return labels[cell] != NO_REGION && (fittingTypes[labels[cell]] & (1 << type.ordinal())) != 0;
+    }
+}
@@ -0,0 +1,192 @@
+package ru.hse.edu.ershestakova.jigsawgame.model;
+
+/**
+ * An instance of the Game class represents the state of a game and applies its rules:
+ * the current tetrominoe may be placed at an anchor only if it fits into the empty cells,
+ * every placement counts as a turn and brings the next tetrominoe,
+ * and the game is over when the current tetrominoe fits nowhere.
+ */
+public class Game {
+    private final Board board = new Board();
+    private final Dealer dealer;
+    private Tetrominoe current;
+    // The number of tetraminoes already put on the board
+    private int turnsCount;
+
+    /**
+     * Creates a game with a random seed
+     */
+    public Game() {
+        this(new Dealer());
+    }
+
+    /**
+     * Creates a game
+     *
+     * @param seed The seed of the tetrominoes sequence
+     */
+    public Game(long seed) {
+        this(new Dealer(seed));
+    }
+
+    /**
+     * Creates a game
+     *
+     * @param dealer The dealer of the tetrominoes
+     */
+    public Game(Dealer dealer) {
+        this.dealer = dealer;
+        current = dealer.next();
+    }
+
+    /**
+     * @param anchor The cell under the first tile of the current tetrominoe
+     * @return Returns if the current tetrominoe can be placed at the anchor
+     */
+    public boolean canPlace(int anchor) {
+        return anchor >= 0 && anchor < PlacementTable.ANCHORS_NUM
+                && board.getLegalMoves().isLegal(current.getIndex(), anchor);
+    }
+
+    /**
+     * Places the current tetrominoe at the anchor if it fits and deals the next one
+     *
+     * @param anchor The cell under the first tile of the current tetrominoe
+     * @return If the tetrominoe has been placed
+     */
+    public boolean place(int anchor) {
+        if (!canPlace(anchor)) {
+            return false;
+        }
+        PlacementTable.apply(board, current.getIndex(), anchor);
+        ++turnsCount;
+        current = dealer.next();
+        return true;
+    }
+
+    /**
+     * Lets the strategy place the current tetrominoe
+     *
+     * @param strategy The strategy of the player
+     * @return If the tetrominoe has been placed, false if the game is over
+     * @throws IllegalStateException If the strategy chooses an anchor where the tetrominoe does not fit
+     */
+    public boolean step(Strategy strategy) {
+        if (isOver()) {
+            return false;
+        }
+        int anchor = strategy.chooseAnchor(board, current);
+        if (!place(anchor)) {
+            throw new IllegalStateException("The strategy has chosen an illegal anchor " + anchor);
+        }
+        return true;
+    }
+
+    /**
+     * Lets the strategy play until the game is over
+     *
+     * @param strategy The strategy of the player
+     * @return The number of the tetrominoes placed in the game
+     */
+    public int play(Strategy strategy) {
+        while (step(strategy)) {
+            // Every step is a turn
+        }
+        return turnsCount;
+    }
+
+    /**
+     * @return Returns if the current tetrominoe fits nowhere
+     */
+    public boolean isOver() {
+        return !board.getLegalMoves().isPlaceable(current.getIndex());
+    }
+
+    /**
+     * @return Returns the number of anchors at which the current tetrominoe can be placed
+     */
+    public int getMovesLeft() {
+        return board.getLegalMoves().getCount(current.getIndex());
+    }
+
+    /**
+     * Starts a new game with a random seed
+     */
+    public void reset() {
+        reset(Dealer.randomSeed());
+    }
+
+    /**
+     * Starts a new game
+     *
+     * @param seed The seed of the tetrominoes sequence
+     */
+    public void reset(long seed) {
+        board.reset();
+        dealer.reset(seed);
+        current = dealer.next();
+        turnsCount = 0;
+    }
+
+    /**
+     * Starts a new game on a board with pre-filled cells, such as a puzzle
+     *
+     * @param seed The seed of the tetrominoes sequence
+     * @param low  Low word of the pre-filled cells mask
+     * @param high High word of the pre-filled cells mask
+     */
+    public void reset(long seed, long low, long high) {
+        reset(seed);
+        board.place(low, high);
+    }
+
+    /**
+     * Restores a game saved in the middle: the tetrominoes sequence is dealt again up to the current tetrominoe
+     *
+     * @param seed       The seed of the tetrominoes sequence
+     * @param dealtCount The number of the tetrominoes dealt, the current one included
+     * @param low        Low word of the filled cells mask
+     * @param high       High word of the filled cells mask
+     * @param turnsCount The number of the tetrominoes placed
+     */
+    public void restore(long seed, int dealtCount, long low, long high, int turnsCount) {
+        if (dealtCount < 1 || turnsCount < 0) {
+            throw new IllegalArgumentException("No game has dealt " + dealtCount + " tetrominoes in "
+                    + turnsCount + " turns");
+        }
+        reset(seed, low, high);
+        while (dealer.getDealtCount() < dealtCount) {
+            current = dealer.next();
+        }
+        this.turnsCount = turnsCount;
+    }
+
+    /**
+     * @return Returns the board. It must be modified only by the game.
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    public Tetrominoe getCurrent() {
+        return current;
+    }
+
+    public int getTurnsCount() {
+        return turnsCount;
+    }
+
+    /**
+     * @return Returns the number of the tetrominoes dealt since the game start, the current one included
+     */
+    public int getDealtCount() {
+        return dealer.getDealtCount();
+    }
+
+    /**
+     * @return Returns the seed of the tetrominoes sequence of the game
+     */
+    public long getSeed() {
+        return dealer.getSeed();
+    }
+}
@@ -0,0 +1,101 @@
+package ru.hse.edu.ershestakova.jigsawgame.model;
+
+import java.util.function.LongSupplier;
+
+/**
+ * An instance of the GameClock class measures the playing time of a game session by the monotonic
+ * System.nanoTime(). It keeps the start and the stop instants only and computes the elapsed time when it is
+ * asked for, so any number of sessions are timed without a thread of their own and without a limit.
+ */
+public class GameClock {
+    private static final long NANOS_IN_MILLI = 1_000_000;
+
+    private final LongSupplier nanoTime;
+    private long startNanos;
+    private long stopNanos;
+    private boolean isRunning;
+
+    /**
+     * Creates a stopped clock showing zero
+     */
+    public GameClock() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * Creates a stopped clock showing zero
+     *
+     * @param nanoTime The source of the monotonic time in nanoseconds
+     */
+    public GameClock(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Starts the clock from zero, also if it is running
+     */
+    public void start() {
+        start(0);
+    }
+
+    /**
+     * Starts the clock from the time already played, also if it is running
+     *
+     * @param elapsedMillis The time shown at the start in milliseconds
+     */
+    public void start(long elapsedMillis) {
+        startNanos = nanoTime.getAsLong() - elapsedMillis * NANOS_IN_MILLI;
+        isRunning = true;
+    }
+
+    /**
+     * Stops the clock, the elapsed time staying as it is
+     */
+    public void stop() {
+        if (isRunning) {
+            stopNanos = nanoTime.getAsLong();
+            isRunning = false;
+        }
+    }
+
+    public boolean isRunning() {
+        return isRunning;
+    }
+
+    /**
+     * @return Returns the time from the start to now or to the stop in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return (isRunning ? nanoTime.getAsLong() : stopNanos) - startNanos;
+    }
+
+    /**
+     * @return Returns the time from the start to now or to the stop in milliseconds
+     */
+    public long getElapsedMillis() {
+        return getElapsedNanos() / NANOS_IN_MILLI;
+    }
+
+    /**
+     * Formats the time in whole seconds, as the ticking clock shows it
+     *
+     * @param millis The time in milliseconds
+     * @return The hours, the minutes and the seconds separated by colons
+     */
+    public static String format(long millis) {
+        long seconds = millis / 1000;
+        long minutes = seconds / 60;
+        long hours = minutes / 60;
+        return hours + ":" + (minutes - hours * 60) + ":" + (seconds - minutes * 60);
+    }
+
+    /**
+     * Formats the time to the millisecond, as the results show it
+     *
+     * @param millis The time in milliseconds
+     * @return The hours, the minutes and the seconds separated by colons, the seconds with three decimals
+     */
+    public static String formatMillis(long millis) {
+        return String.format("%s.%03d", format(millis), millis % 1000);
+    }
+}
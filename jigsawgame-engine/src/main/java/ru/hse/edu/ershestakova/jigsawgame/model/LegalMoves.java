@@ -0,0 +1,129 @@
+package ru.hse.edu.ershestakova.jigsawgame.model;
+
+/**
+ * An instance of the LegalMoves class keeps the anchors at which every generated tetrominoe
+ * can be placed on a board. The board updates it on every placement, and only the anchors
+ * covering the filled cells are dropped, so all the queries take constant time.
+ */
+public class LegalMoves {
+    private static final int TETROMINOE_NUM = PlacementTable.TETROMINOE_NUM;
+
+    // Legal anchors masks words by tetrominoe index
+    private final long[] lows = new long[TETROMINOE_NUM];
+    private final long[] highs = new long[TETROMINOE_NUM];
+    // The numbers of legal anchors by tetrominoe index and their sum
+    private final int[] counts = new int[TETROMINOE_NUM];
+    private int totalCount;
+
+    /**
+     * Creates the legal moves of an empty board
+     */
+    LegalMoves() {
+        reset();
+    }
+
+    /**
+     * Copies existing legal moves
+     *
+     * @param other The legal moves being copied
+     */
+    LegalMoves(LegalMoves other) {
+        System.arraycopy(other.lows, 0, lows, 0, TETROMINOE_NUM);
+        System.arraycopy(other.highs, 0, highs, 0, TETROMINOE_NUM);
+        System.arraycopy(other.counts, 0, counts, 0, TETROMINOE_NUM);
+        totalCount = other.totalCount;
+    }
+
+    /**
+     * Makes every anchor lying on the board legal
+     */
+    void reset() {
+        totalCount = 0;
+        for (int index = 0; index < TETROMINOE_NUM; ++index) {
+            lows[index] = PlacementTable.getValidLow(index);
+            highs[index] = PlacementTable.getValidHigh(index);
+            counts[index] = Long.bitCount(lows[index]) + Long.bitCount(highs[index]);
+            totalCount += counts[index];
+        }
+    }
+
+    /**
+     * Drops the anchors at which tetrominoes cover the newly filled cells
+     *
+     * @param maskLow  Low word of the filled cells mask
+     * @param maskHigh High word of the filled cells mask
+     */
+    void fill(long maskLow, long maskHigh) {
+        for (; maskLow != 0; maskLow &= maskLow - 1) {
+            fill(Long.numberOfTrailingZeros(maskLow));
+        }
+        for (; maskHigh != 0; maskHigh &= maskHigh - 1) {
+            fill(Long.SIZE + Long.numberOfTrailingZeros(maskHigh));
+        }
+        totalCount = 0;
+        for (int index = 0; index < TETROMINOE_NUM; ++index) {
+            counts[index] = Long.bitCount(lows[index]) + Long.bitCount(highs[index]);
+            totalCount += counts[index];
+        }
+    }
+
+    /**
+     * Drops the anchors at which tetrominoes cover the cell
+     *
+     * @param cell The index of the filled cell
+     */
+    private void fill(int cell) {
+        for (int index = 0; index < TETROMINOE_NUM; ++index) {
+            lows[index] &= ~PlacementTable.getCoveringLow(index, cell);
+            highs[index] &= ~PlacementTable.getCoveringHigh(index, cell);
+        }
+    }
+
+    /**
+     * @param index Tetrominoe generation index
+     * @return Returns if the tetrominoe can be placed anywhere
+     */
+    public boolean isPlaceable(int index) {
+        return counts[index] != 0;
+    }
+
+    /**
+     * @param index  Tetrominoe generation index
+     * @param anchor The cell under the first tile
+     * @return Returns if the tetrominoe can be placed at the anchor
+     */
+    public boolean isLegal(int index, int anchor) {
+        return ((lows[index] & Board.lowBit(anchor)) | (highs[index] & Board.highBit(anchor))) != 0;
+    }
+
+    /**
+     * @param index Tetrominoe generation index
+     * @return Returns the number of anchors at which the tetrominoe can be placed
+     */
+    public int getCount(int index) {
+        return counts[index];
+    }
+
+    /**
+     * @return Returns the number of anchors at which tetrominoes can be placed summed over all the tetrominoes
+     */
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @param index Tetrominoe generation index
+     * @return Returns the low word of the legal anchors mask of the tetrominoe
+     */
+    public long getLow(int index) {
+        return lows[index];
+    }
+
+    /**
+     * @param index Tetrominoe generation index
+     * @return Returns the high word of the legal anchors mask of the tetrominoe
+     */
+    public long getHigh(int index) {
+        return highs[index];
+    }
+}
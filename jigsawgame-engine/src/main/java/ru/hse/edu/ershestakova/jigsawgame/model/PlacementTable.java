@@ -0,0 +1,168 @@
+package ru.hse.edu.ershestakova.jigsawgame.model;
+
+/**
+ * The table of the board masks of every generated tetrominoe placed at every anchor cell.
+ * The anchor is the cell under the first tile of the tetrominoe.
+ * The anchors at which the tetrominoe does not fit into the board have empty masks.
+ * The table also keeps the reverse masks: the anchors of a tetrominoe which cover a cell.
+ */
+public final class PlacementTable {
+    // Variables defining the table dimensions
+    public static final int TETROMINOE_NUM = Tetrominoe.TETROMINOE_NUM;
+    public static final int ANCHORS_NUM = Board.CELLS_NUM;
+
+    // Masks words by tetrominoe index * ANCHORS_NUM + anchor
+    private static final long[] lows = new long[TETROMINOE_NUM * ANCHORS_NUM];
+    private static final long[] highs = new long[TETROMINOE_NUM * ANCHORS_NUM];
+    // Anchors masks words by tetrominoe index * ANCHORS_NUM + covered cell
+    private static final long[] coveringLows = new long[TETROMINOE_NUM * ANCHORS_NUM];
+    private static final long[] coveringHighs = new long[TETROMINOE_NUM * ANCHORS_NUM];
+    // Valid anchors masks words by tetrominoe index
+    private static final long[] validLows = new long[TETROMINOE_NUM];
+    private static final long[] validHighs = new long[TETROMINOE_NUM];
+
+    static {
+        for (int index = 0; index < TETROMINOE_NUM; ++index) {
+            Tetrominoe tetrominoe = Tetrominoe.fromIndex(index);
+            for (int anchor = 0; anchor < ANCHORS_NUM; ++anchor) {
+                int row = anchor / Board.SIZE - tetrominoe.getFirstTileRow();
+                int col = anchor % Board.SIZE - tetrominoe.getFirstTileCol();
+                long low = 0;
+                long high = 0;
+                boolean fits = true;
+                for (int tiles = tetrominoe.getShape(); tiles != 0; tiles &= tiles - 1) {
+                    int tile = Integer.numberOfTrailingZeros(tiles);
+                    if (!Board.contains(row + tile / 3, col + tile % 3)) {
+                        fits = false;
+                        break;
+                    }
+                    int cell = Board.cellIndex(row + tile / 3, col + tile % 3);
+                    low |= Board.lowBit(cell);
+                    high |= Board.highBit(cell);
+                }
+                if (fits) {
+                    lows[index * ANCHORS_NUM + anchor] = low;
+                    highs[index * ANCHORS_NUM + anchor] = high;
+                    validLows[index] |= Board.lowBit(anchor);
+                    validHighs[index] |= Board.highBit(anchor);
+                    for (int cell = 0; cell < Board.CELLS_NUM; ++cell) {
+                        if (((low & Board.lowBit(cell)) | (high & Board.highBit(cell))) != 0) {
+                            coveringLows[index * ANCHORS_NUM + cell] |= Board.lowBit(anchor);
+                            coveringHighs[index * ANCHORS_NUM + cell] |= Board.highBit(anchor);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private PlacementTable() {
+    }
+
+    /**
+     * @param index  Tetrominoe generation index
+     * @param anchor The cell under the first tile
+     * @return Returns if the tetrominoe placed at the anchor lies on the board
+     */
+    public static boolean isValid(int index, int anchor) {
+        return anchor >= 0 && anchor < ANCHORS_NUM
+                && (lows[index * ANCHORS_NUM + anchor] | highs[index * ANCHORS_NUM + anchor]) != 0;
+    }
+
+    /**
+     * @param index  Tetrominoe generation index
+     * @param anchor The cell under the first tile
+     * @return Returns the low word of the cells mask, zero for the invalid anchor
+     */
+    public static long getLow(int index, int anchor) {
+        return lows[index * ANCHORS_NUM + anchor];
+    }
+
+    /**
+     * @param index  Tetrominoe generation index
+     * @param anchor The cell under the first tile
+     * @return Returns the high word of the cells mask, zero for the invalid anchor
+     */
+    public static long getHigh(int index, int anchor) {
+        return highs[index * ANCHORS_NUM + anchor];
+    }
+
+    /**
+     * @param index Tetrominoe generation index
+     * @param cell  The index of the cell
+     * @return Returns the low word of the mask of the anchors at which the tetrominoe covers the cell
+     */
+    public static long getCoveringLow(int index, int cell) {
+        return coveringLows[index * ANCHORS_NUM + cell];
+    }
+
+    /**
+     * @param index Tetrominoe generation index
+     * @param cell  The index of the cell
+     * @return Returns the high word of the mask of the anchors at which the tetrominoe covers the cell
+     */
+    public static long getCoveringHigh(int index, int cell) {
+        return coveringHighs[index * ANCHORS_NUM + cell];
+    }
+
+    /**
+     * @param index Tetrominoe generation index
+     * @return Returns the low word of the mask of the anchors at which the tetrominoe lies on the board
+     */
+    public static long getValidLow(int index) {
+        return validLows[index];
+    }
+
+    /**
+     * @param index Tetrominoe generation index
+     * @return Returns the high word of the mask of the anchors at which the tetrominoe lies on the board
+     */
+    public static long getValidHigh(int index) {
+        return validHighs[index];
+    }
+
+    /**
+     * Checks if the tetrominoe can be placed on the board at the anchor
+     *
+     * @param board  The board
+     * @param index  Tetrominoe generation index
+     * @param anchor The cell under the first tile
+     * @return If the anchor is valid and all the cells under the tetrominoe are empty
+     */
+    public static boolean fits(Board board, int index, int anchor) {
+        return isValid(index, anchor)
+                && board.canPlace(lows[index * ANCHORS_NUM + anchor], highs[index * ANCHORS_NUM + anchor]);
+    }
+
+    /**
+     * Fills the cells under the tetrominoe placed at the anchor. Does not check if it fits.
+     *
+     * @param board  The board
+     * @param index  Tetrominoe generation index
+     * @param anchor The cell under the first tile
+     */
+    public static void apply(Board board, int index, int anchor) {
+        board.place(lows[index * ANCHORS_NUM + anchor], highs[index * ANCHORS_NUM + anchor]);
+    }
+
+    /**
+     * Enumerates all the anchors at which the tetrominoe can be placed on the board
+     *
+     * @param board   The board
+     * @param index   Tetrominoe generation index
+     * @param anchors The array of at least ANCHORS_NUM elements to put the anchors into
+     * @return The number of legal anchors
+     */
+    public static int legalAnchors(Board board, int index, int[] anchors) {
+        int count = 0;
+        int offset = index * ANCHORS_NUM;
+        for (int anchor = 0; anchor < ANCHORS_NUM; ++anchor) {
+            long low = lows[offset + anchor];
+            long high = highs[offset + anchor];
+            if ((low | high) != 0 && board.canPlace(low, high)) {
+                anchors[count++] = anchor;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,18 @@
+package ru.hse.edu.ershestakova.jigsawgame.model;
+
+/**
+ * A policy of a player choosing where the current tetrominoe is placed.
+ * The game asks it for the anchor of every turn.
+ *
+ * @see Game#step(Strategy)
+ */
+public interface Strategy {
+    /**
+     * Chooses the anchor of the tetrominoe on the board
+     *
+     * @param board      The board, which must not be modified
+     * @param tetrominoe The current tetrominoe
+     * @return The anchor of a legal placement, -1 if the tetrominoe fits nowhere
+     */
+    int chooseAnchor(Board board, Tetrominoe tetrominoe);
+}
@@ -0,0 +1,299 @@
+package ru.hse.edu.ershestakova.jigsawgame.model;
+
+import java.util.Random;
+
+/**
+ * An instance of the Tetrominoe class represents a tetrominoe block of several rectangular tiles.
+ * Tetrominoes are immutable and canonical: every orientation is built once, so the instances are only looked up.
+ * The shape of a tetrominoe is packed into a 9-bit mask of its projection on a 3x3 board,
+ * the tile in the row i and the column j being the bit i * 3 + j.
+ */
+public class Tetrominoe {
+    /**
+     * Represents different tetraminoe types (shapes)
+     */
+    public enum TetrominoeType {
+        ASYMMETRIC_ANGLE(0, 7, 0b001_001_011),
+        Z(8, 11, 0b010_011_001),
+        LONG_ANGLE(12, 15, 0b001_001_111),
+        T(16, 19, 0b010_010_111),
+        LINE(20, 21, 0b000_000_111),
+        SQUARE(22, 22, 0b000_000_001),
+        SHORT_ANGLE(23, 26, 0b000_001_011),
+        SHORT_T(27, 30, 0b001_011_001);
+
+        // Defines the bounds of generation this exact type of tetraminoe
+        int startIndex, endIndex;
+        // Defines the shape of the typical tetraminoe of the type
+        int shape;
+
+        // Gets the width and height of the typical tetraminoe in rectangular tiles
+        public int getWidth() {
+            return getColsNum(shape);
+        }
+
+        public int getHeight() {
+            return getRowsNum(shape);
+        }
+
+        TetrominoeType(int startIndex, int endIndex, int shape) {
+            this.startIndex = startIndex;
+            this.endIndex = endIndex;
+            this.shape = shape;
+        }
+    }
+
+    // Variables defining the common traits of all tetraminoes
+    private static final int TETROMINOE_TYPES_NUM = 8;
+    public static final int TETROMINOE_NUM = 31;
+    private static final int SHAPES_NUM = 1 << 9;
+    private static final Random rand = new Random();
+
+    // Canonical tetraminoes by their generation index and by their type and shape
+    private static final Tetrominoe[] tetrominoes = new Tetrominoe[TETROMINOE_NUM];
+    private static final Tetrominoe[][] tetrominoesByShape = new Tetrominoe[TETROMINOE_TYPES_NUM][SHAPES_NUM];
+
+    // Variables defining specific traits of a tetraminoe
+    private final int index;
+    private final TetrominoeType type;
+    private final int shape;
+    private final int colsNum;
+    private final int rowsNum;
+    private final int firstTileRow;
+    private final int firstTileCol;
+    private final boolean[][] model;
+
+    static {
+        for (int index = 0; index < TETROMINOE_NUM; ++index) {
+            TetrominoeType type = typeOf(index);
+            int shape = shapeOf(type, index);
+            tetrominoes[index] = new Tetrominoe(index, type, shape);
+            if (tetrominoesByShape[type.ordinal()][shape] == null) {
+                tetrominoesByShape[type.ordinal()][shape] = tetrominoes[index];
+            }
+        }
+        // Turned and mirrored shapes which are never generated still get their canonical instances
+        for (TetrominoeType type : TetrominoeType.values()) {
+            int shape = type.shape;
+            for (int i = 0; i < 8; ++i) {
+                shape = i == 4 ? mirror(shape) : turnRight(shape);
+                if (tetrominoesByShape[type.ordinal()][shape] == null) {
+                    tetrominoesByShape[type.ordinal()][shape] = new Tetrominoe(-1, type, shape);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Returns a randomly generated tetrominoe
+     */
+    public static Tetrominoe randomTetrominoe() {
+        return tetrominoes[rand.nextInt(TETROMINOE_NUM)];
+    }
+
+    /**
+     * Gets a tetrominoe by a number, the type being chosen by the type bounds,
+     * and the tetrominoe being mirrored or turned accordingly.
+     *
+     * @param index the number being converted to a tetrominoe
+     * @return The canonical tetrominoe
+     * @see TetrominoeType
+     */
+    public static Tetrominoe fromIndex(int index) {
+        return tetrominoes[index];
+    }
+
+    /**
+     * Creates a canonical tetrominoe
+     *
+     * @param index The generation index, -1 if the tetrominoe is never generated
+     * @param type  Tetrominoe type
+     * @param shape 9-bit mask of the tetrominoe projection on a 3x3 board
+     */
+    private Tetrominoe(int index, TetrominoeType type, int shape) {
+        this.index = index;
+        this.type = type;
+        this.shape = shape;
+        this.colsNum = getColsNum(shape);
+        this.rowsNum = getRowsNum(shape);
+        int firstTile = Integer.numberOfTrailingZeros(shape);
+        this.firstTileRow = firstTile / 3;
+        this.firstTileCol = firstTile % 3;
+        this.model = new boolean[3][3];
+        for (int i = 0; i < 3; ++i) {
+            for (int j = 0; j < 3; ++j) {
+                model[i][j] = (shape & (1 << (i * 3 + j))) != 0;
+            }
+        }
+    }
+
+    /**
+     * Chooses a type by the type bounds
+     *
+     * @param index the number being converted to a tetrominoe
+     * @return Tetrominoe type
+     */
+    private static TetrominoeType typeOf(int index) {
+        int iter = 0;
+        TetrominoeType current = TetrominoeType.values()[iter];
+        while (index > current.endIndex) {
+            current = TetrominoeType.values()[++iter];
+        }
+        return current;
+    }
+
+    /**
+     * Mirrors or turns the typical shape of the type accordingly to the number
+     *
+     * @param type  Tetrominoe type
+     * @param index the number being converted to a tetrominoe
+     * @return 9-bit mask of the tetrominoe projection on a 3x3 board
+     */
+    private static int shapeOf(TetrominoeType type, int index) {
+        int shape = type.shape;
+        if (type.ordinal() < 2 && index - type.startIndex >=
+                (TetrominoeType.values()[type.ordinal() + 1].startIndex - type.startIndex) / 2) {
+            return mirror(shape);
+        }
+        for (int i = 0; i < index - type.startIndex; ++i) {
+            shape = turnRight(shape);
+        }
+        return shape;
+    }
+
+    /**
+     * Gets a tetraminoe projection on a 3x3 board, represented by a boolean array.
+     * The array is shared by all the users of the canonical tetrominoe and must not be modified.
+     *
+     * @return A boolean array projection of a tetraminoe
+     */
+    public boolean[][] getModel() {
+        return model;
+    }
+
+    /**
+     * @return Returns the 9-bit mask of the tetrominoe projection on a 3x3 board
+     */
+    public int getShape() {
+        return shape;
+    }
+
+    /**
+     * @return Returns the generation index of the tetrominoe, -1 if it is never generated
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public TetrominoeType getType() {
+        return type;
+    }
+
+    /**
+     * @return Returns the row of the first tile on the tetraminoe projection on a 3x3 board
+     */
+    public int getFirstTileRow() {
+        return firstTileRow;
+    }
+
+    /**
+     * @return Returns the column of the first tile on the tetraminoe projection on a 3x3 board
+     */
+    public int getFirstTileCol() {
+        return firstTileCol;
+    }
+
+    /**
+     * Gets the tetrominoe spun by 90 degrees on the right
+     * @return The canonical turned tetrominoe
+     */
+    public Tetrominoe turnRight() {
+        return tetrominoesByShape[type.ordinal()][turnRight(shape)];
+    }
+
+    /**
+     * Gets the tetrominoe mirrored vertically
+     * @return The canonical mirrored tetrominoe
+     */
+    public Tetrominoe mirrored() {
+        return tetrominoesByShape[type.ordinal()][mirror(shape)];
+    }
+
+    /**
+     * Spins a 3x3 projection by 90 degrees on the right and moves its tiles as up and left as possible
+     * @param shape 9-bit mask of the projection
+     * @return 9-bit mask of the turned projection
+     */
+    private static int turnRight(int shape) {
+        int turned = 0;
+        for (int tiles = shape; tiles != 0; tiles &= tiles - 1) {
+            int tile = Integer.numberOfTrailingZeros(tiles);
+            turned |= 1 << ((2 - tile % 3) * 3 + tile / 3);
+        }
+        return restoreBlocks(turned);
+    }
+
+    /**
+     * Mirrors a 3x3 projection vertically and moves its tiles as up and left as possible
+     * @param shape 9-bit mask of the projection
+     * @return 9-bit mask of the mirrored projection
+     */
+    private static int mirror(int shape) {
+        int mirrored = 0;
+        for (int tiles = shape; tiles != 0; tiles &= tiles - 1) {
+            int tile = Integer.numberOfTrailingZeros(tiles);
+            mirrored |= 1 << (tile / 3 * 3 + 2 - tile % 3);
+        }
+        return restoreBlocks(mirrored);
+    }
+
+    /**
+     * Moves tetraminoe tiles as up and left as possible on its 3x3 projection
+     * @param shape 9-bit mask of the projection
+     * @return 9-bit mask of the projection with up and left moved tiles
+     */
+    private static int restoreBlocks(int shape) {
+        while ((shape & 0b000_000_111) == 0) {
+            shape >>= 3;
+        }
+        while ((shape & 0b001_001_001) == 0) {
+            shape >>= 1;
+        }
+        return shape;
+    }
+
+    /**
+     * Gets width of a tetrominoe from its 3x3 projection
+     * @param shape 9-bit mask of the projection
+     * @return Width in rectangular tiles
+     */
+    private static int getColsNum(int shape) {
+        int columns = (shape | shape >> 3 | shape >> 6) & 0b111;
+        return 32 - Integer.numberOfLeadingZeros(columns);
+    }
+
+    /**
+     * Gets height of a tetrominoe from its 3x3 projection
+     * @param shape 9-bit mask of the projection
+     * @return Height in rectangular tiles
+     */
+    private static int getRowsNum(int shape) {
+        return (32 - Integer.numberOfLeadingZeros(shape) + 2) / 3;
+    }
+
+    /**
+     * Gets width of the tetraminoe in rectangular tiles
+     * @return Width
+     */
+    public int getColsNum() {
+        return colsNum;
+    }
+
+    /**
+     * Gets height of the tetraminoe in rectangular tiles
+     * @return Height
+     */
+    public int getRowsNum() {
+        return rowsNum;
+    }
+}
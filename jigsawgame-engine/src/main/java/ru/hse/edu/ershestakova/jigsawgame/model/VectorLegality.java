@@ -0,0 +1,70 @@
+package ru.hse.edu.ershestakova.jigsawgame.model;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The legal anchors of a tetrominoe on the lanes of boards at once. Every lane keeps a board,
+ * the mask of an anchor is broadcast to all of them, and the lanes the mask does not overlap get the anchor bit.
+ * The class is loaded only if the incubating Vector API module is present.
+ */
+final class VectorLegality {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    private VectorLegality() {
+    }
+
+    /**
+     * @return Returns if a vector holds more than one board
+     */
+    static boolean isSupported() {
+        return SPECIES.length() > 1;
+    }
+
+    /**
+     * Finds the legal anchors of the tetrominoe on the boards filling whole vectors
+     *
+     * @param lows         Low words of the filled cells masks
+     * @param highs        High words of the filled cells masks
+     * @param size         The number of the boards
+     * @param index        Tetrominoe generation index
+     * @param anchorsLows  Receives the low words of the legal anchors masks
+     * @param anchorsHighs Receives the high words of the legal anchors masks
+     * @return The number of the boards done, the rest being fewer than a vector
+     */
+    static int legalAnchors(long[] lows, long[] highs, int size, int index, long[] anchorsLows, long[] anchorsHighs) {
+        long validLow = PlacementTable.getValidLow(index);
+        long validHigh = PlacementTable.getValidHigh(index);
+        int bound = SPECIES.loopBound(size);
+        for (int slot = 0; slot < bound; slot += SPECIES.length()) {
+            LongVector filledLow = LongVector.fromArray(SPECIES, lows, slot);
+            LongVector filledHigh = LongVector.fromArray(SPECIES, highs, slot);
+            LongVector resultLow = LongVector.zero(SPECIES);
+            LongVector resultHigh = LongVector.zero(SPECIES);
+            for (long anchors = validLow; anchors != 0; anchors &= anchors - 1) {
+                int anchor = Long.numberOfTrailingZeros(anchors);
+                resultLow = resultLow.lanewise(VectorOperators.OR, anchors & -anchors,
+                        fits(filledLow, filledHigh, index, anchor));
+            }
+            for (long anchors = validHigh; anchors != 0; anchors &= anchors - 1) {
+                int anchor = Long.SIZE + Long.numberOfTrailingZeros(anchors);
+                resultHigh = resultHigh.lanewise(VectorOperators.OR, anchors & -anchors,
+                        fits(filledLow, filledHigh, index, anchor));
+            }
+            resultLow.intoArray(anchorsLows, slot);
+            resultHigh.intoArray(anchorsHighs, slot);
+        }
+        return bound;
+    }
+
+    /**
+     * @return Returns the lanes of the boards on which the tetrominoe placed at the anchor overlaps no filled cell
+     */
+    private static VectorMask<Long> fits(LongVector filledLow, LongVector filledHigh, int index, int anchor) {
+        return filledLow.and(PlacementTable.getLow(index, anchor))
+                .or(filledHigh.and(PlacementTable.getHigh(index, anchor)))
+                .compare(VectorOperators.EQ, 0);
+    }
+}
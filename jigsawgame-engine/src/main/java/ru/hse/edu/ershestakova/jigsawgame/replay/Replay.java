@@ -0,0 +1,204 @@
+package ru.hse.edu.ershestakova.jigsawgame.replay;
+
+import ru.hse.edu.ershestakova.jigsawgame.model.Game;
+import ru.hse.edu.ershestakova.jigsawgame.model.PlacementTable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The replay of a game read from a file made by {@link ReplayWriter}. The file is memory-mapped and the moves
+ * are decoded in place. The tetrominoes are dealt by the seed, so a position is restored by placing
+ * the moves on a game without anything being drawn, and the board is shown once the position is reached.
+ * The file is a header of the magic, the version and the seed of the game followed by the moves,
+ * every move being a word of the generation index and the anchor of the tetrominoe and the milliseconds
+ * since the previous move as a variable-length number of 7-bit groups, the lowest first.
+ * A move cut off by a crash of the writer is ignored.
+ */
+public class Replay {
+    static final int MAGIC = 0x4A475250;
+    static final byte VERSION = 1;
+    static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES + Long.BYTES;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    // The bits of the anchor in the move word, the generation index taking the higher ones
+    static final int ANCHOR_BITS = 7;
+    static final int ANCHOR_MASK = (1 << ANCHOR_BITS) - 1;
+    // The largest size of a move: the word and 10 groups of a long
+    static final int MAX_MOVE_SIZE = Short.BYTES + 10;
+
+    private final ByteBuffer buffer;
+    private final long seed;
+    private int movesCount;
+    // The size of the header and the whole moves, a move cut off lying past it
+    private int size = HEADER_SIZE;
+    // The offsets of the moves in the file and the time of the game after every move
+    private int[] offsets = new int[16];
+    private long[] times = new long[16];
+
+    private Replay(ByteBuffer buffer) {
+        this.buffer = buffer.order(ORDER);
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.get(Integer.BYTES) != VERSION) {
+            throw new IllegalArgumentException("Not a replay file");
+        }
+        this.seed = buffer.getLong(Integer.BYTES + Byte.BYTES);
+        index();
+    }
+
+    /**
+     * Maps a replay file
+     *
+     * @param path The path of the file
+     * @return The replay
+     * @throws IOException If the file can not be read
+     */
+    public static Replay open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new Replay(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Reads a replay from the bytes of a file
+     *
+     * @param buffer The bytes from the position 0 to the limit
+     * @return The replay
+     */
+    public static Replay wrap(ByteBuffer buffer) {
+        return new Replay(buffer);
+    }
+
+    /**
+     * Finds the offsets of the moves and sums the time deltas up, the words staying in the file
+     */
+    private void index() {
+        int offset = HEADER_SIZE;
+        long time = 0;
+        while (offset + Short.BYTES < buffer.limit()) {
+            int next = offset + Short.BYTES;
+            long delta = 0;
+            int shift = 0;
+            byte group;
+            do {
+                if (next == buffer.limit() || shift >= Long.SIZE) {
+                    return;
+                }
+                group = buffer.get(next++);
+                delta |= (long) (group & 0x7F) << shift;
+                shift += 7;
+            } while (group < 0);
+            if (movesCount == offsets.length) {
+                offsets = Arrays.copyOf(offsets, 2 * movesCount);
+                times = Arrays.copyOf(times, 2 * movesCount);
+            }
+            time += delta;
+            offsets[movesCount] = offset;
+            times[movesCount] = time;
+            ++movesCount;
+            offset = next;
+            size = next;
+        }
+    }
+
+    /**
+     * Restores the position after the moves by placing them on the game, nothing being drawn meanwhile
+     *
+     * @param game     The game, which is started anew with the seed of the replay
+     * @param movesNum The number of the moves from the start of the game
+     * @throws IllegalArgumentException If a move does not match the tetrominoe dealt or does not fit
+     */
+    public void seek(Game game, int movesNum) {
+        int placed = play(game, movesNum);
+        if (placed < movesNum) {
+            throw new IllegalArgumentException("The move " + placed + " of the replay is illegal");
+        }
+    }
+
+    /**
+     * Places the moves on the game by its rules while they are legal
+     *
+     * @param game     The game, which is started anew with the seed of the replay
+     * @param movesNum The number of the moves from the start of the game
+     * @return The number of the moves placed, fewer than asked if the next one does not match the tetrominoe
+     * dealt or does not fit
+     */
+    public int play(Game game, int movesNum) {
+        if (movesNum < 0 || movesNum > movesCount) {
+            throw new IndexOutOfBoundsException("The replay has " + movesCount + " moves, not " + movesNum);
+        }
+        game.reset(seed);
+        for (int move = 0; move < movesNum; ++move) {
+            if (game.getCurrent().getIndex() != getIndex(move) || !game.place(getAnchor(move))) {
+                return move;
+            }
+        }
+        return movesNum;
+    }
+
+    /**
+     * Restores the last position of the replay
+     *
+     * @param game The game, which is started anew with the seed of the replay
+     */
+    public void fastForward(Game game) {
+        seek(game, movesCount);
+    }
+
+    /**
+     * @param move The number of the move
+     * @return Returns the generation index of the tetrominoe placed by the move
+     */
+    public int getIndex(int move) {
+        return (buffer.getShort(offsets[move]) & 0xFFFF) >>> ANCHOR_BITS;
+    }
+
+    /**
+     * @param move The number of the move
+     * @return Returns the cell under the first tile of the tetrominoe placed by the move
+     */
+    public int getAnchor(int move) {
+        return buffer.getShort(offsets[move]) & ANCHOR_MASK;
+    }
+
+    /**
+     * @param movesNum The number of the moves from the start of the game
+     * @return Returns the playing time in milliseconds when the last of the moves was made, 0 before any move
+     */
+    public long getTimeMillis(int movesNum) {
+        return movesNum == 0 ? 0 : times[movesNum - 1];
+    }
+
+    /**
+     * @param movesNum The number of the moves from the start of the game
+     * @return Returns the size of the header and the moves in bytes
+     */
+    int getSize(int movesNum) {
+        return movesNum < movesCount ? offsets[movesNum] : size;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getMovesCount() {
+        return movesCount;
+    }
+
+    /**
+     * Packs a move into its word
+     *
+     * @param index  The generation index of the tetrominoe
+     * @param anchor The cell under the first tile of the tetrominoe
+     * @return The move word
+     */
+    static short packMove(int index, int anchor) {
+        if (index < 0 || index >= PlacementTable.TETROMINOE_NUM || anchor < 0 || anchor >= PlacementTable.ANCHORS_NUM) {
+            throw new IllegalArgumentException("No tetrominoe " + index + " at the anchor " + anchor);
+        }
+        return (short) (index << ANCHOR_BITS | anchor);
+    }
+}
@@ -0,0 +1,282 @@
+package ru.hse.edu.ershestakova.jigsawgame.replay;
+
+import ru.hse.edu.ershestakova.jigsawgame.model.Game;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The validator of the submitted scores. A submission is a line of the path of a replay and the number of the turns
+ * reported. Every replay is played again on a game of its seed, so a move is legal exactly when the game
+ * of the application would have taken it, and the number of its legal moves must be the number reported.
+ * The submissions are streamed from the reader through bounded queues to the worker threads and their verdicts
+ * to the writer, so the memory taken does not depend on the number of the submissions. A worker reads the replays
+ * into a buffer of its own, a replay being much smaller than a page.
+ * Usage: ReplayValidator submissions [threadsNum] [verdictsPath]
+ */
+public class ReplayValidator {
+    // The submissions waiting in a queue per worker thread
+    private static final int QUEUE_PER_THREAD = 64;
+    // The size of the buffer a worker reads the replays into unless one of them is larger
+    private static final int READ_BUFFER_SIZE = 1 << 12;
+    // The submission which ends the queues
+    private static final Submission END = new Submission(null, null, 0);
+
+    /**
+     * The verdict of a submission
+     */
+    public enum Verdict {
+        // All the moves are legal and their number is the number reported
+        VALID,
+        // A move does not match the tetrominoe dealt or does not fit
+        ILLEGAL_MOVE,
+        // All the moves are legal, but their number is not the number reported
+        TURNS_MISMATCH,
+        // The line or the replay can not be read
+        UNREADABLE
+    }
+
+    private final int threadsNum;
+    private final LongAdder[] verdictCounts = new LongAdder[Verdict.values().length];
+    private final LongAdder movesCount = new LongAdder();
+
+    /**
+     * Creates a validator
+     *
+     * @param threadsNum The number of the worker threads
+     */
+    public ReplayValidator(int threadsNum) {
+        if (threadsNum < 1) {
+            throw new IllegalArgumentException("The number of the threads must be positive");
+        }
+        this.threadsNum = threadsNum;
+        for (int i = 0; i < verdictCounts.length; ++i) {
+            verdictCounts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Validates the submissions, writing the verdict line of every one in the order they are checked:
+     * the path, the verdict, the number of the legal moves and the number of the turns reported
+     *
+     * @param submissions The lines of the submissions
+     * @param base        The directory the relative paths of the replays are resolved against
+     * @param verdicts    The output of the verdicts
+     * @throws IOException          If the submissions can not be read
+     * @throws InterruptedException If the waiting is interrupted
+     */
+    public void validate(BufferedReader submissions, Path base, PrintWriter verdicts)
+            throws IOException, InterruptedException {
+        BlockingQueue<Submission> pending = new ArrayBlockingQueue<>(threadsNum * QUEUE_PER_THREAD);
+        BlockingQueue<Submission> checked = new ArrayBlockingQueue<>(threadsNum * QUEUE_PER_THREAD);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadsNum; ++i) {
+            threads.add(new Thread(() -> check(pending, checked), "validator-" + i));
+        }
+        threads.add(new Thread(() -> write(checked, verdicts), "validator-writer"));
+        for (Thread thread : threads) {
+            thread.setDaemon(true);
+            thread.start();
+        }
+        try {
+            String line;
+            while ((line = submissions.readLine()) != null) {
+                if (!line.isBlank()) {
+                    pending.put(parse(line, base));
+                }
+            }
+        } finally {
+            for (int i = 0; i < threadsNum; ++i) {
+                pending.put(END);
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            verdicts.flush();
+        }
+    }
+
+    /**
+     * Parses a submission line, the number of the turns following the last space
+     *
+     * @param line The line
+     * @param base The directory the relative path of the replay is resolved against
+     * @return The submission, its replay being null if the line is malformed
+     */
+    private static Submission parse(String line, Path base) {
+        int split = line.stripTrailing().lastIndexOf(' ');
+        try {
+            String name = line.substring(0, split).strip();
+            return new Submission(name, base.resolve(name), Integer.parseInt(line.substring(split + 1).strip()));
+        } catch (RuntimeException e) {
+            return new Submission(line, null, -1);
+        }
+    }
+
+    /**
+     * Checks the submissions of the queue until its end
+     *
+     * @param pending The submissions to be checked
+     * @param checked The submissions with their verdicts
+     */
+    private void check(BlockingQueue<Submission> pending, BlockingQueue<Submission> checked) {
+        Game game = new Game(0);
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        try {
+            Submission submission;
+            while ((submission = pending.take()) != END) {
+                buffer = check(submission, game, buffer);
+                verdictCounts[submission.verdict.ordinal()].increment();
+                checked.put(submission);
+            }
+            checked.put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Plays the replay of the submission again and sets its verdict
+     *
+     * @param submission The submission
+     * @param game       The game the replay is played on
+     * @param buffer     The buffer the replay is read into
+     * @return The buffer, a larger one if the replay has not fitted
+     */
+    private ByteBuffer check(Submission submission, Game game, ByteBuffer buffer) {
+        submission.verdict = Verdict.UNREADABLE;
+        if (submission.replay == null) {
+            return buffer;
+        }
+        try (FileChannel channel = FileChannel.open(submission.replay, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                return buffer;
+            }
+            if (size > buffer.capacity()) {
+                buffer = ByteBuffer.allocate((int) size);
+            }
+            buffer.clear().limit((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // The file is read whole
+            }
+            Replay replay = Replay.wrap(buffer.flip());
+            submission.movesCount = replay.play(game, replay.getMovesCount());
+            movesCount.add(submission.movesCount);
+            if (submission.movesCount < replay.getMovesCount()) {
+                submission.verdict = Verdict.ILLEGAL_MOVE;
+            } else if (submission.movesCount != submission.reportedTurns) {
+                submission.verdict = Verdict.TURNS_MISMATCH;
+            } else {
+                submission.verdict = Verdict.VALID;
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // The verdict stays unreadable
+        }
+        return buffer;
+    }
+
+    /**
+     * Writes the verdicts until all the workers have ended
+     *
+     * @param checked  The submissions with their verdicts
+     * @param verdicts The output of the verdicts
+     */
+    private void write(BlockingQueue<Submission> checked, PrintWriter verdicts) {
+        try {
+            int ended = 0;
+            while (ended < threadsNum) {
+                Submission submission = checked.take();
+                if (submission == END) {
+                    ++ended;
+                } else {
+                    verdicts.printf("%s %s %d %d%n", submission.name, submission.verdict, submission.movesCount,
+                            submission.reportedTurns);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @param verdict The verdict
+     * @return Returns the number of the submissions with the verdict
+     */
+    public long getCount(Verdict verdict) {
+        return verdictCounts[verdict.ordinal()].sum();
+    }
+
+    /**
+     * @return Returns the number of the submissions checked
+     */
+    public long getGamesCount() {
+        long count = 0;
+        for (LongAdder verdictCount : verdictCounts) {
+            count += verdictCount.sum();
+        }
+        return count;
+    }
+
+    /**
+     * @return Returns the number of the legal moves played again
+     */
+    public long getMovesCount() {
+        return movesCount.sum();
+    }
+
+    /**
+     * A submitted score and its verdict
+     */
+    private static class Submission {
+        final String name;
+        final Path replay;
+        final int reportedTurns;
+        Verdict verdict;
+        int movesCount;
+
+        Submission(String name, Path replay, int reportedTurns) {
+            this.name = name;
+            this.replay = replay;
+            this.reportedTurns = reportedTurns;
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayValidator submissions [threadsNum] [verdictsPath]");
+            return;
+        }
+        Path submissions = Paths.get(args[0]).toAbsolutePath();
+        int threadsNum = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        ReplayValidator validator = new ReplayValidator(threadsNum);
+        long start = System.nanoTime();
+        try (BufferedReader reader = Files.newBufferedReader(submissions);
+             PrintWriter verdicts = args.length > 2
+                     ? new PrintWriter(Files.newBufferedWriter(Paths.get(args[2])))
+                     : new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            validator.validate(reader, submissions.getParent(), verdicts);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.err.printf("%d games, %d moves in %.1f s: %.0f games/s, %.0f moves/s%n", validator.getGamesCount(),
+                validator.getMovesCount(), seconds, validator.getGamesCount() / seconds,
+                validator.getMovesCount() / seconds);
+        for (Verdict verdict : Verdict.values()) {
+            System.err.printf("%s: %d%n", verdict, validator.getCount(verdict));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package ru.hse.edu.ershestakova.jigsawgame.replay;
+
+import ru.hse.edu.ershestakova.jigsawgame.model.Game;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The recorder of a game into a replay file, read by {@link Replay}. The moves are appended
+ * to a buffer of the writer, which goes to the file channel when it is full, flushed or closed,
+ * so a game of a few dozen bytes is written at once. The replay of a game resumed from its save
+ * is appended to after the moves of the save, the moves recorded after them being cut off.
+ * An instance is not thread-safe.
+ */
+public class ReplayWriter implements Closeable {
+    // The bytes buffered before they are written, more than a whole game takes
+    private static final int BUFFER_SIZE = 1 << 10;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(Replay.ORDER);
+    private long lastMillis;
+    private int movesCount;
+
+    /**
+     * Creates the replay file of a game
+     *
+     * @param path The path of the file, which must not exist
+     * @param seed The seed of the tetrominoes sequence of the game
+     * @throws IOException If the file can not be created
+     */
+    public ReplayWriter(Path path, long seed) throws IOException {
+        this(FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), 0, 0);
+        buffer.putInt(Replay.MAGIC).put(Replay.VERSION).putLong(seed);
+    }
+
+    private ReplayWriter(FileChannel channel, long lastMillis, int movesCount) {
+        this.channel = channel;
+        this.lastMillis = lastMillis;
+        this.movesCount = movesCount;
+    }
+
+    /**
+     * Reopens the replay file of a resumed game to go on recording it
+     *
+     * @param path The path of the file
+     * @param game The game resumed, whose moves must be the first moves of the replay
+     * @return The writer appending after the moves of the game
+     * @throws IOException              If the file can not be read or written
+     * @throws IllegalArgumentException If the file is not a replay of the game
+     */
+    public static ReplayWriter resume(Path path, Game game) throws IOException {
+        Replay replay = Replay.wrap(ByteBuffer.wrap(Files.readAllBytes(path)));
+        int movesNum = game.getTurnsCount();
+        Game replayed = new Game(replay.getSeed());
+        if (replay.getSeed() != game.getSeed() || replay.getMovesCount() < movesNum
+                || replay.play(replayed, movesNum) < movesNum
+                || replayed.getBoard().getLow() != game.getBoard().getLow()
+                || replayed.getBoard().getHigh() != game.getBoard().getHigh()) {
+            throw new IllegalArgumentException("The replay does not lead to the game");
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE);
+        try {
+            channel.truncate(replay.getSize(movesNum));
+            channel.position(replay.getSize(movesNum));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new ReplayWriter(channel, replay.getTimeMillis(movesNum), movesNum);
+    }
+
+    /**
+     * Appends a move
+     *
+     * @param index         The generation index of the tetrominoe placed
+     * @param anchor        The cell under the first tile of the tetrominoe
+     * @param elapsedMillis The playing time of the game in milliseconds when the move is made
+     * @throws IOException If the file can not be written
+     */
+    public void append(int index, int anchor, long elapsedMillis) throws IOException {
+        short move = Replay.packMove(index, anchor);
+        if (buffer.remaining() < Replay.MAX_MOVE_SIZE) {
+            flush();
+        }
+        buffer.putShort(move);
+        long delta = Math.max(0, elapsedMillis - lastMillis);
+        while ((delta & ~0x7FL) != 0) {
+            buffer.put((byte) (delta & 0x7F | 0x80));
+            delta >>>= 7;
+        }
+        buffer.put((byte) delta);
+        lastMillis = Math.max(lastMillis, elapsedMillis);
+        ++movesCount;
+    }
+
+    /**
+     * Writes the buffered moves to the file
+     *
+     * @throws IOException If the file can not be written
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * @return Returns the number of the moves appended
+     */
+    public int getMovesCount() {
+        return movesCount;
+    }
+
+    /**
+     * Writes the buffered moves and closes the file
+     */
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package ru.hse.edu.ershestakova.jigsawgame.save;
+
+import ru.hse.edu.ershestakova.jigsawgame.model.Board;
+import ru.hse.edu.ershestakova.jigsawgame.model.Dealer;
+import ru.hse.edu.ershestakova.jigsawgame.model.Game;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * The autosave of a game in a memory-mapped file of two fixed-size slots. A snapshot is a few words:
+ * the seed and the number of the tetrominoes dealt, which deal the current tetrominoe again, the filled cells,
+ * the number of the turns, the playing time and the identifier of the replay the game is recorded to.
+ * It is written over the older slot and sealed by its checksum, so a write torn by a crash leaves the newer
+ * slot intact, and the valid slot of the greater sequence number is the last good snapshot. The mapped pages survive the crash of the process, and they are forced to the disk
+ * when the slots are closed.
+ * An instance is not thread-safe.
+ */
+public class SaveSlots implements Closeable {
+    static final int MAGIC = 0x4A475356;
+    static final int VERSION = 2;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    // The offsets of the fields in a slot, the checksum of the previous ones being the last
+    static final int SEQUENCE = 2 * Integer.BYTES;
+    static final int SEED = SEQUENCE + Long.BYTES;
+    static final int LOW = SEED + Long.BYTES;
+    static final int HIGH = LOW + Long.BYTES;
+    static final int ELAPSED = HIGH + Long.BYTES;
+    static final int DEALT = ELAPSED + Long.BYTES;
+    static final int TURNS = DEALT + Integer.BYTES;
+    static final int CURRENT = TURNS + Integer.BYTES;
+    static final int REPLAY = CURRENT + Integer.BYTES;
+    static final int CHECKSUM = REPLAY + Long.BYTES;
+    static final int SLOT_SIZE = CHECKSUM + Integer.BYTES;
+    static final int SLOTS_NUM = 2;
+    private static final long HIGH_MASK = (1L << (Board.CELLS_NUM - Long.SIZE)) - 1;
+
+    private final MappedByteBuffer buffer;
+    private final CRC32 crc = new CRC32();
+    // The sequence number of the last good snapshot and its slot, -1 if there is none
+    private long sequence = -1;
+    private int slot = -1;
+
+    private SaveSlots(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        buffer.order(ORDER);
+        for (int i = 0; i < SLOTS_NUM; ++i) {
+            int offset = i * SLOT_SIZE;
+            if (isValid(offset) && buffer.getLong(offset + SEQUENCE) > sequence) {
+                sequence = buffer.getLong(offset + SEQUENCE);
+                slot = i;
+            }
+        }
+    }
+
+    /**
+     * Maps the slots file, creating it empty if it does not exist
+     *
+     * @param path The path of the file
+     * @return The slots
+     * @throws IOException If the file can not be read or written
+     */
+    public static SaveSlots open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return new SaveSlots(channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) SLOTS_NUM * SLOT_SIZE));
+        }
+    }
+
+    /**
+     * Writes the snapshot of the game not recorded over the older slot
+     *
+     * @param game          The game
+     * @param elapsedMillis The playing time of the game in milliseconds
+     */
+    public void save(Game game, long elapsedMillis) {
+        save(game, elapsedMillis, -1);
+    }
+
+    /**
+     * Writes the snapshot of the game over the older slot
+     *
+     * @param game          The game
+     * @param elapsedMillis The playing time of the game in milliseconds
+     * @param replayId      The identifier of the replay of all the moves of the game, -1 if there is none
+     */
+    public void save(Game game, long elapsedMillis, long replayId) {
+        int next = slot < 0 ? 0 : 1 - slot;
+        int offset = next * SLOT_SIZE;
+        Board board = game.getBoard();
+        buffer.putInt(offset, MAGIC)
+                .putInt(offset + Integer.BYTES, VERSION)
+                .putLong(offset + SEQUENCE, sequence + 1)
+                .putLong(offset + SEED, game.getSeed())
+                .putLong(offset + LOW, board.getLow())
+                .putLong(offset + HIGH, board.getHigh())
+                .putLong(offset + ELAPSED, elapsedMillis)
+                .putInt(offset + DEALT, game.getDealtCount())
+                .putInt(offset + TURNS, game.getTurnsCount())
+                .putInt(offset + CURRENT, game.getCurrent().getIndex())
+                .putLong(offset + REPLAY, replayId)
+                .putInt(offset + CHECKSUM, checksum(offset));
+        ++sequence;
+        slot = next;
+    }
+
+    /**
+     * Restores the game of the last good snapshot
+     *
+     * @param game The game, which stays as it is if there is no snapshot
+     * @return The playing time of the game in milliseconds, -1 if there is no snapshot
+     */
+    public long restore(Game game) {
+        if (slot < 0) {
+            return -1;
+        }
+        int offset = slot * SLOT_SIZE;
+        long seed = buffer.getLong(offset + SEED);
+        int dealtCount = buffer.getInt(offset + DEALT);
+        game.restore(seed, dealtCount, buffer.getLong(offset + LOW), buffer.getLong(offset + HIGH),
+                buffer.getInt(offset + TURNS));
+        return buffer.getLong(offset + ELAPSED);
+    }
+
+    /**
+     * @return Returns the identifier of the replay of the last good snapshot, -1 if there is none
+     */
+    public long getReplayId() {
+        return slot < 0 ? -1 : buffer.getLong(slot * SLOT_SIZE + REPLAY);
+    }
+
+    /**
+     * @return Returns the sequence number of the last good snapshot, -1 if there is none
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Checks the slot and if its snapshot is a game the current version deals the same way
+     *
+     * @param offset The offset of the slot
+     * @return If the slot holds a snapshot
+     */
+    private boolean isValid(int offset) {
+        if (buffer.getInt(offset) != MAGIC || buffer.getInt(offset + Integer.BYTES) != VERSION
+                || buffer.getInt(offset + CHECKSUM) != checksum(offset)) {
+            return false;
+        }
+        int dealtCount = buffer.getInt(offset + DEALT);
+        int turnsCount = buffer.getInt(offset + TURNS);
+        if (dealtCount < 1 || dealtCount > Board.CELLS_NUM + 1 || turnsCount < 0 || turnsCount >= dealtCount
+                || (buffer.getLong(offset + HIGH) & ~HIGH_MASK) != 0) {
+            return false;
+        }
+        Dealer dealer = new Dealer(buffer.getLong(offset + SEED));
+        int current = -1;
+        for (int i = 0; i < dealtCount; ++i) {
+            current = dealer.next().getIndex();
+        }
+        return current == buffer.getInt(offset + CURRENT);
+    }
+
+    /**
+     * @param offset The offset of the slot
+     * @return Returns the checksum of the fields of the slot
+     */
+    private int checksum(int offset) {
+        crc.reset();
+        crc.update(buffer.slice(offset, CHECKSUM));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Forces the snapshots to the disk
+     */
+    @Override
+    public void close() {
+        buffer.force();
+    }
+}
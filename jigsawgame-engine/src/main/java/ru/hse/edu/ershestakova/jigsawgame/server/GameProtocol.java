@@ -0,0 +1,28 @@
+package ru.hse.edu.ershestakova.jigsawgame.server;
+
+/**
+ * The protocol between the game server and its clients over a socket, every number being big-endian.
+ * A client sends requests, and the server answers every one in order with a state of the same size, so a client
+ * may send the next request before the answer to the previous one comes.
+ * A request is a type byte followed by the seed of the tetrominoes sequence of a new game for START
+ * and by the anchor of the current tetrominoe for PLACE.
+ * A state is the status byte, the generation index of the current tetrominoe, the number of the turns
+ * as a short and the low and the high words of the filled cells mask.
+ * A request of an unknown type closes the connection.
+ */
+final class GameProtocol {
+    // Requests
+    static final byte START = 1;
+    static final byte PLACE = 2;
+    static final int START_SIZE = Byte.BYTES + Long.BYTES;
+    static final int PLACE_SIZE = 2 * Byte.BYTES;
+    // Statuses: the game goes on, the anchor has been refused, the game is over, no game has been started
+    static final byte PLAYING = 0;
+    static final byte ILLEGAL = 1;
+    static final byte OVER = 2;
+    static final byte NO_GAME = 3;
+    static final int STATE_SIZE = 2 * Byte.BYTES + Short.BYTES + 2 * Long.BYTES;
+
+    private GameProtocol() {
+    }
+}
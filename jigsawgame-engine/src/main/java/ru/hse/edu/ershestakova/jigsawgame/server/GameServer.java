@@ -0,0 +1,390 @@
+package ru.hse.edu.ershestakova.jigsawgame.server;
+
+import ru.hse.edu.ershestakova.jigsawgame.model.Board;
+import ru.hse.edu.ershestakova.jigsawgame.model.Game;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The headless server of independent games over TCP by {@link GameProtocol}. The connections are accepted by
+ * a thread of their own and spread over a few event loops, every loop serving its connections by a selector
+ * in a single thread, so the number of the threads does not grow with the number of the clients.
+ * Every connection has a game and a couple of small buffers, and the requests sent ahead are answered
+ * as long as the output buffer has room, the connection being read again once the answers are written.
+ * Usage: GameServer [port] [loopsNum]
+ */
+public class GameServer implements Closeable {
+    // The connections waiting to be accepted
+    private static final int BACKLOG = 4096;
+    // The answers buffered for a connection
+    private static final int OUTPUT_SIZE = 64 * GameProtocol.STATE_SIZE;
+    // The pauses of the acceptor after failures, doubled while they go on, such as when no descriptors are left
+    private static final long MIN_ACCEPT_PAUSE_MILLIS = 10;
+    private static final long MAX_ACCEPT_PAUSE_MILLIS = 1000;
+
+    private final ServerSocketChannel server;
+    private final EventLoop[] loops;
+    // The thread accepting the connections, null until the server is started
+    private Thread acceptor;
+    private final AtomicInteger sessionsCount = new AtomicInteger();
+    private final LongAdder gamesCount = new LongAdder();
+    private final LongAdder movesCount = new LongAdder();
+
+    /**
+     * Creates a server listening for the clients, which is started by {@link #start()}
+     *
+     * @param port     The port, 0 for any free one
+     * @param loopsNum The number of the event loops
+     * @throws IOException If the port can not be listened on
+     */
+    public GameServer(int port, int loopsNum) throws IOException {
+        if (loopsNum < 1) {
+            throw new IllegalArgumentException("The number of the event loops must be positive");
+        }
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port), BACKLOG);
+        loops = new EventLoop[loopsNum];
+        for (int i = 0; i < loopsNum; ++i) {
+            loops[i] = new EventLoop(Selector.open());
+        }
+    }
+
+    /**
+     * @return Returns the port the server listens on
+     */
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    /**
+     * Starts the event loops and the acceptor
+     */
+    public void start() {
+        for (int i = 0; i < loops.length; ++i) {
+            loops[i].thread = startDaemon(loops[i], "game-loop-" + i);
+        }
+        acceptor = startDaemon(this::accept, "game-acceptor");
+    }
+
+    private static Thread startDaemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Accepts the connections, giving them to the event loops in turn. After a failure the acceptor pauses
+     * before trying again, and only the first of the failures in a row is reported.
+     */
+    private void accept() {
+        int next = 0;
+        long pauseMillis = 0;
+        while (server.isOpen()) {
+            SocketChannel channel = null;
+            try {
+                channel = server.accept();
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                loops[next].add(channel);
+                next = (next + 1) % loops.length;
+                pauseMillis = 0;
+            } catch (ClosedChannelException e) {
+                // The server has been closed
+                return;
+            } catch (IOException e) {
+                if (pauseMillis == 0) {
+                    System.err.println("A client can not be accepted: " + e.getMessage());
+                }
+                if (channel != null) {
+                    try {
+                        channel.close();
+                    } catch (IOException closeException) {
+                        // The connection is gone anyway
+                    }
+                }
+                pauseMillis = Math.min(Math.max(2 * pauseMillis, MIN_ACCEPT_PAUSE_MILLIS), MAX_ACCEPT_PAUSE_MILLIS);
+                try {
+                    Thread.sleep(pauseMillis);
+                } catch (InterruptedException interruptedException) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops listening and closes all the connections, waiting for the event loops to close theirs
+     */
+    @Override
+    public void close() throws IOException {
+        server.close();
+        // No connection is handed over to a loop once the acceptor has ended
+        join(acceptor);
+        for (EventLoop loop : loops) {
+            loop.isClosing = true;
+            loop.selector.wakeup();
+        }
+        for (EventLoop loop : loops) {
+            if (loop.thread == null) {
+                loop.closeAll();
+            } else {
+                join(loop.thread);
+            }
+        }
+    }
+
+    private static void join(Thread thread) throws IOException {
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("The server has been interrupted while closing");
+        }
+    }
+
+    /**
+     * @return Returns the number of the connections open
+     */
+    public int getSessionsCount() {
+        return sessionsCount.get();
+    }
+
+    /**
+     * @return Returns the number of the games started
+     */
+    public long getGamesCount() {
+        return gamesCount.sum();
+    }
+
+    /**
+     * @return Returns the number of the tetrominoes placed
+     */
+    public long getMovesCount() {
+        return movesCount.sum();
+    }
+
+    /**
+     * The event loop of a part of the connections
+     */
+    private class EventLoop implements Runnable {
+        private final Selector selector;
+        // The connections accepted and not registered yet
+        private final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+        // The thread of the loop, null until the server is started
+        private Thread thread;
+        private volatile boolean isClosing;
+
+        EventLoop(Selector selector) {
+            this.selector = selector;
+        }
+
+        /**
+         * Hands the connection over to the loop thread
+         *
+         * @param channel The connection
+         */
+        void add(SocketChannel channel) {
+            pending.add(channel);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!isClosing) {
+                    selector.select();
+                    SocketChannel channel;
+                    while ((channel = pending.poll()) != null) {
+                        channel.register(selector, SelectionKey.OP_READ, new Session());
+                        sessionsCount.incrementAndGet();
+                    }
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        serve(key);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                System.err.println("An event loop has failed: " + e);
+            } finally {
+                closeAll();
+            }
+        }
+
+        /**
+         * Closes the connections of the loop, the ones not registered yet too, and its selector,
+         * which only deregisters the channels
+         */
+        private void closeAll() {
+            for (SelectionKey key : selector.keys()) {
+                // The keys of the connections closed before are cancelled
+                if (key.isValid()) {
+                    close(key);
+                }
+            }
+            SocketChannel channel;
+            while ((channel = pending.poll()) != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    // The connection is gone anyway
+                }
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                System.err.println("An event loop can not be closed: " + e.getMessage());
+            }
+        }
+
+        /**
+         * Reads the requests of the connection, answers them and writes the answers out
+         *
+         * @param key The key of the connection
+         */
+        private void serve(SelectionKey key) {
+            SocketChannel channel = (SocketChannel) key.channel();
+            Session session = (Session) key.attachment();
+            try {
+                if (key.isReadable() && channel.read(session.input) < 0) {
+                    close(key);
+                    return;
+                }
+                boolean isFull;
+                do {
+                    if (!session.answer()) {
+                        close(key);
+                        return;
+                    }
+                    isFull = session.output.remaining() < GameProtocol.STATE_SIZE;
+                    session.output.flip();
+                    channel.write(session.output);
+                    session.output.compact();
+                    // The requests left unanswered for the lack of room are answered once the answers are written
+                } while (isFull && session.output.position() == 0);
+                // A connection is not read while its answers wait for the client
+                key.interestOps(session.output.position() > 0 ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+            } catch (IOException | CancelledKeyException e) {
+                close(key);
+            }
+        }
+
+        private void close(SelectionKey key) {
+            key.cancel();
+            try {
+                key.channel().close();
+            } catch (IOException e) {
+                // The connection is gone anyway
+            }
+            sessionsCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * A connection: its game, the requests read and the answers not written yet
+     */
+    private class Session {
+        final ByteBuffer input = ByteBuffer.allocate(GameProtocol.START_SIZE * 8);
+        final ByteBuffer output = ByteBuffer.allocate(OUTPUT_SIZE);
+        Game game;
+
+        /**
+         * Answers the whole requests read while the answers fit
+         *
+         * @return If the requests are well-formed
+         */
+        boolean answer() {
+            input.flip();
+            try {
+                while (input.hasRemaining() && output.remaining() >= GameProtocol.STATE_SIZE) {
+                    byte type = input.get(input.position());
+                    if (type == GameProtocol.START && input.remaining() >= GameProtocol.START_SIZE) {
+                        long seed = input.getLong(input.position() + Byte.BYTES);
+                        input.position(input.position() + GameProtocol.START_SIZE);
+                        start(seed);
+                    } else if (type == GameProtocol.PLACE && input.remaining() >= GameProtocol.PLACE_SIZE) {
+                        int anchor = input.get(input.position() + Byte.BYTES) & 0xFF;
+                        input.position(input.position() + GameProtocol.PLACE_SIZE);
+                        place(anchor);
+                    } else if (type == GameProtocol.START || type == GameProtocol.PLACE) {
+                        // The rest of the request has not come yet
+                        break;
+                    } else {
+                        return false;
+                    }
+                }
+                return true;
+            } finally {
+                input.compact();
+            }
+        }
+
+        private void start(long seed) {
+            if (game == null) {
+                game = new Game(seed);
+            } else {
+                game.reset(seed);
+            }
+            gamesCount.increment();
+            putState(game.isOver() ? GameProtocol.OVER : GameProtocol.PLAYING);
+        }
+
+        private void place(int anchor) {
+            if (game == null) {
+                output.put(GameProtocol.NO_GAME).put((byte) -1).putShort((short) 0).putLong(0).putLong(0);
+            } else if (game.isOver()) {
+                putState(GameProtocol.OVER);
+            } else if (!game.place(anchor)) {
+                putState(GameProtocol.ILLEGAL);
+            } else {
+                movesCount.increment();
+                putState(game.isOver() ? GameProtocol.OVER : GameProtocol.PLAYING);
+            }
+        }
+
+        private void putState(byte status) {
+            Board board = game.getBoard();
+            output.put(status).put((byte) game.getCurrent().getIndex()).putShort((short) game.getTurnsCount())
+                    .putLong(board.getLow()).putLong(board.getHigh());
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        int loopsNum = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        try (GameServer server = new GameServer(port, loopsNum)) {
+            server.start();
+            System.out.println("Listening on the port " + server.getPort());
+            long reported = 0;
+            while (true) {
+                Thread.sleep(1000);
+                long moves = server.getMovesCount();
+                if (moves != reported) {
+                    reported = moves;
+                    System.out.printf("%d sessions, %d games, %d moves%n", server.getSessionsCount(),
+                            server.getGamesCount(), moves);
+                }
+            }
+        }
+    }
+}
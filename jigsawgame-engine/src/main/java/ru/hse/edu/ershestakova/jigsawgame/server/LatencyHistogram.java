@@ -0,0 +1,108 @@
+package ru.hse.edu.ershestakova.jigsawgame.server;
+
+/**
+ * The histogram of latencies in nanoseconds. Every power of two is split into a few linear bins,
+ * so a value is counted in a fixed array with the relative error under 1/16 whatever its magnitude,
+ * and a percentile is found by a walk over the bins.
+ * An instance is not thread-safe: every thread counts separately and the histograms are merged.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 4;
+    private static final int SUB_NUM = 1 << SUB_BITS;
+
+    private final long[] counts = new long[(Long.SIZE - SUB_BITS + 1) * SUB_NUM];
+    private long count;
+    private long sum;
+    private long max;
+
+    /**
+     * Counts a latency
+     *
+     * @param nanos The latency in nanoseconds, a negative one being counted as zero
+     */
+    public void record(long nanos) {
+        nanos = Math.max(0, nanos);
+        ++counts[getBin(nanos)];
+        ++count;
+        sum += nanos;
+        max = Math.max(max, nanos);
+    }
+
+    /**
+     * Adds the counts of another histogram to these ones
+     *
+     * @param other The histogram being added
+     */
+    public void merge(LatencyHistogram other) {
+        for (int bin = 0; bin < counts.length; ++bin) {
+            counts[bin] += other.counts[bin];
+        }
+        count += other.count;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * @param nanos The latency
+     * @return Returns the bin of the latency
+     */
+    static int getBin(long nanos) {
+        if (nanos < SUB_NUM) {
+            return (int) nanos;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exponent - SUB_BITS)) & (SUB_NUM - 1);
+        return (exponent - SUB_BITS + 1) * SUB_NUM + sub;
+    }
+
+    /**
+     * @param bin The bin
+     * @return Returns the least latency of the bin
+     */
+    static long getLowest(int bin) {
+        if (bin < SUB_NUM) {
+            return bin;
+        }
+        int exponent = bin / SUB_NUM + SUB_BITS - 1;
+        return (1L << exponent) | ((long) (bin % SUB_NUM) << (exponent - SUB_BITS));
+    }
+
+    /**
+     * Gets the least latency no fewer than the share of the latencies have had, up to the bin width
+     *
+     * @param share The share of the latencies between 0 and 1
+     * @return The highest latency of the bin of the percentile in nanoseconds, 0 if nothing has been counted
+     */
+    public long getPercentile(double share) {
+        long rank = Math.max(1, (long) Math.ceil(share * count));
+        long counted = 0;
+        for (int bin = 0; bin < counts.length && count > 0; ++bin) {
+            counted += counts[bin];
+            if (counted >= rank) {
+                return bin + 1 < counts.length ? Math.min(max, getLowest(bin + 1) - 1) : max;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return Returns the number of the latencies counted
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return Returns the mean latency in nanoseconds
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @return Returns the highest latency in nanoseconds
+     */
+    public long getMax() {
+        return max;
+    }
+}
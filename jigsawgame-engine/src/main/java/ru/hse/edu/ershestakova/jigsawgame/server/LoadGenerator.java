@@ -0,0 +1,262 @@
+package ru.hse.edu.ershestakova.jigsawgame.server;
+
+import ru.hse.edu.ershestakova.jigsawgame.ai.RandomStrategy;
+import ru.hse.edu.ershestakova.jigsawgame.model.Board;
+import ru.hse.edu.ershestakova.jigsawgame.model.Tetrominoe;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The load generator of the game server. It opens many connections from a single selector thread, and every
+ * connection plays games one after another by random legal moves, sending a request only once the answer
+ * to the previous one has come, so the latency of every request is measured from its sending to its answer.
+ * The board of a client is set from the state the server sends, so the client holds no rules of its own
+ * but the choice of a legal anchor.
+ * Usage: LoadGenerator connectionsNum seconds [host port], a server being started in the process without a host
+ */
+public class LoadGenerator {
+    private final int connectionsNum;
+    private final long durationNanos;
+    private final SplittableRandom seeds;
+    private final RandomStrategy strategy;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private long gamesCount;
+    private long movesCount;
+    private long errorsCount;
+    private long elapsedNanos;
+
+    /**
+     * Creates a load generator
+     *
+     * @param connectionsNum The number of the connections
+     * @param durationMillis The time the requests are sent for
+     * @param seed           The seed of the games and of the moves
+     */
+    public LoadGenerator(int connectionsNum, long durationMillis, long seed) {
+        this.connectionsNum = connectionsNum;
+        this.durationNanos = durationMillis * 1_000_000;
+        this.seeds = new SplittableRandom(seed);
+        this.strategy = new RandomStrategy(seed);
+    }
+
+    /**
+     * Connects to the server and plays until the time is over, every connection finishing its last request.
+     * A connection which fails is counted as an error and closed, the others going on.
+     *
+     * @param address The address of the server
+     * @throws IOException If the connections can not be opened
+     */
+    public void run(InetSocketAddress address) throws IOException {
+        List<SocketChannel> channels = new ArrayList<>();
+        try (Selector selector = Selector.open()) {
+            for (int i = 0; i < connectionsNum; ++i) {
+                SocketChannel channel = SocketChannel.open();
+                channels.add(channel);
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                Client client = new Client();
+                // A connection made at once, as a local one may be, gets no connect event and starts its game here
+                if (channel.connect(address)) {
+                    client.start(seeds.nextLong());
+                    channel.register(selector, SelectionKey.OP_WRITE, client);
+                } else {
+                    channel.register(selector, SelectionKey.OP_CONNECT, client);
+                }
+            }
+            long start = System.nanoTime();
+            long end = start + durationNanos;
+            int openNum = connectionsNum;
+            while (openNum > 0) {
+                selector.select(100);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    boolean isOpen;
+                    try {
+                        isOpen = serve(key, System.nanoTime() < end);
+                    } catch (IOException e) {
+                        ++errorsCount;
+                        key.channel().close();
+                        isOpen = false;
+                    }
+                    if (!isOpen) {
+                        key.cancel();
+                        --openNum;
+                    }
+                }
+            }
+            elapsedNanos = System.nanoTime() - start;
+        } finally {
+            for (SocketChannel channel : channels) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Handles the event of a connection: sends the first game request once it is connected, answers a state
+     * by the next request and writes out the request left unwritten
+     *
+     * @param key       The key of the connection
+     * @param isSending If new requests are sent
+     * @return If the connection goes on
+     * @throws IOException If the connection fails
+     */
+    private boolean serve(SelectionKey key, boolean isSending) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Client client = (Client) key.attachment();
+        if (key.isConnectable()) {
+            channel.finishConnect();
+            if (!isSending) {
+                return false;
+            }
+            client.start(seeds.nextLong());
+        } else if (key.isReadable()) {
+            if (channel.read(client.input) < 0) {
+                throw new IOException("The server has closed the connection");
+            }
+            if (client.input.position() < GameProtocol.STATE_SIZE) {
+                return true;
+            }
+            latencies.record(System.nanoTime() - client.sentNanos);
+            client.input.flip();
+            boolean isAnswered = isSending && client.answer();
+            client.input.clear();
+            if (!isAnswered) {
+                return false;
+            }
+        }
+        client.output.flip();
+        channel.write(client.output);
+        boolean isWritten = !client.output.hasRemaining();
+        client.output.compact();
+        key.interestOps(isWritten ? SelectionKey.OP_READ : SelectionKey.OP_WRITE);
+        return true;
+    }
+
+    /**
+     * A connection: the board of its game and its request
+     */
+    private class Client {
+        final ByteBuffer input = ByteBuffer.allocate(GameProtocol.STATE_SIZE);
+        final ByteBuffer output = ByteBuffer.allocate(GameProtocol.START_SIZE);
+        final Board board = new Board();
+        long sentNanos;
+
+        void start(long seed) {
+            output.put(GameProtocol.START).putLong(seed);
+            sentNanos = System.nanoTime();
+        }
+
+        /**
+         * Puts the next request after the state: a random legal move or a new game
+         *
+         * @return If the state is the one of a game
+         */
+        boolean answer() {
+            byte status = input.get();
+            int index = input.get();
+            input.getShort();
+            long low = input.getLong();
+            long high = input.getLong();
+            if (status == GameProtocol.OVER) {
+                ++gamesCount;
+                start(seeds.nextLong());
+                return true;
+            }
+            if (status != GameProtocol.PLAYING) {
+                ++errorsCount;
+                return false;
+            }
+            board.reset();
+            board.place(low, high);
+            int anchor = strategy.chooseAnchor(board, Tetrominoe.fromIndex(index));
+            output.put(GameProtocol.PLACE).put((byte) anchor);
+            sentNanos = System.nanoTime();
+            ++movesCount;
+            return true;
+        }
+    }
+
+    /**
+     * @return Returns the latencies of the requests answered in nanoseconds
+     */
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * @return Returns the number of the games played to the end
+     */
+    public long getGamesCount() {
+        return gamesCount;
+    }
+
+    /**
+     * @return Returns the number of the moves sent
+     */
+    public long getMovesCount() {
+        return movesCount;
+    }
+
+    /**
+     * @return Returns the number of the moves refused, the answers of no game and the connections failed,
+     * every error closing its connection
+     */
+    public long getErrorsCount() {
+        return errorsCount;
+    }
+
+    /**
+     * @return Returns the time from the connecting to the last answer in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Formats the throughput and the latency percentiles
+     *
+     * @return The report
+     */
+    public String report() {
+        double seconds = elapsedNanos / 1e9;
+        return String.format("%d connections, %.1f s: %.0f requests/s, %.0f moves/s, %.0f games/s, %d errors%n"
+                        + "latency us mean %.1f, p50 %.1f, p90 %.1f, p99 %.1f, p99.9 %.1f, max %.1f%n",
+                connectionsNum, seconds, latencies.getCount() / seconds, movesCount / seconds, gamesCount / seconds,
+                errorsCount, latencies.getMean() / 1e3, latencies.getPercentile(0.5) / 1e3,
+                latencies.getPercentile(0.9) / 1e3, latencies.getPercentile(0.99) / 1e3,
+                latencies.getPercentile(0.999) / 1e3, latencies.getMax() / 1e3);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: LoadGenerator connectionsNum seconds [host port]");
+            return;
+        }
+        int connectionsNum = Integer.parseInt(args[0]);
+        long durationMillis = Long.parseLong(args[1]) * 1000;
+        LoadGenerator generator = new LoadGenerator(connectionsNum, durationMillis, System.nanoTime());
+        if (args.length > 3) {
+            generator.run(new InetSocketAddress(args[2], Integer.parseInt(args[3])));
+        } else {
+            try (GameServer server = new GameServer(0, Runtime.getRuntime().availableProcessors())) {
+                server.start();
+                generator.run(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+            }
+        }
+        System.out.print(generator.report());
+    }
+}
@@ -0,0 +1,25 @@
+package ru.hse.edu.ershestakova.jigsawgame.simulation;
+
+/**
+ * The protocol between the simulation coordinator and its workers over a socket.
+ * A worker opens with the magic, the version and the number of its threads. Then the coordinator sends
+ * a shard, the worker answers with the cumulative statistics of the shard every heartbeat and with
+ * the final ones when it is done, and so on until the coordinator says goodbye.
+ * The statistics are written by {@link SimulationStatistics#write(java.io.DataOutput)}.
+ */
+final class ShardProtocol {
+    static final int MAGIC = 0x4A475348;
+    static final int VERSION = 1;
+    // Coordinator messages: shard id, seed, first game, games number, policy
+    static final byte SHARD = 1;
+    static final byte BYE = 2;
+    // Worker messages: shard id, statistics
+    static final byte PROGRESS = 3;
+    static final byte DONE = 4;
+    // A worker silent for longer than the timeout is considered dead
+    static final int HEARTBEAT_MILLIS = 500;
+    static final int TIMEOUT_MILLIS = 10_000;
+
+    private ShardProtocol() {
+    }
+}
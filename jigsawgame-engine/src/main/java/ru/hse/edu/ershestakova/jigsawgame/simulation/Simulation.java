@@ -0,0 +1,255 @@
+package ru.hse.edu.ershestakova.jigsawgame.simulation;
+
+import ru.hse.edu.ershestakova.jigsawgame.ai.ExpectimaxPlayer;
+import ru.hse.edu.ershestakova.jigsawgame.ai.RandomStrategy;
+import ru.hse.edu.ershestakova.jigsawgame.model.Game;
+import ru.hse.edu.ershestakova.jigsawgame.model.Strategy;
+import ru.hse.edu.ershestakova.jigsawgame.model.Tetrominoe;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * The headless runner playing whole games by the game rules and counting their statistics.
+ * Every worker thread has its own game and statistics and takes the games by chunks,
+ * the only shared state being the number of the next chunk and the total statistics the chunks are merged into,
+ * so the run scales with the number of the cores. The tetrominoes of a game are dealt by a generator seeded
+ * with the seed of the game, and its strategy is got by the same seed from the strategies of the worker, so every
+ * game is the same whichever worker plays it, and the statistics of a strategy not limited by time depend
+ * on the seed of the run and the number of the games only.
+ * Usage: Simulation gamesNum [threadsNum] [random|expectimax] [seed]
+ */
+public class Simulation {
+    // The number of the games a worker plays before merging its statistics
+    private static final int CHUNK_SIZE = 4096;
+    // Mixes the seeds of the games of a run
+    private static final long SEED_STEP = 0x9E3779B97F4A7C15L;
+    // Names of the policies
+    public static final String RANDOM = "random";
+    public static final String EXPECTIMAX = "expectimax";
+
+    private final Supplier<LongFunction<Strategy>> workerStrategies;
+    private final int threadsNum;
+
+    /**
+     * Creates a runner of the strategies created for every game
+     *
+     * @param strategies Creates the strategy of a game by the seed of the game
+     * @param threadsNum The number of the worker threads
+     */
+    public Simulation(LongFunction<Strategy> strategies, int threadsNum) {
+        this(() -> strategies, threadsNum);
+    }
+
+    /**
+     * Creates a runner
+     *
+     * @param workerStrategies Creates for every worker thread the strategies of its games by the seeds
+     *                         of the games, which may give the same instance for every game; they are closed
+     *                         when the worker ends if they are closeable
+     * @param threadsNum       The number of the worker threads
+     */
+    public Simulation(Supplier<LongFunction<Strategy>> workerStrategies, int threadsNum) {
+        this.workerStrategies = workerStrategies;
+        this.threadsNum = threadsNum;
+    }
+
+    /**
+     * Plays the games
+     *
+     * @param gamesNum The number of the games
+     * @param seed     The seed of the run
+     * @return The statistics of all the games
+     */
+    public SimulationStatistics run(long gamesNum, long seed) {
+        return run(gamesNum, seed, null);
+    }
+
+    /**
+     * Plays the games reporting the statistics every time a chunk of the games is finished
+     *
+     * @param gamesNum The number of the games
+     * @param seed     The seed of the run
+     * @param progress Receives the statistics of the games finished so far under the statistics lock, may be null
+     * @return The statistics of all the games
+     */
+    public SimulationStatistics run(long gamesNum, long seed, Consumer<SimulationStatistics> progress) {
+        return run(0, gamesNum, seed, progress);
+    }
+
+    /**
+     * Plays a range of the games of a run reporting the statistics every time a chunk of the games is finished
+     *
+     * @param firstGame The number of the first game in the run
+     * @param gamesNum  The number of the games
+     * @param seed      The seed of the run
+     * @param progress  Receives the statistics of the games finished so far under the statistics lock, may be null
+     * @return The statistics of the games
+     */
+    public SimulationStatistics run(long firstGame, long gamesNum, long seed,
+                                    Consumer<SimulationStatistics> progress) {
+        SimulationStatistics total = new SimulationStatistics();
+        AtomicLong nextGame = new AtomicLong(firstGame);
+        ExecutorService executor = Executors.newFixedThreadPool(threadsNum);
+        try {
+            List<Future<?>> workers = new ArrayList<>(threadsNum);
+            for (int worker = 0; worker < threadsNum; ++worker) {
+                workers.add(executor.submit((Callable<Void>) () -> {
+                    work(firstGame + gamesNum, seed, nextGame, total, progress);
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        return total;
+    }
+
+    /**
+     * Plays the chunks of the games until all of them are taken
+     */
+    private void work(long endGame, long seed, AtomicLong nextGame, SimulationStatistics total,
+                      Consumer<SimulationStatistics> progress) {
+        Game game = new Game(seed);
+        SimulationStatistics chunk = new SimulationStatistics();
+        LongFunction<Strategy> strategies = workerStrategies.get();
+        try {
+            for (long first = nextGame.getAndAdd(CHUNK_SIZE); first < endGame;
+                 first = nextGame.getAndAdd(CHUNK_SIZE)) {
+                long last = Math.min(first + CHUNK_SIZE, endGame);
+                for (long i = first; i < last; ++i) {
+                    long gameSeed = getGameSeed(seed, i);
+                    play(game, gameSeed, strategies.apply(gameSeed), chunk);
+                }
+                synchronized (total) {
+                    total.merge(chunk);
+                    if (progress != null) {
+                        progress.accept(total);
+                    }
+                }
+                chunk.reset();
+            }
+        } finally {
+            close(strategies);
+        }
+    }
+
+    /**
+     * Plays a whole game
+     *
+     * @param game       The game, which is started anew
+     * @param seed       The seed of the game
+     * @param strategy   The strategy of the player
+     * @param statistics The statistics the game is counted in
+     */
+    static void play(Game game, long seed, Strategy strategy, SimulationStatistics statistics) {
+        game.reset(seed);
+        while (true) {
+            Tetrominoe current = game.getCurrent();
+            boolean fitting = !game.isOver();
+            statistics.addDealt(current.getType(), fitting);
+            if (!fitting) {
+                break;
+            }
+            game.step(strategy);
+        }
+        statistics.addGame(game.getTurnsCount());
+    }
+
+    /**
+     * Releases the resources of the strategies of a worker, such as the pool of a search, if they hold any
+     *
+     * @param strategies The strategies
+     */
+    private static void close(LongFunction<Strategy> strategies) {
+        if (strategies instanceof Closeable) {
+            try {
+                ((Closeable) strategies).close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Gets the strategies of the workers by the name of the policy
+     *
+     * @param policy {@link #RANDOM} or {@link #EXPECTIMAX}
+     * @return Creates for a worker the strategies of its games by the seeds of the games
+     */
+    public static Supplier<LongFunction<Strategy>> getStrategies(String policy) {
+        switch (policy) {
+            case RANDOM:
+                return () -> RandomStrategy::new;
+            case EXPECTIMAX:
+                // Every worker searches one ply alone, the parallelism coming from the games
+                return ExpectimaxStrategies::new;
+            default:
+                throw new IllegalArgumentException("Unknown policy " + policy);
+        }
+    }
+
+    /**
+     * The expectimax player of a worker, which plays all its games and forgets its searches before every one,
+     * the search using no randomness to be seeded
+     */
+    private static class ExpectimaxStrategies implements LongFunction<Strategy>, Closeable {
+        private final ExpectimaxPlayer player = new ExpectimaxPlayer(10, 1, 16, 1);
+
+        @Override
+        public Strategy apply(long gameSeed) {
+            player.clear();
+            return player;
+        }
+
+        @Override
+        public void close() {
+            player.close();
+        }
+    }
+
+    /**
+     * @param seed The seed of the run
+     * @param game The number of the game in the run
+     * @return Returns the seed of the tetrominoes sequence of the game
+     */
+    public static long getGameSeed(long seed, long game) {
+        return seed + game * SEED_STEP;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: Simulation gamesNum [threadsNum] [random|expectimax] [seed]");
+            return;
+        }
+        long gamesNum = Long.parseLong(args[0]);
+        int threadsNum = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        String policy = args.length > 2 ? args[2] : RANDOM;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 0;
+        long start = System.nanoTime();
+        SimulationStatistics statistics = new Simulation(getStrategies(policy), threadsNum)
+                .run(gamesNum, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.print(statistics);
+        System.out.printf("%.1f s, %.0f games/s%n", seconds, gamesNum / seconds);
+    }
+}
@@ -0,0 +1,355 @@
+package ru.hse.edu.ershestakova.jigsawgame.simulation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * The coordinator of a simulation distributed between worker processes. The games of the job are split
+ * into shards of consecutive game numbers, the seed of a game depending on its number only, so a shard
+ * gives the same games whichever worker plays it. Every connected worker is given a shard at a time.
+ * The statistics of a shard are merged into the total only when the shard is done, so the shard of a worker
+ * which dies or falls silent is simply given to another one. Workers are spawned as local processes
+ * or connect from other machines with the same protocol.
+ * Usage: SimulationCoordinator gamesNum [localWorkersNum] [threadsPerWorker] [random|expectimax] [seed] [port]
+ */
+public class SimulationCoordinator implements Closeable {
+    // The number of the games of a shard unless it is given
+    private static final long DEFAULT_SHARD_GAMES_NUM = 100_000;
+
+    private final ServerSocket server;
+    private final String policy;
+    private final long seed;
+    private final BlockingDeque<Shard> queue = new LinkedBlockingDeque<>();
+    private final CountDownLatch remaining;
+    // The statistics of the done shards and the latest ones of the shards being played, guarded by total
+    private final SimulationStatistics total = new SimulationStatistics();
+    private final Map<Integer, SimulationStatistics> playing = new HashMap<>();
+    private final boolean[] done;
+    private int redispatchedCount;
+    private Consumer<SimulationStatistics> progress;
+    // Local workers and the number of them which may still be respawned
+    private final List<Process> processes = new ArrayList<>();
+    private int respawnsLeft;
+
+    /**
+     * Creates a coordinator listening for the workers
+     *
+     * @param port          The port, 0 for any free one
+     * @param policy        The policy of the players
+     * @param seed          The seed of the run
+     * @param gamesNum      The number of the games
+     * @param shardGamesNum The number of the games of a shard
+     * @throws IOException If the port can not be listened on
+     */
+    public SimulationCoordinator(int port, String policy, long seed, long gamesNum, long shardGamesNum)
+            throws IOException {
+        // An unknown policy fails before any worker connects
+        Simulation.getStrategies(policy);
+        this.server = new ServerSocket(port);
+        this.policy = policy;
+        this.seed = seed;
+        int shardsNum = (int) ((gamesNum + shardGamesNum - 1) / shardGamesNum);
+        for (int id = 0; id < shardsNum; ++id) {
+            long first = id * shardGamesNum;
+            queue.add(new Shard(id, first, Math.min(shardGamesNum, gamesNum - first)));
+        }
+        this.done = new boolean[shardsNum];
+        this.remaining = new CountDownLatch(shardsNum);
+    }
+
+    /**
+     * @return Returns the port the coordinator listens on
+     */
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Spawns worker processes on this machine, respawning the ones which die while there are shards left
+     *
+     * @param workersNum The number of the worker processes
+     * @param threadsNum The number of the threads of a worker
+     * @throws IOException If a process can not be started
+     */
+    public void spawnLocalWorkers(int workersNum, int threadsNum) throws IOException {
+        synchronized (processes) {
+            respawnsLeft += 2 * workersNum;
+        }
+        for (int i = 0; i < workersNum; ++i) {
+            spawn(threadsNum);
+        }
+    }
+
+    /**
+     * Starts a worker process with the class or module path of this one
+     *
+     * @param threadsNum The number of the threads of the worker
+     * @throws IOException If the process can not be started
+     */
+    private void spawn(int threadsNum) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        String modulePath = System.getProperty("jdk.module.path");
+        if (modulePath != null) {
+            command.add("-p");
+            command.add(modulePath);
+            command.add("-m");
+            command.add(SimulationWorker.class.getModule().getName() + "/" + SimulationWorker.class.getName());
+        } else {
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(SimulationWorker.class.getName());
+        }
+        command.add(InetAddress.getLoopbackAddress().getHostAddress());
+        command.add(Integer.toString(getPort()));
+        command.add(Integer.toString(threadsNum));
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        synchronized (processes) {
+            processes.add(process);
+        }
+        process.onExit().thenRun(() -> {
+            synchronized (processes) {
+                if (remaining.getCount() == 0 || respawnsLeft == 0 || server.isClosed()) {
+                    return;
+                }
+                --respawnsLeft;
+            }
+            try {
+                spawn(threadsNum);
+            } catch (IOException e) {
+                System.err.println("A worker can not be respawned: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Serves the workers until all the shards are done
+     *
+     * @param progress Receives the statistics of the games finished so far under the statistics lock, may be null
+     * @return The statistics of all the games
+     * @throws InterruptedException If the waiting is interrupted
+     */
+    public SimulationStatistics run(Consumer<SimulationStatistics> progress) throws InterruptedException {
+        this.progress = progress;
+        Thread acceptor = new Thread(this::accept, "coordinator-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        remaining.await();
+        synchronized (total) {
+            return total;
+        }
+    }
+
+    /**
+     * Accepts the workers, every one being served by a thread of its own
+     */
+    private void accept() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                Thread handler = new Thread(() -> serve(socket), "coordinator-" + socket.getRemoteSocketAddress());
+                handler.setDaemon(true);
+                handler.start();
+            } catch (SocketException e) {
+                // The server has been closed
+                return;
+            } catch (IOException e) {
+                System.err.println("A worker can not be accepted: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Gives the shards to a worker one by one until all are done or the worker fails
+     *
+     * @param socket The socket of the worker
+     */
+    private void serve(Socket socket) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(ShardProtocol.TIMEOUT_MILLIS);
+            DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            if (input.readInt() != ShardProtocol.MAGIC || input.readInt() != ShardProtocol.VERSION) {
+                throw new IOException("Not a simulation worker");
+            }
+            input.readInt();
+            while (remaining.getCount() > 0) {
+                Shard shard = queue.poll(ShardProtocol.HEARTBEAT_MILLIS, TimeUnit.MILLISECONDS);
+                if (shard == null) {
+                    continue;
+                }
+                try {
+                    dispatch(shard, input, output);
+                } catch (IOException e) {
+                    redispatch(shard);
+                    throw e;
+                }
+            }
+            output.writeByte(ShardProtocol.BYE);
+            output.flush();
+        } catch (IOException e) {
+            System.err.println("A worker has failed: " + e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Sends the shard to the worker and receives its statistics until it is done
+     */
+    private void dispatch(Shard shard, DataInputStream input, DataOutputStream output) throws IOException {
+        output.writeByte(ShardProtocol.SHARD);
+        output.writeLong(shard.id);
+        output.writeLong(seed);
+        output.writeLong(shard.firstGame);
+        output.writeLong(shard.gamesNum);
+        output.writeUTF(policy);
+        output.flush();
+        while (true) {
+            byte type = input.readByte();
+            long id = input.readLong();
+            SimulationStatistics statistics = new SimulationStatistics();
+            statistics.read(input);
+            if (id != shard.id || (type != ShardProtocol.PROGRESS && type != ShardProtocol.DONE)) {
+                throw new IOException("Unexpected message " + type + " of the shard " + id);
+            }
+            synchronized (total) {
+                if (type == ShardProtocol.PROGRESS) {
+                    playing.put(shard.id, statistics);
+                } else {
+                    playing.remove(shard.id);
+                    if (!done[shard.id]) {
+                        done[shard.id] = true;
+                        total.merge(statistics);
+                        remaining.countDown();
+                    }
+                }
+                report();
+            }
+            if (type == ShardProtocol.DONE) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Puts the shard of a failed worker back to the head of the queue
+     *
+     * @param shard The shard
+     */
+    private void redispatch(Shard shard) {
+        synchronized (total) {
+            playing.remove(shard.id);
+            if (!done[shard.id]) {
+                ++redispatchedCount;
+                queue.addFirst(shard);
+            }
+        }
+    }
+
+    /**
+     * Reports the statistics of the done shards together with the latest ones of the shards being played
+     */
+    private void report() {
+        if (progress == null) {
+            return;
+        }
+        SimulationStatistics snapshot = new SimulationStatistics();
+        snapshot.merge(total);
+        for (SimulationStatistics statistics : playing.values()) {
+            snapshot.merge(statistics);
+        }
+        progress.accept(snapshot);
+    }
+
+    /**
+     * @return Returns the number of the shards given again after their workers have failed
+     */
+    public int getRedispatchedCount() {
+        synchronized (total) {
+            return redispatchedCount;
+        }
+    }
+
+    /**
+     * Stops listening and kills the local workers still running
+     */
+    @Override
+    public void close() throws IOException {
+        server.close();
+        synchronized (processes) {
+            for (Process process : processes) {
+                process.destroy();
+            }
+        }
+    }
+
+    /**
+     * Consecutive games of the job
+     */
+    private static class Shard {
+        final int id;
+        final long firstGame;
+        final long gamesNum;
+
+        Shard(int id, long firstGame, long gamesNum) {
+            this.id = id;
+            this.firstGame = firstGame;
+            this.gamesNum = gamesNum;
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.err.println("Usage: SimulationCoordinator gamesNum [localWorkersNum] [threadsPerWorker] "
+                    + "[random|expectimax] [seed] [port]");
+            return;
+        }
+        long gamesNum = Long.parseLong(args[0]);
+        int workersNum = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int threadsNum = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        String policy = args.length > 3 ? args[3] : Simulation.RANDOM;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 0;
+        int port = args.length > 5 ? Integer.parseInt(args[5]) : 0;
+        try (SimulationCoordinator coordinator = new SimulationCoordinator(port, policy, seed, gamesNum,
+                DEFAULT_SHARD_GAMES_NUM)) {
+            System.out.println("Listening on the port " + coordinator.getPort());
+            coordinator.spawnLocalWorkers(workersNum, threadsNum);
+            long start = System.nanoTime();
+            long[] reported = {start};
+            SimulationStatistics statistics = coordinator.run(snapshot -> {
+                long now = System.nanoTime();
+                if (now - reported[0] > 1_000_000_000L) {
+                    reported[0] = now;
+                    System.out.printf("%d games, mean turns %.3f%n", snapshot.getGamesCount(),
+                            snapshot.getMeanTurns());
+                }
+            });
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.print(statistics);
+            System.out.printf("%.1f s, %.0f games/s, %d shards redispatched%n", seconds,
+                    statistics.getGamesCount() / seconds, coordinator.getRedispatchedCount());
+        }
+    }
+}
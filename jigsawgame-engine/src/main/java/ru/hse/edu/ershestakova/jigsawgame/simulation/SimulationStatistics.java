@@ -0,0 +1,182 @@
+package ru.hse.edu.ershestakova.jigsawgame.simulation;
+
+import ru.hse.edu.ershestakova.jigsawgame.model.Board;
+import ru.hse.edu.ershestakova.jigsawgame.model.Tetrominoe;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Aggregate statistics of the simulated games. A game is counted by the number of its turns only,
+ * and a turn fills at least one cell, so the histogram of the turns has a bin for every possible number
+ * and the percentiles are exact however many games are counted.
+ * An instance is not thread-safe: every worker counts its games separately and the counts are merged.
+ */
+public class SimulationStatistics {
+    private static final int TYPES_NUM = Tetrominoe.TetrominoeType.values().length;
+    // The largest possible number of the turns of a game
+    public static final int MAX_TURNS = Board.CELLS_NUM;
+
+    private long gamesCount;
+    private long turnsSum;
+    private final long[] gamesByTurns = new long[MAX_TURNS + 1];
+    // The tetrominoes dealt and the ones of them which could be placed by type
+    private final long[] dealtByType = new long[TYPES_NUM];
+    private final long[] fittingByType = new long[TYPES_NUM];
+
+    /**
+     * Counts a dealt tetrominoe
+     *
+     * @param type    Tetrominoe type
+     * @param fitting If the tetrominoe could be placed
+     */
+    void addDealt(Tetrominoe.TetrominoeType type, boolean fitting) {
+        ++dealtByType[type.ordinal()];
+        if (fitting) {
+            ++fittingByType[type.ordinal()];
+        }
+    }
+
+    /**
+     * Counts a finished game
+     *
+     * @param turnsCount The number of the tetrominoes placed
+     */
+    void addGame(int turnsCount) {
+        ++gamesCount;
+        turnsSum += turnsCount;
+        ++gamesByTurns[turnsCount];
+    }
+
+    /**
+     * Adds the counts of other statistics to these ones
+     *
+     * @param other The statistics being added
+     */
+    public void merge(SimulationStatistics other) {
+        gamesCount += other.gamesCount;
+        turnsSum += other.turnsSum;
+        for (int turns = 0; turns <= MAX_TURNS; ++turns) {
+            gamesByTurns[turns] += other.gamesByTurns[turns];
+        }
+        for (int type = 0; type < TYPES_NUM; ++type) {
+            dealtByType[type] += other.dealtByType[type];
+            fittingByType[type] += other.fittingByType[type];
+        }
+    }
+
+    /**
+     * Clears the counts
+     */
+    public void reset() {
+        gamesCount = 0;
+        turnsSum = 0;
+        Arrays.fill(gamesByTurns, 0);
+        Arrays.fill(dealtByType, 0);
+        Arrays.fill(fittingByType, 0);
+    }
+
+    /**
+     * Writes the counts
+     *
+     * @param output The output
+     * @throws IOException If the output fails
+     */
+    public void write(DataOutput output) throws IOException {
+        output.writeLong(gamesCount);
+        output.writeLong(turnsSum);
+        for (long count : gamesByTurns) {
+            output.writeLong(count);
+        }
+        for (int type = 0; type < TYPES_NUM; ++type) {
+            output.writeLong(dealtByType[type]);
+            output.writeLong(fittingByType[type]);
+        }
+    }
+
+    /**
+     * Reads the counts written by {@link #write(DataOutput)} in place of the current ones
+     *
+     * @param input The input
+     * @throws IOException If the input fails
+     */
+    public void read(DataInput input) throws IOException {
+        gamesCount = input.readLong();
+        turnsSum = input.readLong();
+        for (int turns = 0; turns <= MAX_TURNS; ++turns) {
+            gamesByTurns[turns] = input.readLong();
+        }
+        for (int type = 0; type < TYPES_NUM; ++type) {
+            dealtByType[type] = input.readLong();
+            fittingByType[type] = input.readLong();
+        }
+    }
+
+    public long getGamesCount() {
+        return gamesCount;
+    }
+
+    /**
+     * @return Returns the mean number of the tetrominoes placed in a game
+     */
+    public double getMeanTurns() {
+        return gamesCount == 0 ? 0 : (double) turnsSum / gamesCount;
+    }
+
+    /**
+     * @param turnsCount The number of the tetrominoes placed
+     * @return Returns the number of the games with exactly this number of the turns
+     */
+    public long getGamesCount(int turnsCount) {
+        return gamesByTurns[turnsCount];
+    }
+
+    /**
+     * Gets the least number of the turns no fewer than the share of the games have had
+     *
+     * @param share The share of the games between 0 and 1
+     * @return The percentile of the number of the turns, 0 if no games have been counted
+     */
+    public int getPercentile(double share) {
+        long rank = (long) Math.ceil(share * gamesCount);
+        long counted = 0;
+        for (int turns = 0; turns <= MAX_TURNS; ++turns) {
+            counted += gamesByTurns[turns];
+            if (counted >= rank && counted > 0) {
+                return turns;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @param type Tetrominoe type
+     * @return Returns the share of the dealt tetrominoes of the type which could be placed
+     */
+    public double getFitRate(Tetrominoe.TetrominoeType type) {
+        long dealt = dealtByType[type.ordinal()];
+        return dealt == 0 ? 0 : (double) fittingByType[type.ordinal()] / dealt;
+    }
+
+    /**
+     * @param type Tetrominoe type
+     * @return Returns the number of the dealt tetrominoes of the type
+     */
+    public long getDealtCount(Tetrominoe.TetrominoeType type) {
+        return dealtByType[type.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("games: %d, mean turns: %.3f, turns p1/p10/p50/p90/p99: %d/%d/%d/%d/%d%n",
+                gamesCount, getMeanTurns(), getPercentile(0.01), getPercentile(0.1), getPercentile(0.5),
+                getPercentile(0.9), getPercentile(0.99)));
+        for (Tetrominoe.TetrominoeType type : Tetrominoe.TetrominoeType.values()) {
+            builder.append(String.format("%s fit rate: %.4f%n", type, getFitRate(type)));
+        }
+        return builder.toString();
+    }
+}
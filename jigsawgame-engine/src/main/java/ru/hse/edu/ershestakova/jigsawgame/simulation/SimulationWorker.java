@@ -0,0 +1,117 @@
+package ru.hse.edu.ershestakova.jigsawgame.simulation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The worker process of a distributed simulation. It connects to the coordinator, plays the shards it is given
+ * on all its threads and streams their statistics back, the periodic reports being the heartbeat of the worker.
+ * Usage: SimulationWorker host port [threadsNum]
+ */
+public class SimulationWorker {
+    private final int threadsNum;
+
+    /**
+     * Creates a worker
+     *
+     * @param threadsNum The number of the threads playing a shard
+     */
+    public SimulationWorker(int threadsNum) {
+        this.threadsNum = threadsNum;
+    }
+
+    /**
+     * Plays the shards of the coordinator until it says goodbye
+     *
+     * @param host The host of the coordinator
+     * @param port The port of the coordinator
+     * @throws IOException If the connection fails
+     */
+    public void run(String host, int port) throws IOException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            output.writeInt(ShardProtocol.MAGIC);
+            output.writeInt(ShardProtocol.VERSION);
+            output.writeInt(threadsNum);
+            output.flush();
+            while (true) {
+                byte type = input.readByte();
+                if (type == ShardProtocol.BYE) {
+                    return;
+                }
+                if (type != ShardProtocol.SHARD) {
+                    throw new IOException("Unexpected message " + type);
+                }
+                long shardId = input.readLong();
+                long seed = input.readLong();
+                long firstGame = input.readLong();
+                long gamesNum = input.readLong();
+                String policy = input.readUTF();
+                play(executor, output, shardId, seed, firstGame, gamesNum, policy);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Plays a shard reporting its statistics every heartbeat
+     */
+    private void play(ExecutorService executor, DataOutputStream output, long shardId, long seed, long firstGame,
+                      long gamesNum, String policy) throws IOException {
+        SimulationStatistics latest = new SimulationStatistics();
+        Future<SimulationStatistics> shard = executor.submit(() ->
+                new Simulation(Simulation.getStrategies(policy), threadsNum).run(firstGame, gamesNum, seed, total -> {
+                    synchronized (latest) {
+                        latest.reset();
+                        latest.merge(total);
+                    }
+                }));
+        while (true) {
+            try {
+                SimulationStatistics statistics = shard.get(ShardProtocol.HEARTBEAT_MILLIS, TimeUnit.MILLISECONDS);
+                send(output, ShardProtocol.DONE, shardId, statistics);
+                return;
+            } catch (TimeoutException e) {
+                synchronized (latest) {
+                    send(output, ShardProtocol.PROGRESS, shardId, latest);
+                }
+            } catch (ExecutionException e) {
+                throw new IOException("The shard " + shardId + " has failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("The worker has been interrupted");
+            }
+        }
+    }
+
+    private static void send(DataOutputStream output, byte type, long shardId, SimulationStatistics statistics)
+            throws IOException {
+        output.writeByte(type);
+        output.writeLong(shardId);
+        statistics.write(output);
+        output.flush();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SimulationWorker host port [threadsNum]");
+            return;
+        }
+        int threadsNum = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        new SimulationWorker(threadsNum).run(args[0], Integer.parseInt(args[1]));
+    }
+}
@@ -0,0 +1,64 @@
+package ru.hse.edu.ershestakova.jigsawgame.solver;
+
+import ru.hse.edu.ershestakova.jigsawgame.model.Board;
+
+/**
+ * An instance of the Puzzle class is a starting board with pre-filled cells
+ * together with a tiling of its empty cells, which proves the board completable.
+ */
+public class Puzzle {
+    private final long seed;
+    private final long low;
+    private final long high;
+    private final int[] solution;
+
+    /**
+     * Creates a puzzle
+     *
+     * @param seed     The seed the puzzle has been generated with
+     * @param low      Low word of the pre-filled cells mask
+     * @param high     High word of the pre-filled cells mask
+     * @param solution The placements tiling the empty cells
+     */
+    Puzzle(long seed, long low, long high, int[] solution) {
+        this.seed = seed;
+        this.low = low;
+        this.high = high;
+        this.solution = solution;
+    }
+
+    /**
+     * @return Returns a new board with the pre-filled cells of the puzzle
+     */
+    public Board toBoard() {
+        Board board = new Board();
+        board.place(low, high);
+        return board;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return Returns the low word of the pre-filled cells mask
+     */
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * @return Returns the high word of the pre-filled cells mask
+     */
+    public long getHigh() {
+        return high;
+    }
+
+    /**
+     * @return Returns a copy of the placements tiling the empty cells
+     * @see TilingSolver#getPlacementLow(int)
+     */
+    public int[] getSolution() {
+        return solution.clone();
+    }
+}
@@ -0,0 +1,104 @@
+package ru.hse.edu.ershestakova.jigsawgame.solver;
+
+import ru.hse.edu.ershestakova.jigsawgame.model.Tetrominoe;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * An instance of the PuzzleGenerator class generates starting boards guaranteed to be completable.
+ * The whole board is tiled at random first, then a few pieces of the tiling are taken away and the rest
+ * stay pre-filled, so the pieces taken away are a tiling of the empty cells by construction.
+ * Every puzzle depends only on its seed, and the batches are generated in parallel.
+ */
+public class PuzzleGenerator {
+    // The search giving up after this number of nodes starts again in another random order
+    private static final long NODES_LIMIT = 20_000;
+    // Mixes the seeds of a batch
+    private static final long SEED_STEP = 0x9E3779B97F4A7C15L;
+
+    private final Set<Tetrominoe.TetrominoeType> types;
+    private final int emptyPiecesNum;
+    // The solvers are not thread-safe, so every thread of a batch has its own
+    private final ThreadLocal<TilingSolver> solvers;
+
+    /**
+     * Creates a generator of the puzzles tiled by every type but the square,
+     * which fits into any cell and would make every board completable
+     *
+     * @param emptyPiecesNum The number of the pieces to be placed to complete a puzzle
+     */
+    public PuzzleGenerator(int emptyPiecesNum) {
+        this(EnumSet.complementOf(EnumSet.of(Tetrominoe.TetrominoeType.SQUARE)), emptyPiecesNum);
+    }
+
+    /**
+     * Creates a generator
+     *
+     * @param types          The tetrominoe types the puzzles are tiled by
+     * @param emptyPiecesNum The number of the pieces to be placed to complete a puzzle
+     */
+    public PuzzleGenerator(Set<Tetrominoe.TetrominoeType> types, int emptyPiecesNum) {
+        if (types.isEmpty() || emptyPiecesNum < 1) {
+            throw new IllegalArgumentException("At least one type and one empty piece are required");
+        }
+        this.types = EnumSet.copyOf(types);
+        this.emptyPiecesNum = emptyPiecesNum;
+        this.solvers = ThreadLocal.withInitial(() -> new TilingSolver(this.types));
+    }
+
+    /**
+     * Generates a puzzle
+     *
+     * @param seed The seed of the puzzle
+     * @return The puzzle
+     */
+    public Puzzle generate(long seed) {
+        Random random = new Random(seed);
+        TilingSolver solver = solvers.get();
+        int[] tiling;
+        do {
+            tiling = solver.solve(0, 0, random, NODES_LIMIT);
+        } while (tiling == null);
+        // The first pieces of the shuffled tiling are taken away
+        int emptyNum = Math.min(emptyPiecesNum, tiling.length);
+        for (int i = 0; i < emptyNum; ++i) {
+            int j = i + random.nextInt(tiling.length - i);
+            int piece = tiling[i];
+            tiling[i] = tiling[j];
+            tiling[j] = piece;
+        }
+        long low = 0;
+        long high = 0;
+        for (int i = emptyNum; i < tiling.length; ++i) {
+            low |= TilingSolver.getPlacementLow(tiling[i]);
+            high |= TilingSolver.getPlacementHigh(tiling[i]);
+        }
+        return new Puzzle(seed, low, high, Arrays.copyOf(tiling, emptyNum));
+    }
+
+    /**
+     * Generates puzzles in parallel
+     *
+     * @param seed  The seed of the batch
+     * @param count The number of the puzzles
+     * @return The puzzles in the order of their seeds
+     */
+    public List<Puzzle> generate(long seed, int count) {
+        return LongStream.range(0, count).parallel()
+                .mapToObj(i -> generate(seed + i * SEED_STEP))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return Returns the number of the pieces to be placed to complete a puzzle
+     */
+    public int getEmptyPiecesNum() {
+        return emptyPiecesNum;
+    }
+}
@@ -0,0 +1,350 @@
+package ru.hse.edu.ershestakova.jigsawgame.solver;
+
+import ru.hse.edu.ershestakova.jigsawgame.model.Board;
+import ru.hse.edu.ershestakova.jigsawgame.model.Tetrominoe;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * An instance of the TilingSolver class decides if the empty cells of a board can be exactly tiled
+ * by the tetrominoes of the chosen types in all the orientations the game deals, so a tiling is a sequence
+ * of pieces the game can deal. Not every turned and mirrored orientation of a type is dealt.
+ * The tiling is searched by Knuth's Algorithm X over dancing links: the columns are the empty cells,
+ * the rows are the placements lying on empty cells only, and the column with the fewest rows is covered first.
+ * The links are kept in reused arrays, so a solver must be used by one thread at a time.
+ */
+public class TilingSolver {
+    private static final int CELLS_NUM = Board.CELLS_NUM;
+    private static final int SIZE = Board.SIZE;
+    // The root of the columns list
+    private static final int ROOT = 0;
+    // All placements of all the dealt orientations on the board
+    private static final long[] placementLows;
+    private static final long[] placementHighs;
+    private static final Tetrominoe[] placementTetrominoes;
+
+    static {
+        long[] lows = new long[CELLS_NUM * 64];
+        long[] highs = new long[CELLS_NUM * 64];
+        Tetrominoe[] tetrominoes = new Tetrominoe[CELLS_NUM * 64];
+        int count = 0;
+        for (Tetrominoe.TetrominoeType type : Tetrominoe.TetrominoeType.values()) {
+            for (Tetrominoe orientation : orientations(type)) {
+                for (int row = 0; row + orientation.getRowsNum() <= SIZE; ++row) {
+                    for (int col = 0; col + orientation.getColsNum() <= SIZE; ++col) {
+                        for (int tiles = orientation.getShape(); tiles != 0; tiles &= tiles - 1) {
+                            int tile = Integer.numberOfTrailingZeros(tiles);
+                            int cell = Board.cellIndex(row + tile / 3, col + tile % 3);
+                            lows[count] |= Board.lowBit(cell);
+                            highs[count] |= Board.highBit(cell);
+                        }
+                        tetrominoes[count++] = orientation;
+                    }
+                }
+            }
+        }
+        placementLows = Arrays.copyOf(lows, count);
+        placementHighs = Arrays.copyOf(highs, count);
+        placementTetrominoes = Arrays.copyOf(tetrominoes, count);
+    }
+
+    // Placements of the chosen types
+    private final int[] placements;
+    // Dancing links: the nodes 1..81 are the column headers, the rest are the placement tiles
+    private final int[] left;
+    private final int[] right;
+    private final int[] up;
+    private final int[] down;
+    private final int[] columns;
+    private final int[] rows;
+    private final int[] sizes = new int[CELLS_NUM + 1];
+    // The placements of the partial tiling by the search depth
+    private final int[] solution = new int[CELLS_NUM];
+    private Random random;
+    private long nodesLeft;
+
+    /**
+     * Creates a solver for all the tetrominoe types
+     */
+    public TilingSolver() {
+        this(EnumSet.allOf(Tetrominoe.TetrominoeType.class));
+    }
+
+    /**
+     * Creates a solver
+     *
+     * @param types The tetrominoe types the cells are tiled by
+     */
+    public TilingSolver(Set<Tetrominoe.TetrominoeType> types) {
+        int[] chosen = new int[placementTetrominoes.length];
+        int count = 0;
+        int tilesNum = 0;
+        for (int placement = 0; placement < placementTetrominoes.length; ++placement) {
+            if (types.contains(placementTetrominoes[placement].getType())) {
+                chosen[count++] = placement;
+                tilesNum += Long.bitCount(placementLows[placement]) + Long.bitCount(placementHighs[placement]);
+            }
+        }
+        placements = Arrays.copyOf(chosen, count);
+        int nodesNum = CELLS_NUM + 1 + tilesNum;
+        left = new int[nodesNum];
+        right = new int[nodesNum];
+        up = new int[nodesNum];
+        down = new int[nodesNum];
+        columns = new int[nodesNum];
+        rows = new int[nodesNum];
+    }
+
+    /**
+     * @param board The board
+     * @return Returns if the empty cells of the board can be exactly tiled
+     */
+    public boolean isTileable(Board board) {
+        return solve(board) != null;
+    }
+
+    /**
+     * Finds an exact tiling of the empty cells of the board
+     *
+     * @param board The board
+     * @return The placements of the tiling, null if there is none
+     * @see #getPlacementLow(int)
+     */
+    public int[] solve(Board board) {
+        return solve(board.getLow(), board.getHigh(), null, Long.MAX_VALUE);
+    }
+
+    /**
+     * Finds an exact tiling of the empty cells, trying the placements of every cell in a random order
+     *
+     * @param low        Low word of the filled cells mask
+     * @param high       High word of the filled cells mask
+     * @param random     The source of the placements order, null for the order of the placements table
+     * @param nodesLimit The number of the search nodes after which the search gives up
+     * @return The placements of the tiling, null if there is none or the search has given up
+     */
+    int[] solve(long low, long high, Random random, long nodesLimit) {
+        this.random = random;
+        this.nodesLeft = nodesLimit;
+        link(low, high);
+        int depth = search(0);
+        return depth < 0 ? null : Arrays.copyOf(solution, depth);
+    }
+
+    /**
+     * Links the column headers of the empty cells and the placements lying on the empty cells only
+     *
+     * @param low  Low word of the filled cells mask
+     * @param high High word of the filled cells mask
+     */
+    private void link(long low, long high) {
+        left[ROOT] = ROOT;
+        right[ROOT] = ROOT;
+        for (int cell = 0; cell < CELLS_NUM; ++cell) {
+            int column = cell + 1;
+            up[column] = column;
+            down[column] = column;
+            sizes[column] = 0;
+            if (((Board.lowBit(cell) & low) | (Board.highBit(cell) & high)) == 0) {
+                left[column] = left[ROOT];
+                right[column] = ROOT;
+                right[left[ROOT]] = column;
+                left[ROOT] = column;
+            }
+        }
+        int node = CELLS_NUM + 1;
+        for (int placement : placements) {
+            long maskLow = placementLows[placement];
+            long maskHigh = placementHighs[placement];
+            if ((maskLow & low) != 0 || (maskHigh & high) != 0) {
+                continue;
+            }
+            int first = node;
+            for (long cells = maskLow; cells != 0; cells &= cells - 1) {
+                node = linkTile(Long.numberOfTrailingZeros(cells), placement, first, node);
+            }
+            for (long cells = maskHigh; cells != 0; cells &= cells - 1) {
+                node = linkTile(Long.SIZE + Long.numberOfTrailingZeros(cells), placement, first, node);
+            }
+        }
+    }
+
+    /**
+     * Links a tile of a placement to the bottom of its column and to the end of its row
+     *
+     * @param cell      The index of the tile cell
+     * @param placement The placement
+     * @param first     The first node of the row
+     * @param node      The free node
+     * @return The next free node
+     */
+    private int linkTile(int cell, int placement, int first, int node) {
+        int column = cell + 1;
+        columns[node] = column;
+        rows[node] = placement;
+        up[node] = up[column];
+        down[node] = column;
+        down[up[column]] = node;
+        up[column] = node;
+        ++sizes[column];
+        if (node == first) {
+            left[node] = node;
+            right[node] = node;
+        } else {
+            left[node] = left[first];
+            right[node] = first;
+            right[left[first]] = node;
+            left[first] = node;
+        }
+        return node + 1;
+    }
+
+    /**
+     * Searches the tiling of the cells of the columns left
+     *
+     * @param depth The number of the placements chosen
+     * @return The number of the placements of the tiling, -1 if there is none or the search has given up
+     */
+    private int search(int depth) {
+        if (right[ROOT] == ROOT) {
+            return depth;
+        }
+        if (--nodesLeft < 0) {
+            return -1;
+        }
+        // The cell covered by the fewest placements fails or forces the choice soonest
+        int column = right[ROOT];
+        for (int other = right[column]; other != ROOT && sizes[column] > 1; other = right[other]) {
+            if (sizes[other] < sizes[column]) {
+                column = other;
+            }
+        }
+        int rowsNum = sizes[column];
+        if (rowsNum == 0) {
+            return -1;
+        }
+        cover(column);
+        int row = down[column];
+        for (int skip = random == null ? 0 : random.nextInt(rowsNum); skip > 0; --skip) {
+            row = down[row];
+        }
+        for (int i = 0; i < rowsNum; ++i, row = down[row]) {
+            if (row == column) {
+                row = down[row];
+            }
+            solution[depth] = rows[row];
+            for (int node = right[row]; node != row; node = right[node]) {
+                cover(columns[node]);
+            }
+            int found = search(depth + 1);
+            if (found >= 0) {
+                return found;
+            }
+            for (int node = left[row]; node != row; node = left[node]) {
+                uncover(columns[node]);
+            }
+            if (nodesLeft < 0) {
+                break;
+            }
+        }
+        uncover(column);
+        return -1;
+    }
+
+    /**
+     * Removes the column and all the rows crossing it from the links
+     *
+     * @param column The column header
+     */
+    private void cover(int column) {
+        right[left[column]] = right[column];
+        left[right[column]] = left[column];
+        for (int row = down[column]; row != column; row = down[row]) {
+            for (int node = right[row]; node != row; node = right[node]) {
+                down[up[node]] = down[node];
+                up[down[node]] = up[node];
+                --sizes[columns[node]];
+            }
+        }
+    }
+
+    /**
+     * Restores the column and all the rows crossing it in the reverse order of the covering
+     *
+     * @param column The column header
+     */
+    private void uncover(int column) {
+        for (int row = up[column]; row != column; row = up[row]) {
+            for (int node = left[row]; node != row; node = left[node]) {
+                ++sizes[columns[node]];
+                down[up[node]] = node;
+                up[down[node]] = node;
+            }
+        }
+        right[left[column]] = column;
+        left[right[column]] = column;
+    }
+
+    /**
+     * Gets all the distinct orientations of the type the game deals, which are the tetrominoes
+     * of the generation indices
+     *
+     * @param type Tetrominoe type
+     * @return The canonical tetrominoes of the orientations
+     */
+    private static Tetrominoe[] orientations(Tetrominoe.TetrominoeType type) {
+        // Canonical tetrominoes of equal shapes are the same instance
+        Tetrominoe[] orientations = new Tetrominoe[Tetrominoe.TETROMINOE_NUM];
+        int count = 0;
+        for (int index = 0; index < Tetrominoe.TETROMINOE_NUM; ++index) {
+            Tetrominoe orientation = Tetrominoe.fromIndex(index);
+            if (orientation.getType() == type
+                    && Arrays.stream(orientations, 0, count).noneMatch(other -> other == orientation)) {
+                orientations[count++] = orientation;
+            }
+        }
+        return Arrays.copyOf(orientations, count);
+    }
+
+    /**
+     * @return Returns the number of the placements of all the tetrominoe types on an empty board
+     */
+    public static int getPlacementsNum() {
+        return placementTetrominoes.length;
+    }
+
+    /**
+     * @param placement The placement
+     * @return Returns the low word of the cells mask of the placement
+     */
+    public static long getPlacementLow(int placement) {
+        return placementLows[placement];
+    }
+
+    /**
+     * @param placement The placement
+     * @return Returns the high word of the cells mask of the placement
+     */
+    public static long getPlacementHigh(int placement) {
+        return placementHighs[placement];
+    }
+
+    /**
+     * @param placement The placement
+     * @return Returns the tetrominoe type of the placement
+     */
+    public static Tetrominoe.TetrominoeType getPlacementType(int placement) {
+        return placementTetrominoes[placement].getType();
+    }
+
+    /**
+     * @param placement The placement
+     * @return Returns the dealt orientation of the placement
+     */
+    public static Tetrominoe getPlacementTetrominoe(int placement) {
+        return placementTetrominoes[placement];
+    }
+}
@@ -0,0 +1,133 @@
+package ru.hse.edu.ershestakova.jigsawgame.tournament;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The results of a strategy in a tournament: the number of the turns of every game,
+ * the games forfeited by running out of the time budget of a move or by an illegal move,
+ * and the time of the moves.
+ */
+public class StrategyResult {
+    // The normal quantile of the two-sided 95% confidence intervals
+    private static final double Z_95 = 1.959964;
+
+    private final String name;
+    private final int[] turns;
+    final LongAdder timeoutsCount = new LongAdder();
+    final LongAdder illegalMovesCount = new LongAdder();
+    final LongAdder movesCount = new LongAdder();
+    final LongAdder movesNanos = new LongAdder();
+
+    /**
+     * Creates empty results
+     *
+     * @param name     The name of the strategy
+     * @param gamesNum The number of the games of the tournament
+     */
+    StrategyResult(String name, int gamesNum) {
+        this.name = name;
+        this.turns = new int[gamesNum];
+    }
+
+    /**
+     * Records a finished game
+     *
+     * @param game       The number of the game
+     * @param turnsCount The number of the tetrominoes placed
+     */
+    void setTurns(int game, int turnsCount) {
+        turns[game] = turnsCount;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param game The number of the game
+     * @return Returns the number of the tetrominoes placed in the game
+     */
+    public int getTurns(int game) {
+        return turns[game];
+    }
+
+    public int getGamesCount() {
+        return turns.length;
+    }
+
+    /**
+     * @return Returns the mean number of the tetrominoes placed in a game
+     */
+    public double getMeanTurns() {
+        long sum = 0;
+        for (int count : turns) {
+            sum += count;
+        }
+        return turns.length == 0 ? 0 : (double) sum / turns.length;
+    }
+
+    /**
+     * @return Returns the half-width of the 95% confidence interval of the mean number of the turns
+     */
+    public double getConfidence() {
+        return halfWidth(turns, null);
+    }
+
+    /**
+     * Gets the half-width of the 95% confidence interval of the mean difference of the turns in the same games.
+     * The games are dealt the same tetrominoes, so the paired difference is much narrower than the intervals
+     * of the two means.
+     *
+     * @param other The results of the other strategy in the same tournament
+     * @return The half-width of the interval of the mean of this turns minus other turns
+     */
+    public double getConfidence(StrategyResult other) {
+        return halfWidth(turns, other.turns);
+    }
+
+    /**
+     * Gets the half-width of the normal confidence interval of the mean of the values or of their differences
+     *
+     * @param values     The values
+     * @param subtrahend The values subtracted pairwise, null if none are
+     * @return The half-width
+     */
+    private static double halfWidth(int[] values, int[] subtrahend) {
+        int n = values.length;
+        if (n < 2) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double sum = 0;
+        double squaresSum = 0;
+        for (int i = 0; i < n; ++i) {
+            double value = subtrahend == null ? values[i] : values[i] - subtrahend[i];
+            sum += value;
+            squaresSum += value * value;
+        }
+        double mean = sum / n;
+        double variance = Math.max(0, (squaresSum - n * mean * mean) / (n - 1));
+        return Z_95 * Math.sqrt(variance / n);
+    }
+
+    /**
+     * @return Returns the number of the games forfeited by running out of the time budget of a move
+     */
+    public long getTimeoutsCount() {
+        return timeoutsCount.sum();
+    }
+
+    /**
+     * @return Returns the number of the games forfeited by an illegal move
+     */
+    public long getIllegalMovesCount() {
+        return illegalMovesCount.sum();
+    }
+
+    /**
+     * @return Returns the mean time of a move in milliseconds
+     */
+    public double getMeanMoveMillis() {
+        long moves = movesCount.sum();
+        return moves == 0 ? 0 : movesNanos.sum() / 1e6 / moves;
+    }
+}
@@ -0,0 +1,205 @@
+package ru.hse.edu.ershestakova.jigsawgame.tournament;
+
+import ru.hse.edu.ershestakova.jigsawgame.ai.ExpectimaxPlayer;
+import ru.hse.edu.ershestakova.jigsawgame.ai.RandomStrategy;
+import ru.hse.edu.ershestakova.jigsawgame.model.Game;
+import ru.hse.edu.ershestakova.jigsawgame.model.Strategy;
+import ru.hse.edu.ershestakova.jigsawgame.simulation.Simulation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongFunction;
+
+/**
+ * The tournament of the registered strategies. Every strategy plays the same games: the tetrominoes of a game
+ * are dealt by a generator seeded with the seed of the game, which is the stream randomTetrominoe() would give
+ * with that seed, so the strategies are compared on identical sequences. The games are split between the workers
+ * of a work-stealing pool, and every game has its own instance of the strategy created by the seed of the game,
+ * so the results do not depend on which worker plays which game.
+ * A move taking longer than the time budget or an illegal move forfeits the rest of the game. The budget is
+ * accounted once the move has been chosen rather than enforced: the move is not interrupted, so a strategy
+ * which hangs holds its worker until it returns and is penalized only afterwards.
+ */
+public class Tournament {
+    // The number of the games below which a task is not split
+    private static final int LEAF_GAMES_NUM = 4;
+
+    private final Map<String, LongFunction<Strategy>> strategies = new LinkedHashMap<>();
+    private final long moveBudgetNanos;
+    private final ForkJoinPool pool;
+    // Workers reuse their games
+    private final ThreadLocal<Game> games = ThreadLocal.withInitial(() -> new Game(0));
+
+    /**
+     * Creates a tournament
+     *
+     * @param moveBudgetMillis The time budget of a move, checked after the move is chosen
+     * @param pool             The pool the games are played in
+     */
+    public Tournament(long moveBudgetMillis, ForkJoinPool pool) {
+        this.moveBudgetNanos = moveBudgetMillis * 1_000_000;
+        this.pool = pool;
+    }
+
+    /**
+     * Registers a strategy
+     *
+     * @param name     The unique name of the strategy
+     * @param strategy Creates the instance of the strategy of a game by the seed of the game
+     * @return The tournament
+     */
+    public Tournament register(String name, LongFunction<Strategy> strategy) {
+        if (strategies.putIfAbsent(name, strategy) != null) {
+            throw new IllegalArgumentException("The strategy " + name + " has already been registered");
+        }
+        return this;
+    }
+
+    /**
+     * Plays the games by every strategy
+     *
+     * @param gamesNum The number of the games
+     * @param seed     The seed of the tournament
+     * @return The results ranked by the mean number of the turns, the best first
+     */
+    public List<StrategyResult> run(int gamesNum, long seed) {
+        List<StrategyResult> results = new ArrayList<>();
+        List<Games> tasks = new ArrayList<>();
+        for (Map.Entry<String, LongFunction<Strategy>> entry : strategies.entrySet()) {
+            StrategyResult result = new StrategyResult(entry.getKey(), gamesNum);
+            results.add(result);
+            tasks.add(new Games(entry.getValue(), result, seed, 0, gamesNum));
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+        results.sort(Comparator.comparingDouble(StrategyResult::getMeanTurns).reversed());
+        return results;
+    }
+
+    /**
+     * Plays a game
+     *
+     * @param game     The game, which is started anew
+     * @param seed     The seed of the game
+     * @param strategy The strategy of the player
+     * @param result   The results of the strategy
+     * @return The number of the tetrominoes placed
+     */
+    private int play(Game game, long seed, Strategy strategy, StrategyResult result) {
+        game.reset(seed);
+        while (!game.isOver()) {
+            long start = System.nanoTime();
+            int anchor = strategy.chooseAnchor(game.getBoard(), game.getCurrent());
+            long elapsed = System.nanoTime() - start;
+            result.movesCount.increment();
+            result.movesNanos.add(elapsed);
+            if (elapsed > moveBudgetNanos) {
+                result.timeoutsCount.increment();
+                break;
+            }
+            if (!game.place(anchor)) {
+                result.illegalMovesCount.increment();
+                break;
+            }
+        }
+        return game.getTurnsCount();
+    }
+
+    /**
+     * Releases the resources of the strategy, such as the pool of a search, if it holds any
+     *
+     * @param strategy The strategy
+     */
+    private static void close(Strategy strategy) {
+        if (strategy instanceof Closeable) {
+            try {
+                ((Closeable) strategy).close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Formats the ranking: the mean number of the turns with its 95% confidence interval
+     * and the difference from the leader with the interval of the paired difference
+     *
+     * @param results The ranked results
+     * @return The table of the ranking
+     */
+    public static String format(List<StrategyResult> results) {
+        StringBuilder builder = new StringBuilder();
+        StrategyResult leader = results.isEmpty() ? null : results.get(0);
+        for (int rank = 0; rank < results.size(); ++rank) {
+            StrategyResult result = results.get(rank);
+            builder.append(String.format("%d. %-12s %8.3f +- %.3f turns, vs leader %+.3f +- %.3f, "
+                            + "%.3f ms/move, %d timeouts, %d illegal%n",
+                    rank + 1, result.getName(), result.getMeanTurns(), result.getConfidence(),
+                    result.getMeanTurns() - leader.getMeanTurns(), result.getConfidence(leader),
+                    result.getMeanMoveMillis(), result.getTimeoutsCount(), result.getIllegalMovesCount()));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The games of a range played by a strategy, split in halves until they are few
+     */
+    private class Games extends RecursiveAction {
+        private final LongFunction<Strategy> strategy;
+        private final StrategyResult result;
+        private final long seed;
+        private final int first;
+        private final int last;
+
+        Games(LongFunction<Strategy> strategy, StrategyResult result, long seed, int first, int last) {
+            this.strategy = strategy;
+            this.result = result;
+            this.seed = seed;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first > LEAF_GAMES_NUM) {
+                int middle = (first + last) >>> 1;
+                invokeAll(new Games(strategy, result, seed, first, middle),
+                        new Games(strategy, result, seed, middle, last));
+                return;
+            }
+            Game game = games.get();
+            for (int i = first; i < last; ++i) {
+                long gameSeed = Simulation.getGameSeed(seed, i);
+                Strategy instance = strategy.apply(gameSeed);
+                try {
+                    result.setTurns(i, play(game, gameSeed, instance, result));
+                } finally {
+                    close(instance);
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int gamesNum = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        long moveBudgetMillis = args.length > 1 ? Long.parseLong(args[1]) : 100;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        // Every game is searched alone, the parallelism coming from the games
+        Tournament tournament = new Tournament(moveBudgetMillis, new ForkJoinPool())
+                .register("random", RandomStrategy::new)
+                .register("expectimax-1", gameSeed -> new ExpectimaxPlayer(moveBudgetMillis / 4, 1, 16, 1));
+        System.out.print(format(tournament.run(gamesNum, seed)));
+    }
+}
@@ -0,0 +1,72 @@
+package ru.hse.edu.ershestakova.jigsawgame.ai;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.hse.edu.ershestakova.jigsawgame.model.Board;
+import ru.hse.edu.ershestakova.jigsawgame.model.PlacementTable;
+import ru.hse.edu.ershestakova.jigsawgame.model.Tetrominoe;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndgameTablebaseTest {
+    private static final long FULL_HIGH = (1L << (Board.CELLS_NUM - Long.SIZE)) - 1;
+
+    @Test
+    void matchesExactExpectation(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("endgame.tb");
+        EndgameTablebaseGenerator generator = new EndgameTablebaseGenerator(3);
+        generator.write(path);
+        EndgameTablebase tablebase = EndgameTablebase.open(path);
+        assertEquals(3, tablebase.getMaxEmptyNum());
+        assertEquals(generator.getCount(), tablebase.getCount());
+        assertEquals(0, tablebase.getValue(-1L, FULL_HIGH));
+        Random random = new Random(9);
+        for (int i = 0; i < 200; ++i) {
+            long low = -1L;
+            long high = FULL_HIGH;
+            for (int empty = random.nextInt(3); empty >= 0; --empty) {
+                int cell = random.nextInt(Board.CELLS_NUM);
+                low &= ~Board.lowBit(cell);
+                high &= ~Board.highBit(cell);
+            }
+            assertEquals(exact(low, high), tablebase.getValue(low, high), 1e-5);
+        }
+        assertTrue(Double.isNaN(tablebase.getValue(new Board())));
+    }
+
+    @Test
+    void playsEndgameByTablebase(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("endgame.tb");
+        new EndgameTablebaseGenerator(2).write(path);
+        ExpectimaxPlayer player = new ExpectimaxPlayer(50, 2, 10, ForkJoinPool.commonPool(),
+                EndgameTablebase.open(path));
+        Board board = new Board();
+        board.place(-1L & ~0b111L, FULL_HIGH);
+        int anchor = player.chooseAnchor(board, Tetrominoe.fromIndex(22));
+        assertTrue(board.getLegalMoves().isLegal(22, anchor));
+    }
+
+    /**
+     * Counts the expected number of the turns left by the full expectimax over all the generation indices
+     */
+    private static double exact(long low, long high) {
+        double sum = 0;
+        for (int index = 0; index < PlacementTable.TETROMINOE_NUM; ++index) {
+            double best = 0;
+            for (int anchor = 0; anchor < PlacementTable.ANCHORS_NUM; ++anchor) {
+                long maskLow = PlacementTable.getLow(index, anchor);
+                long maskHigh = PlacementTable.getHigh(index, anchor);
+                if (PlacementTable.isValid(index, anchor) && (low & maskLow) == 0 && (high & maskHigh) == 0) {
+                    best = Math.max(best, 1 + exact(low | maskLow, high | maskHigh));
+                }
+            }
+            sum += best;
+        }
+        return sum / PlacementTable.TETROMINOE_NUM;
+    }
+}
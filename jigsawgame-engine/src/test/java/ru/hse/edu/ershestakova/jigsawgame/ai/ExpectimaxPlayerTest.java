@@ -0,0 +1,49 @@
+package ru.hse.edu.ershestakova.jigsawgame.ai;
+
+import org.junit.jupiter.api.Test;
+import ru.hse.edu.ershestakova.jigsawgame.model.Board;
+import ru.hse.edu.ershestakova.jigsawgame.model.Game;
+import ru.hse.edu.ershestakova.jigsawgame.model.PlacementTable;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpectimaxPlayerTest {
+
+    @Test
+    void playsLegalMoves() {
+        ExpectimaxPlayer player = new ExpectimaxPlayer(5, 2, 16, ForkJoinPool.commonPool());
+        Game game = new Game(5);
+        while (!game.isOver()) {
+            int anchor = player.chooseAnchor(game.getBoard(), game.getCurrent());
+            assertTrue(game.place(anchor));
+        }
+        assertEquals(-1, player.chooseAnchor(game.getBoard(), game.getCurrent()));
+        assertTrue(player.getNodesCount() > 0);
+    }
+
+    @Test
+    void zobristIsIncremental() {
+        Board board = new Board();
+        PlacementTable.apply(board, 12, 40);
+        long key = Zobrist.hash(board);
+        PlacementTable.apply(board, 22, 0);
+        assertEquals(key ^ Zobrist.placementKey(22, 0), Zobrist.hash(board));
+    }
+
+    @Test
+    void transpositionTable() {
+        TranspositionTable table = new TranspositionTable(4);
+        assertTrue(Double.isNaN(table.probe(0, 1)));
+        table.store(42, 2, 1.5);
+        assertEquals(1.5, table.probe(42, 2));
+        assertEquals(1.5, table.probe(42, 1));
+        assertTrue(Double.isNaN(table.probe(42, 3)));
+        // The shallower entry does not replace the deeper one
+        table.store(42, 1, 0.5);
+        assertEquals(1.5, table.probe(42, 1));
+        table.store(42, 3, 2.5);
+        assertEquals(2.5, table.probe(42, 3));
+    }
+}
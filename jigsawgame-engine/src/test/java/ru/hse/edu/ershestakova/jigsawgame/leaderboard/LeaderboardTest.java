@@ -0,0 +1,123 @@
+package ru.hse.edu.ershestakova.jigsawgame.leaderboard;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+    private static final ZoneId ZONE = ZoneOffset.UTC;
+    private static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+    private static final int CAPACITY = 5;
+
+    @Test
+    void answersFromSnapshotAndLog(@TempDir Path dir) throws IOException {
+        Random random = new Random(1);
+        List<GameResult> all = new ArrayList<>();
+        try (Leaderboard leaderboard = Leaderboard.open(dir, CAPACITY, 50, ZONE)) {
+            append(leaderboard, all, random, 1000);
+            check(leaderboard, all);
+        }
+        assertTrue(Files.exists(dir.resolve(Leaderboard.INDEX_NAME)));
+        // The snapshot is read together with the log after it
+        try (Leaderboard leaderboard = Leaderboard.open(dir, CAPACITY, 50, ZONE)) {
+            assertEquals(1000, leaderboard.getCount());
+            check(leaderboard, all);
+            append(leaderboard, all, random, 120);
+            check(leaderboard, all);
+        }
+        // The whole log is read without the snapshot
+        Files.delete(dir.resolve(Leaderboard.INDEX_NAME));
+        try (Leaderboard leaderboard = Leaderboard.open(dir, CAPACITY, 50, ZONE)) {
+            check(leaderboard, all);
+        }
+    }
+
+    @Test
+    void dropsCutOffRecord(@TempDir Path dir) throws IOException {
+        Random random = new Random(2);
+        List<GameResult> all = new ArrayList<>();
+        try (Leaderboard leaderboard = Leaderboard.open(dir, CAPACITY, 1000, ZONE)) {
+            append(leaderboard, all, random, 10);
+        }
+        try (FileChannel log = FileChannel.open(dir.resolve(Leaderboard.LOG_NAME), StandardOpenOption.APPEND)) {
+            log.write(ByteBuffer.allocate(Leaderboard.RECORD_SIZE - 1));
+        }
+        try (Leaderboard leaderboard = Leaderboard.open(dir, CAPACITY, 1000, ZONE)) {
+            assertEquals(10, leaderboard.getCount());
+            append(leaderboard, all, random, 3);
+            check(leaderboard, all);
+        }
+        try (Leaderboard leaderboard = Leaderboard.open(dir, CAPACITY, 1000, ZONE)) {
+            assertEquals(13, leaderboard.getCount());
+            check(leaderboard, all);
+        }
+    }
+
+    @Test
+    void ignoresSnapshotAheadOfLog(@TempDir Path dir) throws IOException {
+        Random random = new Random(3);
+        List<GameResult> all = new ArrayList<>();
+        try (Leaderboard leaderboard = Leaderboard.open(dir, CAPACITY, 1000, ZONE)) {
+            append(leaderboard, all, random, 40);
+            leaderboard.snapshot();
+        }
+        // The end of the log is lost after the snapshot has been written
+        try (FileChannel log = FileChannel.open(dir.resolve(Leaderboard.LOG_NAME), StandardOpenOption.WRITE)) {
+            log.truncate(Leaderboard.LOG_HEADER_SIZE + 30L * Leaderboard.RECORD_SIZE);
+        }
+        try (Leaderboard leaderboard = Leaderboard.open(dir, CAPACITY, 1000, ZONE)) {
+            assertEquals(30, leaderboard.getCount());
+            check(leaderboard, all.subList(0, 30));
+        }
+    }
+
+    /**
+     * Appends random results of a few seeds and days
+     */
+    private static void append(Leaderboard leaderboard, List<GameResult> all, Random random, int count)
+            throws IOException {
+        for (int i = 0; i < count; ++i) {
+            GameResult result = new GameResult(random.nextInt(21), random.nextInt(600_000), random.nextInt(300) - 150,
+                    random.nextInt(20) * DAY_MILLIS + random.nextInt((int) DAY_MILLIS));
+            leaderboard.append(result);
+            all.add(result);
+        }
+    }
+
+    /**
+     * Compares the answers with the best results of all the results sorted
+     */
+    private static void check(Leaderboard leaderboard, List<GameResult> all) {
+        assertEquals(best(all, result -> true), leaderboard.getBest(CAPACITY));
+        assertEquals(best(all, result -> true).subList(0, 2), leaderboard.getBest(2));
+        for (int day = 0; day < 20; ++day) {
+            long first = day * DAY_MILLIS;
+            assertEquals(best(all, result -> result.getEpochMillis() / DAY_MILLIS == first / DAY_MILLIS),
+                    leaderboard.getBestOfDay(LocalDate.ofEpochDay(day), CAPACITY));
+        }
+        for (long seed = -151; seed <= 150; ++seed) {
+            long theSeed = seed;
+            assertEquals(best(all, result -> result.getSeed() == theSeed), leaderboard.getBestOfSeed(seed, CAPACITY));
+        }
+    }
+
+    private static List<GameResult> best(List<GameResult> all, Predicate<GameResult> filter) {
+        return all.stream().filter(filter).sorted(GameResult.RANKING).limit(CAPACITY).collect(Collectors.toList());
+    }
+}
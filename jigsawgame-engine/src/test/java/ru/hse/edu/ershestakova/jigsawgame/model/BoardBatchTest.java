@@ -0,0 +1,80 @@
+package ru.hse.edu.ershestakova.jigsawgame.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardBatchTest {
+    // Not a multiple of any vector length, so some boards are left to the scalar loop
+    private static final int BOARDS_NUM = 103;
+
+    /**
+     * Fills the batch with the boards of games stopped at random turns
+     */
+    private static Board[] fill(BoardBatch batch) {
+        Random random = new Random(5);
+        Board[] boards = new Board[BOARDS_NUM];
+        for (int i = 0; i < BOARDS_NUM; ++i) {
+            Game game = new Game(i);
+            int turns = random.nextInt(20);
+            while (!game.isOver() && game.getTurnsCount() < turns) {
+                int anchor = 0;
+                while (!game.canPlace(anchor)) {
+                    ++anchor;
+                }
+                game.place(anchor);
+            }
+            boards[i] = new Board(game.getBoard());
+            assertEquals(i, batch.add(boards[i]));
+        }
+        return boards;
+    }
+
+    @Test
+    void matchesLegalMoves() {
+        BoardBatch batch = new BoardBatch(BOARDS_NUM);
+        Board[] boards = fill(batch);
+        long[] lows = new long[BOARDS_NUM];
+        long[] highs = new long[BOARDS_NUM];
+        for (int index = 0; index < PlacementTable.TETROMINOE_NUM; ++index) {
+            batch.legalAnchors(index, lows, highs);
+            for (int slot = 0; slot < BOARDS_NUM; ++slot) {
+                assertEquals(boards[slot].getLegalMoves().getLow(index), lows[slot]);
+                assertEquals(boards[slot].getLegalMoves().getHigh(index), highs[slot]);
+            }
+        }
+    }
+
+    @Test
+    void scalarMatchesLegalMoves() {
+        BoardBatch batch = new BoardBatch(BOARDS_NUM);
+        Board[] boards = fill(batch);
+        long[] boardsLows = new long[BOARDS_NUM];
+        long[] boardsHighs = new long[BOARDS_NUM];
+        for (int slot = 0; slot < BOARDS_NUM; ++slot) {
+            boardsLows[slot] = batch.getLow(slot);
+            boardsHighs[slot] = batch.getHigh(slot);
+        }
+        long[] lows = new long[BOARDS_NUM];
+        long[] highs = new long[BOARDS_NUM];
+        for (int index = 0; index < PlacementTable.TETROMINOE_NUM; ++index) {
+            BoardBatch.legalAnchors(boardsLows, boardsHighs, 0, BOARDS_NUM, index, lows, highs);
+            for (int slot = 0; slot < BOARDS_NUM; ++slot) {
+                assertEquals(boards[slot].getLegalMoves().getLow(index), lows[slot]);
+                assertEquals(boards[slot].getLegalMoves().getHigh(index), highs[slot]);
+            }
+        }
+    }
+
+    @Test
+    void full() {
+        BoardBatch batch = new BoardBatch(1);
+        batch.add(new Board());
+        assertThrows(IllegalStateException.class, () -> batch.add(new Board()));
+        batch.clear();
+        assertEquals(0, batch.add(new Board()));
+        assertThrows(IllegalArgumentException.class, () -> batch.legalAnchors(0, new long[0], new long[0]));
+    }
+}
@@ -0,0 +1,92 @@
+package ru.hse.edu.ershestakova.jigsawgame.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardTest {
+    // The short angle with tiles (0,0), (0,1) and (1,0)
+    private static final int ANGLE = 23;
+
+    @Test
+    void placeAndCheck() {
+        Board board = new Board();
+        assertTrue(PlacementTable.fits(board, ANGLE, Board.cellIndex(0, 0)));
+        PlacementTable.apply(board, ANGLE, Board.cellIndex(0, 0));
+        assertTrue(board.isFilled(0, 0));
+        assertTrue(board.isFilled(0, 1));
+        assertTrue(board.isFilled(1, 0));
+        assertFalse(board.isFilled(1, 1));
+        assertEquals(3, board.getFilledCount());
+        assertFalse(PlacementTable.fits(board, ANGLE, Board.cellIndex(1, 0)));
+        assertTrue(PlacementTable.fits(board, ANGLE, Board.cellIndex(1, 1)));
+    }
+
+    @Test
+    void highWordCells() {
+        Board board = new Board();
+        PlacementTable.apply(board, ANGLE, Board.cellIndex(7, 7));
+        assertTrue(board.isFilled(8, 7));
+        assertNotEquals(0, board.getHigh());
+        assertFalse(PlacementTable.fits(board, ANGLE, Board.cellIndex(7, 7)));
+    }
+
+    @Test
+    void outOfRange() {
+        Board board = new Board();
+        assertFalse(PlacementTable.isValid(ANGLE, Board.cellIndex(8, 8)));
+        assertFalse(PlacementTable.fits(board, ANGLE, Board.cellIndex(8, 8)));
+        assertFalse(PlacementTable.fits(board, ANGLE, -1));
+        // The first tile of the turned T is in the middle column
+        assertFalse(PlacementTable.isValid(18, Board.cellIndex(0, 0)));
+        assertTrue(PlacementTable.isValid(18, Board.cellIndex(0, 1)));
+    }
+
+    @Test
+    void legalAnchors() {
+        Board board = new Board();
+        int[] anchors = new int[PlacementTable.ANCHORS_NUM];
+        assertEquals(64, PlacementTable.legalAnchors(board, ANGLE, anchors));
+        PlacementTable.apply(board, ANGLE, Board.cellIndex(4, 4));
+        assertEquals(57, PlacementTable.legalAnchors(board, ANGLE, anchors));
+    }
+
+    @Test
+    void legalMovesFollowPlacements() {
+        Board board = new Board();
+        Random random = new Random(3);
+        int[] anchors = new int[PlacementTable.ANCHORS_NUM];
+        for (int turn = 0; turn < 20; ++turn) {
+            int index = random.nextInt(PlacementTable.TETROMINOE_NUM);
+            int count = PlacementTable.legalAnchors(board, index, anchors);
+            assertEquals(count, board.getLegalMoves().getCount(index));
+            if (count == 0) {
+                continue;
+            }
+            PlacementTable.apply(board, index, anchors[random.nextInt(count)]);
+            int totalCount = 0;
+            for (int i = 0; i < PlacementTable.TETROMINOE_NUM; ++i) {
+                for (int anchor = 0; anchor < PlacementTable.ANCHORS_NUM; ++anchor) {
+                    assertEquals(PlacementTable.fits(board, i, anchor), board.getLegalMoves().isLegal(i, anchor));
+                }
+                totalCount += PlacementTable.legalAnchors(board, i, anchors);
+            }
+            assertEquals(totalCount, board.getLegalMoves().getTotalCount());
+        }
+        Board copy = new Board(board);
+        board.reset();
+        assertEquals(64, board.getLegalMoves().getCount(ANGLE));
+        assertNotEquals(64, copy.getLegalMoves().getCount(ANGLE));
+    }
+
+    @Test
+    void reset() {
+        Board board = new Board();
+        PlacementTable.apply(board, ANGLE, Board.cellIndex(4, 4));
+        board.reset();
+        assertEquals(0, board.getFilledCount());
+        assertTrue(PlacementTable.fits(board, ANGLE, Board.cellIndex(4, 4)));
+    }
+}
@@ -0,0 +1,96 @@
+package ru.hse.edu.ershestakova.jigsawgame.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmptyRegionsTest {
+
+    @Test
+    void emptyBoard() {
+        EmptyRegions regions = new Board().getEmptyRegions();
+        assertEquals(1, regions.getCount());
+        assertEquals(Board.CELLS_NUM, regions.getRegionSize(40));
+        assertEquals(1, regions.getCountBySize(Board.CELLS_NUM));
+        for (Tetrominoe.TetrominoeType type : Tetrominoe.TetrominoeType.values()) {
+            assertEquals(0, regions.getUnfitCount(type));
+        }
+    }
+
+    @Test
+    void isolatedCell() {
+        Board board = new Board();
+        // Walls the corner cell off with two lines
+        PlacementTable.apply(board, 20, Board.cellIndex(1, 0));
+        PlacementTable.apply(board, 21, Board.cellIndex(0, 1));
+        EmptyRegions regions = board.getEmptyRegions();
+        assertEquals(2, regions.getCount());
+        assertEquals(1, regions.getRegionSize(0));
+        assertEquals(1, regions.getCountSmallerThan(2));
+        assertEquals(-1, regions.getLabel(Board.cellIndex(1, 0)));
+        assertTrue(regions.isFitting(0, Tetrominoe.TetrominoeType.SQUARE));
+        assertFalse(regions.isFitting(0, Tetrominoe.TetrominoeType.LINE));
+        assertEquals(1, regions.getUnfitCount(Tetrominoe.TetrominoeType.LINE));
+        assertEquals(0, regions.getUnfitCount(Tetrominoe.TetrominoeType.SQUARE));
+    }
+
+    @Test
+    void followsRandomPlacements() {
+        Random random = new Random(11);
+        int[] anchors = new int[PlacementTable.ANCHORS_NUM];
+        for (int game = 0; game < 20; ++game) {
+            Board board = new Board();
+            while (true) {
+                int index = random.nextInt(PlacementTable.TETROMINOE_NUM);
+                int count = PlacementTable.legalAnchors(board, index, anchors);
+                if (count == 0) {
+                    break;
+                }
+                PlacementTable.apply(board, index, anchors[random.nextInt(count)]);
+                check(board);
+            }
+        }
+    }
+
+    /**
+     * Compares the regions with the ones found by flood filling the board
+     */
+    private static void check(Board board) {
+        EmptyRegions regions = board.getEmptyRegions();
+        int[] labels = new int[Board.CELLS_NUM];
+        int count = 0;
+        for (int start = 0; start < Board.CELLS_NUM; ++start) {
+            if (board.isFilled(start) || labels[start] != 0) {
+                continue;
+            }
+            ++count;
+            int size = 0;
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            queue.add(start);
+            labels[start] = count;
+            int first = regions.getLabel(start);
+            while (!queue.isEmpty()) {
+                int cell = queue.poll();
+                ++size;
+                assertEquals(first, regions.getLabel(cell));
+                int row = cell / Board.SIZE;
+                int col = cell % Board.SIZE;
+                int[][] neighbours = {{row - 1, col}, {row + 1, col}, {row, col - 1}, {row, col + 1}};
+                for (int[] neighbour : neighbours) {
+                    if (Board.contains(neighbour[0], neighbour[1])) {
+                        int next = Board.cellIndex(neighbour[0], neighbour[1]);
+                        if (!board.isFilled(next) && labels[next] == 0) {
+                            labels[next] = count;
+                            queue.add(next);
+                        }
+                    }
+                }
+            }
+            assertEquals(size, regions.getRegionSize(start));
+        }
+        assertEquals(count, regions.getCount());
+    }
+}
@@ -0,0 +1,49 @@
+package ru.hse.edu.ershestakova.jigsawgame.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameClockTest {
+    private long now;
+
+    @Test
+    void measures() {
+        GameClock clock = new GameClock(() -> now);
+        now = 5_000_000_000L;
+        assertEquals(0, clock.getElapsedMillis());
+        clock.start();
+        now += 1_234_567_890L;
+        assertEquals(1234, clock.getElapsedMillis());
+        clock.stop();
+        now += 1_000_000_000L;
+        assertFalse(clock.isRunning());
+        assertEquals(1_234_567_890L, clock.getElapsedNanos());
+        clock.start();
+        assertEquals(0, clock.getElapsedNanos());
+    }
+
+    @Test
+    void resumes() {
+        GameClock clock = new GameClock(() -> now);
+        clock.start(90_000);
+        assertEquals(90_000, clock.getElapsedMillis());
+        now += 1_000_000_000L;
+        assertEquals(91_000, clock.getElapsedMillis());
+    }
+
+    @Test
+    void hasNoLimit() {
+        GameClock clock = new GameClock(() -> now);
+        clock.start();
+        now += 10_000L * 1_000_000_000L;
+        assertEquals(10_000_000, clock.getElapsedMillis());
+    }
+
+    @Test
+    void format() {
+        assertEquals("0:0:0", GameClock.format(999));
+        assertEquals("1:1:5", GameClock.format(3_665_000));
+        assertEquals("0:2:3.045", GameClock.formatMillis(123_045));
+    }
+}
@@ -0,0 +1,52 @@
+package ru.hse.edu.ershestakova.jigsawgame.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameTest {
+
+    @Test
+    void dealsSeededSequence() {
+        Random random = new Random(42);
+        Dealer dealer = new Dealer(42);
+        for (int i = 0; i < 100; ++i) {
+            assertSame(Tetrominoe.fromIndex(random.nextInt(Tetrominoe.TETROMINOE_NUM)), dealer.next());
+        }
+        assertEquals(100, dealer.getDealtCount());
+    }
+
+    @Test
+    void place() {
+        Game game = new Game(7);
+        Tetrominoe first = game.getCurrent();
+        int anchor = Board.cellIndex(first.getFirstTileRow(), first.getFirstTileCol());
+        assertTrue(game.place(anchor));
+        assertEquals(1, game.getTurnsCount());
+        assertTrue(game.getBoard().isFilled(anchor));
+        assertFalse(game.place(-1));
+        assertEquals(1, game.getTurnsCount());
+    }
+
+    @Test
+    void playsUntilOver() {
+        Game game = new Game(1);
+        while (!game.isOver()) {
+            int anchor = 0;
+            while (!game.canPlace(anchor)) {
+                ++anchor;
+            }
+            assertTrue(game.place(anchor));
+        }
+        assertTrue(game.getTurnsCount() > 0);
+        for (int anchor = 0; anchor < PlacementTable.ANCHORS_NUM; ++anchor) {
+            assertFalse(game.place(anchor));
+        }
+        game.reset(1);
+        assertEquals(0, game.getTurnsCount());
+        assertEquals(0, game.getBoard().getFilledCount());
+        assertFalse(game.isOver());
+    }
+}
@@ -0,0 +1,53 @@
+package ru.hse.edu.ershestakova.jigsawgame.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TetrominoeTest {
+    // Shapes produced by turning and mirroring the typical tetrominoes, by generation index
+    private static final int[] SHAPES = {75, 57, 210, 39, 147, 147, 147, 147, 153, 30, 90, 90, 79, 457, 484, 295,
+            151, 121, 466, 316, 7, 73, 1, 11, 25, 26, 19, 89, 58, 154, 23};
+
+    @Test
+    void fromIndex() {
+        for (int i = 0; i < SHAPES.length; ++i) {
+            Tetrominoe tetrominoe = Tetrominoe.fromIndex(i);
+            assertEquals(i, tetrominoe.getIndex());
+            assertEquals(SHAPES[i], tetrominoe.getShape());
+            assertSame(tetrominoe, Tetrominoe.fromIndex(i));
+        }
+    }
+
+    @Test
+    void getModel() {
+        Tetrominoe tetrominoe = Tetrominoe.fromIndex(16);
+        boolean[][] model = tetrominoe.getModel();
+        assertArrayEquals(new boolean[]{true, true, true}, model[0]);
+        assertArrayEquals(new boolean[]{false, true, false}, model[1]);
+        assertArrayEquals(new boolean[]{false, true, false}, model[2]);
+        assertSame(model, tetrominoe.getModel());
+    }
+
+    @Test
+    void dimensions() {
+        Tetrominoe line = Tetrominoe.fromIndex(20);
+        assertEquals(3, line.getColsNum());
+        assertEquals(1, line.getRowsNum());
+        Tetrominoe turned = Tetrominoe.fromIndex(2);
+        assertEquals(2, turned.getColsNum());
+        assertEquals(3, turned.getRowsNum());
+        assertEquals(0, turned.getFirstTileRow());
+        assertEquals(1, turned.getFirstTileCol());
+    }
+
+    @Test
+    void turnRightAndMirrored() {
+        Tetrominoe tetrominoe = Tetrominoe.fromIndex(12);
+        assertSame(Tetrominoe.fromIndex(13), tetrominoe.turnRight());
+        assertSame(tetrominoe, tetrominoe.turnRight().turnRight().turnRight().turnRight());
+        assertSame(Tetrominoe.fromIndex(4), Tetrominoe.fromIndex(0).mirrored());
+        assertEquals(-1, Tetrominoe.fromIndex(4).turnRight().getIndex());
+        assertSame(Tetrominoe.fromIndex(0), Tetrominoe.fromIndex(0).mirrored().mirrored());
+    }
+}
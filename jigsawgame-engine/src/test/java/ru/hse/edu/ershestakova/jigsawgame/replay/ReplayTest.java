@@ -0,0 +1,131 @@
+package ru.hse.edu.ershestakova.jigsawgame.replay;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.hse.edu.ershestakova.jigsawgame.ai.RandomStrategy;
+import ru.hse.edu.ershestakova.jigsawgame.model.Board;
+import ru.hse.edu.ershestakova.jigsawgame.model.Game;
+import ru.hse.edu.ershestakova.jigsawgame.model.PlacementTable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayTest {
+    @Test
+    void seeksEveryPosition(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("game.replay");
+        Game game = new Game(42);
+        RandomStrategy strategy = new RandomStrategy(7);
+        List<Board> boards = new ArrayList<>();
+        boards.add(new Board(game.getBoard()));
+        try (ReplayWriter writer = new ReplayWriter(path, game.getSeed())) {
+            while (!game.isOver()) {
+                int index = game.getCurrent().getIndex();
+                int anchor = strategy.chooseAnchor(game.getBoard(), game.getCurrent());
+                assertTrue(game.place(anchor));
+                // The last delta takes several groups
+                long elapsedMillis = game.isOver() ? 1_000_000L * game.getTurnsCount() : 150L * game.getTurnsCount();
+                writer.append(index, anchor, elapsedMillis);
+                boards.add(new Board(game.getBoard()));
+            }
+        }
+        int turnsCount = game.getTurnsCount();
+        assertTrue(Files.size(path) <= Replay.HEADER_SIZE + 4L * turnsCount + 2);
+
+        Replay replay = Replay.open(path);
+        assertEquals(42, replay.getSeed());
+        assertEquals(turnsCount, replay.getMovesCount());
+        Game replayed = new Game(0);
+        for (int movesNum = turnsCount; movesNum >= 0; --movesNum) {
+            replay.seek(replayed, movesNum);
+            assertEquals(boards.get(movesNum).getLow(), replayed.getBoard().getLow());
+            assertEquals(boards.get(movesNum).getHigh(), replayed.getBoard().getHigh());
+            assertEquals(movesNum, replayed.getTurnsCount());
+        }
+        assertEquals(0, replay.getTimeMillis(0));
+        assertEquals(150, replay.getTimeMillis(1));
+        assertEquals(1_000_000L * turnsCount, replay.getTimeMillis(turnsCount));
+        replay.fastForward(replayed);
+        assertTrue(replayed.isOver());
+        assertThrows(IndexOutOfBoundsException.class, () -> replay.seek(replayed, turnsCount + 1));
+    }
+
+    @Test
+    void ignoresCutOffMove(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("game.replay");
+        Game game = new Game(3);
+        try (ReplayWriter writer = new ReplayWriter(path, 3)) {
+            int index = game.getCurrent().getIndex();
+            int anchor = Long.numberOfTrailingZeros(game.getBoard().getLegalMoves().getLow(index));
+            writer.append(index, anchor, 300);
+            writer.append(game.getCurrent().getIndex(), 0, 1_000_000);
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        Replay replay = Replay.wrap(ByteBuffer.wrap(bytes, 0, bytes.length - 1).slice());
+        assertEquals(1, replay.getMovesCount());
+        assertEquals(300, replay.getTimeMillis(1));
+    }
+
+    @Test
+    void resumesAfterSavedMoves(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("game.replay");
+        Game game = new Game(8);
+        RandomStrategy strategy = new RandomStrategy(4);
+        // The writer is flushed after every move and never closed, as if the application had crashed
+        ReplayWriter crashed = new ReplayWriter(path, game.getSeed());
+        for (int turn = 1; turn <= 6; ++turn) {
+            int index = game.getCurrent().getIndex();
+            int anchor = strategy.chooseAnchor(game.getBoard(), game.getCurrent());
+            assertTrue(game.place(anchor));
+            crashed.append(index, anchor, 100L * turn);
+            crashed.flush();
+        }
+        assertEquals(6, Replay.open(path).getMovesCount());
+        // The game was saved after four moves, so the last two are recorded anew
+        Game saved = new Game(0);
+        Replay.open(path).seek(saved, 4);
+        try (ReplayWriter writer = ReplayWriter.resume(path, saved)) {
+            assertEquals(4, writer.getMovesCount());
+            int index = saved.getCurrent().getIndex();
+            int anchor = strategy.chooseAnchor(saved.getBoard(), saved.getCurrent());
+            assertTrue(saved.place(anchor));
+            writer.append(index, anchor, 450);
+        }
+        Replay replay = Replay.open(path);
+        assertEquals(5, replay.getMovesCount());
+        assertEquals(400, replay.getTimeMillis(4));
+        assertEquals(450, replay.getTimeMillis(5));
+        Game replayed = new Game(0);
+        replay.fastForward(replayed);
+        assertEquals(saved.getBoard().getLow(), replayed.getBoard().getLow());
+        assertEquals(saved.getBoard().getHigh(), replayed.getBoard().getHigh());
+        // A replay of another game or an empty file is not resumed
+        assertThrows(IllegalArgumentException.class, () -> ReplayWriter.resume(path, new Game(9)));
+        Files.write(dir.resolve("empty.replay"), new byte[0]);
+        assertThrows(IllegalArgumentException.class, () -> ReplayWriter.resume(dir.resolve("empty.replay"), saved));
+        crashed.close();
+    }
+
+    @Test
+    void rejectsForeignMoves(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("game.replay");
+        Game game = new Game(5);
+        try (ReplayWriter writer = new ReplayWriter(path, 5)) {
+            int index = (game.getCurrent().getIndex() + 1) % PlacementTable.TETROMINOE_NUM;
+            writer.append(index, 0, 0);
+        }
+        Replay replay = Replay.open(path);
+        assertThrows(IllegalArgumentException.class, () -> replay.seek(new Game(0), 1));
+        assertThrows(IllegalArgumentException.class, () -> Replay.wrap(ByteBuffer.allocate(4)));
+        try (ReplayWriter writer = new ReplayWriter(dir.resolve("other.replay"), 0)) {
+            assertThrows(IllegalArgumentException.class, () -> writer.append(PlacementTable.TETROMINOE_NUM, 0, 0));
+            assertThrows(IllegalArgumentException.class, () -> writer.append(0, Board.CELLS_NUM, 0));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package ru.hse.edu.ershestakova.jigsawgame.replay;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.hse.edu.ershestakova.jigsawgame.ai.RandomStrategy;
+import ru.hse.edu.ershestakova.jigsawgame.model.Game;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayValidatorTest {
+    @Test
+    void judgesSubmissions(@TempDir Path dir) throws IOException, InterruptedException {
+        StringBuilder submissions = new StringBuilder();
+        Map<String, String> expected = new HashMap<>();
+        long moves = 0;
+        for (int seed = 0; seed < 300; ++seed) {
+            int turns = record(dir.resolve(seed + ".replay"), seed, seed % 3 == 1);
+            String verdict;
+            int reported = turns;
+            if (seed % 3 == 1) {
+                verdict = "ILLEGAL_MOVE";
+            } else if (seed % 3 == 2) {
+                verdict = "TURNS_MISMATCH";
+                reported = turns + 1;
+                moves += turns;
+            } else {
+                verdict = "VALID";
+                moves += turns;
+            }
+            submissions.append(seed).append(".replay ").append(reported).append('\n');
+            expected.put(seed + ".replay", verdict);
+        }
+        submissions.append("missing.replay 5\n").append("malformed\n");
+        expected.put("missing.replay", "UNREADABLE");
+        expected.put("malformed", "UNREADABLE");
+
+        ReplayValidator validator = new ReplayValidator(3);
+        StringWriter verdicts = new StringWriter();
+        validator.validate(new BufferedReader(new StringReader(submissions.toString())), dir,
+                new PrintWriter(verdicts));
+        String[] lines = verdicts.toString().split("\\R");
+        assertEquals(expected.size(), lines.length);
+        for (String line : lines) {
+            String[] fields = line.split(" ");
+            assertEquals(expected.get(fields[0]), fields[1], line);
+        }
+        assertEquals(302, validator.getGamesCount());
+        assertEquals(100, validator.getCount(ReplayValidator.Verdict.VALID));
+        assertEquals(100, validator.getCount(ReplayValidator.Verdict.ILLEGAL_MOVE));
+        assertEquals(100, validator.getCount(ReplayValidator.Verdict.TURNS_MISMATCH));
+        assertEquals(2, validator.getCount(ReplayValidator.Verdict.UNREADABLE));
+        assertTrue(validator.getMovesCount() >= moves);
+    }
+
+    /**
+     * Records a game of the random strategy
+     *
+     * @param forged If the anchor of the last move is replaced by one where the tetrominoe does not fit
+     * @return The number of the turns
+     */
+    private static int record(Path path, long seed, boolean forged) throws IOException {
+        Game game = new Game(seed);
+        RandomStrategy strategy = new RandomStrategy(seed);
+        try (ReplayWriter writer = new ReplayWriter(path, seed)) {
+            while (!game.isOver()) {
+                int index = game.getCurrent().getIndex();
+                int anchor = strategy.chooseAnchor(game.getBoard(), game.getCurrent());
+                if (forged && game.getTurnsCount() == 3) {
+                    writer.append(index, game.getBoard().isFilled(0) ? 0 : firstFilled(game), 0);
+                    return 3;
+                }
+                game.place(anchor);
+                writer.append(index, anchor, 0);
+            }
+        }
+        return game.getTurnsCount();
+    }
+
+    private static int firstFilled(Game game) {
+        int cell = 0;
+        while (!game.getBoard().isFilled(cell)) {
+            ++cell;
+        }
+        return cell;
+    }
+}
@@ -0,0 +1,80 @@
+package ru.hse.edu.ershestakova.jigsawgame.save;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.hse.edu.ershestakova.jigsawgame.ai.RandomStrategy;
+import ru.hse.edu.ershestakova.jigsawgame.model.Game;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SaveSlotsTest {
+    @Test
+    void restoresLastSnapshot(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("autosave.slots");
+        Game game = new Game(11);
+        RandomStrategy strategy = new RandomStrategy(2);
+        try (SaveSlots slots = SaveSlots.open(path)) {
+            assertEquals(-1, slots.restore(game));
+            for (int turn = 0; turn < 5; ++turn) {
+                game.step(strategy);
+                slots.save(game, 1000L * turn);
+            }
+        }
+        try (SaveSlots slots = SaveSlots.open(path)) {
+            assertEquals(4, slots.getSequence());
+            Game restored = new Game(0);
+            assertEquals(4000, slots.restore(restored));
+            assertEquals(-1, slots.getReplayId());
+            assertEquals(game.getSeed(), restored.getSeed());
+            assertEquals(game.getBoard().getLow(), restored.getBoard().getLow());
+            assertEquals(game.getBoard().getHigh(), restored.getBoard().getHigh());
+            assertEquals(game.getTurnsCount(), restored.getTurnsCount());
+            assertEquals(game.getDealtCount(), restored.getDealtCount());
+            assertSame(game.getCurrent(), restored.getCurrent());
+            // The game goes on with the same tetrominoes
+            game.step(strategy);
+            restored.step(new RandomStrategy(2));
+            assertSame(game.getCurrent(), restored.getCurrent());
+        }
+    }
+
+    @Test
+    void keepsOlderSnapshotOnTornWrite(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("autosave.slots");
+        Game game = new Game(12);
+        RandomStrategy strategy = new RandomStrategy(3);
+        long low;
+        try (SaveSlots slots = SaveSlots.open(path)) {
+            game.step(strategy);
+            slots.save(game, 100);
+            low = game.getBoard().getLow();
+            game.step(strategy);
+            slots.save(game, 200);
+        }
+        // The second snapshot went to the second slot and its board is torn
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES), SaveSlots.SLOT_SIZE + SaveSlots.LOW);
+        }
+        try (SaveSlots slots = SaveSlots.open(path)) {
+            assertEquals(0, slots.getSequence());
+            Game restored = new Game(0);
+            assertEquals(100, slots.restore(restored));
+            assertEquals(low, restored.getBoard().getLow());
+            assertEquals(1, restored.getTurnsCount());
+            // The next snapshot goes over the torn one
+            slots.save(restored, 300, 1234);
+            assertEquals(1, slots.getSequence());
+        }
+        try (SaveSlots slots = SaveSlots.open(path)) {
+            assertEquals(1, slots.getSequence());
+            assertEquals(300, slots.restore(new Game(0)));
+            assertEquals(1234, slots.getReplayId());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package ru.hse.edu.ershestakova.jigsawgame.server;
+
+import org.junit.jupiter.api.Test;
+import ru.hse.edu.ershestakova.jigsawgame.model.Game;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameServerTest {
+    @Test
+    void playsGames() throws IOException {
+        try (GameServer server = new GameServer(0, 2)) {
+            server.start();
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+                DataInputStream in = new DataInputStream(socket.getInputStream());
+                DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+
+                out.writeByte(GameProtocol.PLACE);
+                out.writeByte(0);
+                assertEquals(GameProtocol.NO_GAME, in.readByte());
+                in.skipNBytes(GameProtocol.STATE_SIZE - 1);
+
+                Game game = new Game(5);
+                out.writeByte(GameProtocol.START);
+                out.writeLong(5);
+                assertState(in, GameProtocol.PLAYING, game);
+
+                // Both requests are sent ahead of their answers
+                int illegal = firstAnchor(game, false);
+                int legal = firstAnchor(game, true);
+                out.write(new byte[]{GameProtocol.PLACE, (byte) illegal, GameProtocol.PLACE, (byte) legal});
+                assertState(in, GameProtocol.ILLEGAL, game);
+                assertTrue(game.place(legal));
+                assertState(in, GameProtocol.PLAYING, game);
+
+                out.writeByte(42);
+                assertEquals(-1, in.read());
+            }
+            assertEquals(1, server.getGamesCount());
+            assertEquals(1, server.getMovesCount());
+        }
+    }
+
+    @Test
+    void closesConnections() throws IOException {
+        GameServer server = new GameServer(0, 2);
+        server.start();
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeByte(GameProtocol.START);
+            out.writeLong(1);
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            assertEquals(GameProtocol.PLAYING, in.readByte());
+            in.skipNBytes(GameProtocol.STATE_SIZE - 1);
+            assertEquals(1, server.getSessionsCount());
+            server.close();
+            assertEquals(0, server.getSessionsCount());
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    void servesLoadGenerator() throws IOException {
+        try (GameServer server = new GameServer(0, 2)) {
+            server.start();
+            LoadGenerator generator = new LoadGenerator(50, 300, 7);
+            generator.run(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+            assertEquals(0, generator.getErrorsCount());
+            assertTrue(generator.getGamesCount() > 0);
+            assertEquals(generator.getMovesCount() + generator.getGamesCount() + 50,
+                    generator.getLatencies().getCount());
+            assertEquals(generator.getMovesCount(), server.getMovesCount());
+        }
+    }
+
+    @Test
+    void countsConnectionsLost() throws Exception {
+        GameServer server = new GameServer(0, 1);
+        server.start();
+        LoadGenerator generator = new LoadGenerator(20, 60_000, 3);
+        CompletableFuture<Void> run = CompletableFuture.runAsync(() -> {
+            try {
+                generator.run(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        while (server.getMovesCount() < 100) {
+            Thread.sleep(10);
+        }
+        server.close();
+        // Every connection fails, and the run ends with the report rather than the first failure
+        run.get(10, TimeUnit.SECONDS);
+        assertEquals(20, generator.getErrorsCount());
+        assertTrue(generator.getMovesCount() >= 100);
+    }
+
+    private static int firstAnchor(Game game, boolean isLegal) {
+        for (int anchor = 0; ; ++anchor) {
+            if (game.getBoard().getLegalMoves().isLegal(game.getCurrent().getIndex(), anchor) == isLegal) {
+                return anchor;
+            }
+        }
+    }
+
+    private static void assertState(DataInputStream in, byte status, Game game) throws IOException {
+        assertEquals(status, in.readByte());
+        assertEquals(game.getCurrent().getIndex(), in.readByte());
+        assertEquals(game.getTurnsCount(), in.readShort());
+        assertEquals(game.getBoard().getLow(), in.readLong());
+        assertEquals(game.getBoard().getHigh(), in.readLong());
+    }
+}
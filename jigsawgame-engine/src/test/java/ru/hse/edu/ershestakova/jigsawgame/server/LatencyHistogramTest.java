@@ -0,0 +1,34 @@
+package ru.hse.edu.ershestakova.jigsawgame.server;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+    @Test
+    void binsCoverAllLatencies() {
+        for (long nanos : new long[]{0, 1, 15, 16, 17, 31, 32, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int bin = LatencyHistogram.getBin(nanos);
+            assertTrue(LatencyHistogram.getLowest(bin) <= nanos);
+            assertTrue(nanos - LatencyHistogram.getLowest(bin) <= nanos / 16);
+        }
+        assertEquals(1024, LatencyHistogram.getLowest(LatencyHistogram.getBin(1024)));
+    }
+
+    @Test
+    void findsPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        LatencyHistogram other = new LatencyHistogram();
+        for (int i = 1; i <= 1000; ++i) {
+            (i % 2 == 0 ? histogram : other).record(i * 1000L);
+        }
+        histogram.merge(other);
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(500_500, histogram.getMean(), 1e-9);
+        long median = histogram.getPercentile(0.5);
+        assertTrue(median >= 500_000 && median < 500_000 * 17 / 16, "median " + median);
+        assertEquals(1_000_000, histogram.getPercentile(1));
+        assertEquals(0, new LatencyHistogram().getPercentile(0.99));
+    }
+}
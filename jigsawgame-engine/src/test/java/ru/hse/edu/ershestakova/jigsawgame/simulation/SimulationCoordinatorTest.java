@@ -0,0 +1,52 @@
+package ru.hse.edu.ershestakova.jigsawgame.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationCoordinatorTest {
+
+    @Test
+    void redispatchesShardsOfDeadWorkers() throws Exception {
+        try (SimulationCoordinator coordinator = new SimulationCoordinator(0, Simulation.RANDOM, 7, 20_000, 3_000)) {
+            CompletableFuture<SimulationStatistics> result = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return coordinator.run(null);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            // The first worker takes a shard and dies
+            try (Socket socket = new Socket("localhost", coordinator.getPort())) {
+                DataOutputStream output = new DataOutputStream(socket.getOutputStream());
+                output.writeInt(ShardProtocol.MAGIC);
+                output.writeInt(ShardProtocol.VERSION);
+                output.writeInt(1);
+                output.flush();
+                assertEquals(ShardProtocol.SHARD, new DataInputStream(socket.getInputStream()).readByte());
+            }
+            for (int i = 0; i < 2; ++i) {
+                CompletableFuture.runAsync(() -> {
+                    try {
+                        new SimulationWorker(2).run("localhost", coordinator.getPort());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            SimulationStatistics statistics = result.get();
+            assertEquals(20_000, statistics.getGamesCount());
+            // The shards played by any workers add up to the run of a single process
+            SimulationTest.assertSameStatistics(
+                    new Simulation(Simulation.getStrategies(Simulation.RANDOM), 2).run(20_000, 7), statistics);
+            assertEquals(1, coordinator.getRedispatchedCount());
+        }
+    }
+}
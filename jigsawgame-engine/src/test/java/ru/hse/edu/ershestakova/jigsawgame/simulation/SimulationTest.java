@@ -0,0 +1,64 @@
+package ru.hse.edu.ershestakova.jigsawgame.simulation;
+
+import org.junit.jupiter.api.Test;
+import ru.hse.edu.ershestakova.jigsawgame.ai.RandomStrategy;
+import ru.hse.edu.ershestakova.jigsawgame.model.Game;
+import ru.hse.edu.ershestakova.jigsawgame.model.Tetrominoe;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationTest {
+
+    @Test
+    void countsEveryGame() {
+        int[] reports = new int[1];
+        SimulationStatistics statistics = new Simulation(RandomStrategy::new, 4)
+                .run(10_000, 1, total -> ++reports[0]);
+        assertEquals(10_000, statistics.getGamesCount());
+        assertTrue(reports[0] >= 3);
+        long games = 0;
+        for (int turns = 0; turns <= SimulationStatistics.MAX_TURNS; ++turns) {
+            games += statistics.getGamesCount(turns);
+        }
+        assertEquals(10_000, games);
+        assertTrue(statistics.getPercentile(0.1) <= statistics.getPercentile(0.5));
+        assertTrue(statistics.getPercentile(0.5) <= statistics.getPercentile(0.99));
+        assertTrue(statistics.getMeanTurns() > 1);
+        // The square fits until the board is full
+        assertTrue(statistics.getFitRate(Tetrominoe.TetrominoeType.SQUARE)
+                > statistics.getFitRate(Tetrominoe.TetrominoeType.T));
+    }
+
+    @Test
+    void runsDependOnTheirSeedsOnly() {
+        SimulationStatistics expected = new Simulation(RandomStrategy::new, 1).run(10_000, 3);
+        assertSameStatistics(expected, new Simulation(RandomStrategy::new, 4).run(10_000, 3));
+        SimulationStatistics shards = new Simulation(RandomStrategy::new, 2).run(0, 2_500, 3, null);
+        shards.merge(new Simulation(RandomStrategy::new, 3).run(2_500, 7_500, 3, null));
+        assertSameStatistics(expected, shards);
+    }
+
+    static void assertSameStatistics(SimulationStatistics expected, SimulationStatistics actual) {
+        for (int turns = 0; turns <= SimulationStatistics.MAX_TURNS; ++turns) {
+            assertEquals(expected.getGamesCount(turns), actual.getGamesCount(turns));
+        }
+        for (Tetrominoe.TetrominoeType type : Tetrominoe.TetrominoeType.values()) {
+            assertEquals(expected.getDealtCount(type), actual.getDealtCount(type));
+            assertEquals(expected.getFitRate(type), actual.getFitRate(type));
+        }
+    }
+
+    @Test
+    void gamesDependOnTheirSeedsOnly() {
+        SimulationStatistics first = new SimulationStatistics();
+        SimulationStatistics second = new SimulationStatistics();
+        Game game = new Game(0);
+        for (int i = 0; i < 100; ++i) {
+            long seed = Simulation.getGameSeed(5, i);
+            Simulation.play(game, seed, new RandomStrategy(i), first);
+            Simulation.play(new Game(seed), seed, new RandomStrategy(i), second);
+        }
+        assertEquals(first.getMeanTurns(), second.getMeanTurns());
+        assertEquals(first.getPercentile(0.5), second.getPercentile(0.5));
+    }
+}
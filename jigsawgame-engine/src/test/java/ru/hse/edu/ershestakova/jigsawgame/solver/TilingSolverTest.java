@@ -0,0 +1,76 @@
+package ru.hse.edu.ershestakova.jigsawgame.solver;
+
+import org.junit.jupiter.api.Test;
+import ru.hse.edu.ershestakova.jigsawgame.model.Board;
+import ru.hse.edu.ershestakova.jigsawgame.model.Game;
+import ru.hse.edu.ershestakova.jigsawgame.model.Tetrominoe;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TilingSolverTest {
+
+    @Test
+    void tilesExactly() {
+        TilingSolver solver = new TilingSolver(EnumSet.of(Tetrominoe.TetrominoeType.LINE));
+        Board board = new Board();
+        int[] solution = solver.solve(board);
+        assertNotNull(solution);
+        assertEquals(Board.CELLS_NUM / 3, solution.length);
+        long low = 0;
+        long high = 0;
+        for (int placement : solution) {
+            assertEquals(0, low & TilingSolver.getPlacementLow(placement));
+            assertEquals(0, high & TilingSolver.getPlacementHigh(placement));
+            low |= TilingSolver.getPlacementLow(placement);
+            high |= TilingSolver.getPlacementHigh(placement);
+        }
+        assertEquals(Board.CELLS_NUM, Long.bitCount(low) + Long.bitCount(high));
+        // 80 cells are not divisible into lines
+        board.place(1, 0);
+        assertFalse(solver.isTileable(board));
+        assertTrue(new TilingSolver().isTileable(board));
+    }
+
+    @Test
+    void generatesCompletablePuzzles() {
+        PuzzleGenerator generator = new PuzzleGenerator(6);
+        TilingSolver solver = new TilingSolver(EnumSet.complementOf(EnumSet.of(Tetrominoe.TetrominoeType.SQUARE)));
+        List<Puzzle> puzzles = generator.generate(3, 32);
+        assertEquals(32, puzzles.size());
+        for (Puzzle puzzle : puzzles) {
+            Board board = puzzle.toBoard();
+            assertEquals(6, puzzle.getSolution().length);
+            for (int placement : puzzle.getSolution()) {
+                assertTrue(board.canPlace(TilingSolver.getPlacementLow(placement),
+                        TilingSolver.getPlacementHigh(placement)));
+                assertNotEquals(Tetrominoe.TetrominoeType.SQUARE, TilingSolver.getPlacementType(placement));
+            }
+            assertTrue(solver.isTileable(board));
+        }
+        Puzzle again = generator.generate(puzzles.get(5).getSeed());
+        assertEquals(puzzles.get(5).getLow(), again.getLow());
+        assertEquals(puzzles.get(5).getHigh(), again.getHigh());
+    }
+
+    @Test
+    void solvesByDealtPiecesOnly() {
+        for (Puzzle puzzle : new PuzzleGenerator(4).generate(1, 200)) {
+            for (int placement : puzzle.getSolution()) {
+                Tetrominoe tetrominoe = TilingSolver.getPlacementTetrominoe(placement);
+                assertTrue(tetrominoe.getIndex() >= 0, tetrominoe.getType() + " is never dealt");
+            }
+        }
+    }
+
+    @Test
+    void startsGameOnPuzzle() {
+        Puzzle puzzle = new PuzzleGenerator(4).generate(11);
+        Game game = new Game(11);
+        game.reset(11, puzzle.getLow(), puzzle.getHigh());
+        assertEquals(puzzle.toBoard().getFilledCount(), game.getBoard().getFilledCount());
+        assertEquals(0, game.getTurnsCount());
+    }
+}
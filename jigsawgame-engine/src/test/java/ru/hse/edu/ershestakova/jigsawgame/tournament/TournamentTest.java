@@ -0,0 +1,77 @@
+package ru.hse.edu.ershestakova.jigsawgame.tournament;
+
+import org.junit.jupiter.api.Test;
+import ru.hse.edu.ershestakova.jigsawgame.ai.RandomStrategy;
+import ru.hse.edu.ershestakova.jigsawgame.model.Game;
+import ru.hse.edu.ershestakova.jigsawgame.model.Strategy;
+import ru.hse.edu.ershestakova.jigsawgame.simulation.Simulation;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TournamentTest {
+
+    @Test
+    void ranksOnIdenticalGames() {
+        // Always the first legal anchor, so the games depend on the dealt tetrominoes only
+        Strategy first = (board, tetrominoe) -> {
+            for (int anchor = 0; anchor < 81; ++anchor) {
+                if (board.getLegalMoves().isLegal(tetrominoe.getIndex(), anchor)) {
+                    return anchor;
+                }
+            }
+            return -1;
+        };
+        Strategy illegal = (board, tetrominoe) -> -1;
+        List<StrategyResult> results = new Tournament(1000, new ForkJoinPool(2))
+                .register("first", gameSeed -> first)
+                .register("illegal", gameSeed -> illegal)
+                .register("random", RandomStrategy::new)
+                .run(200, 17);
+        assertEquals(3, results.size());
+        assertEquals("illegal", results.get(2).getName());
+        assertEquals(0, results.get(2).getMeanTurns());
+        assertEquals(200, results.get(2).getIllegalMovesCount());
+        StrategyResult firstResult = results.get(0).getName().equals("first") ? results.get(0) : results.get(1);
+        for (int i = 0; i < 200; i += 50) {
+            Game game = new Game(Simulation.getGameSeed(17, i));
+            assertEquals(game.play(first), firstResult.getTurns(i));
+        }
+        assertTrue(firstResult.getConfidence() > 0);
+        assertEquals(0, firstResult.getConfidence(firstResult));
+        assertFalse(Tournament.format(results).isEmpty());
+    }
+
+    @Test
+    void ranksTheSameWhateverTheWorkers() {
+        StrategyResult expected = new Tournament(1000, new ForkJoinPool(1))
+                .register("random", RandomStrategy::new)
+                .run(100, 9).get(0);
+        StrategyResult actual = new Tournament(1000, new ForkJoinPool(3))
+                .register("random", RandomStrategy::new)
+                .run(100, 9).get(0);
+        for (int i = 0; i < 100; ++i) {
+            assertEquals(expected.getTurns(i), actual.getTurns(i));
+        }
+        assertEquals(expected.getMeanTurns(), actual.getMeanTurns());
+    }
+
+    @Test
+    void forfeitsSlowMoves() {
+        Strategy slow = (board, tetrominoe) -> {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new RandomStrategy(0).chooseAnchor(board, tetrominoe);
+        };
+        List<StrategyResult> results = new Tournament(1, ForkJoinPool.commonPool())
+                .register("slow", gameSeed -> slow)
+                .run(3, 0);
+        assertEquals(3, results.get(0).getTimeoutsCount());
+        assertEquals(0, results.get(0).getMeanTurns());
+    }
+}
@@ -1,18 +0,0 @@
-package ru.hse.edu.ershestakova.jigsawgame.model;
-
-import org.junit.jupiter.api.Assertions;
-import org.junit.jupiter.api.Test;
-
-import static org.junit.jupiter.api.Assertions.*;
-
-class CellTest {
-
-    @Test
-    void isFilled() {
-        Assertions.assertEquals(1, 1);
-    }
-
-    @Test
-    void setFilled() {
-    }
-}
\ No newline at end of file